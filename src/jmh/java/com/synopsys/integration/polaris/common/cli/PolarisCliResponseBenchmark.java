@@ -0,0 +1,40 @@
+package com.synopsys.integration.polaris.common.cli;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.log.SilentIntLogger;
+import com.synopsys.integration.polaris.common.cli.model.CliCommonResponseModel;
+import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
+
+/**
+ * Parses the recorded cli-scan.json files of both CLI response versions.
+ */
+@State(Scope.Benchmark)
+public class PolarisCliResponseBenchmark {
+    @Param({ "/cli-scanv1.json", "/cli-scanv1-w.json", "/cli-scanv2.json", "/cli-scanv2-w.json" })
+    public String cliScanJson;
+
+    private PolarisCliResponseUtility polarisCliResponseUtility;
+    private String rawPolarisCliResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        polarisCliResponseUtility = new PolarisCliResponseUtility(new SilentIntLogger(), new Gson());
+        rawPolarisCliResponse = IOUtils.toString(getClass().getResourceAsStream(cliScanJson), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public CliCommonResponseModel getPolarisCliResponseModelFromString() throws PolarisIntegrationException {
+        return polarisCliResponseUtility.getPolarisCliResponseModelFromString(rawPolarisCliResponse);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.synopsys.integration.polaris.common.concurrent;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.SilentIntLogger;
+import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resource;
+import com.synopsys.integration.polaris.common.configuration.PolarisServerConfig;
+import com.synopsys.integration.polaris.common.service.PolarisServicesFactory;
+import com.synopsys.integration.polaris.common.service.ProjectService;
+import com.synopsys.integration.polaris.common.stub.PolarisStubServer;
+
+/**
+ * Walks every page of projects from a PolarisStubServer that adds a fixed latency to each request, once for each executor strategy. Unlike the other benchmarks this goes over a real socket, so it measures how well each strategy overlaps the waiting.
+ */
+@State(Scope.Benchmark)
+public class PolarisExecutorStrategyBenchmark {
+    @Param({ "2500" })
+    public int projectCount;
+
+    @Param({ "50" })
+    public int latencyMillis;
+
+    @Param({ "16" })
+    public int maxConcurrentRequests;
+
+    @Param({ "SEQUENTIAL", "BOUNDED_PLATFORM_POOL", "VIRTUAL_THREAD_PER_TASK", "CALLER_SUPPLIED" })
+    public String executorStrategyName;
+
+    private PolarisStubServer stubServer;
+    private ExecutorService callerExecutor;
+    private PolarisExecutorStrategy executorStrategy;
+    private ProjectService projectService;
+
+    @Setup
+    public void setUp() throws IOException, IntegrationException {
+        stubServer = new PolarisStubServer()
+                         .setProjectCount(projectCount)
+                         .setLatencyMillis(latencyMillis)
+                         .setThreads(Math.max(32, maxConcurrentRequests))
+                         .start();
+        callerExecutor = Executors.newCachedThreadPool();
+        executorStrategy = createExecutorStrategy();
+
+        PolarisServicesFactory polarisServicesFactory = PolarisServerConfig.newBuilder()
+                                                            .setUrl(stubServer.getUrl())
+                                                            .setAccessToken("benchmark access token")
+                                                            .build()
+                                                            .createPolarisServicesFactory(new SilentIntLogger());
+        polarisServicesFactory.setExecutorStrategy(executorStrategy);
+        projectService = polarisServicesFactory.createProjectService();
+
+        // the connection and the JWT are set up outside of the measured walks
+        projectService.getAllProjects();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executorStrategy.shutdown();
+        callerExecutor.shutdownNow();
+        stubServer.close();
+    }
+
+    @Benchmark
+    public List<ProjectV0Resource> getAllProjects() throws IntegrationException {
+        return projectService.getAllProjects();
+    }
+
+    private PolarisExecutorStrategy createExecutorStrategy() {
+        switch (executorStrategyName) {
+            case "BOUNDED_PLATFORM_POOL":
+                return PolarisExecutorStrategy.boundedPlatformPool(maxConcurrentRequests);
+            case "VIRTUAL_THREAD_PER_TASK":
+                return PolarisExecutorStrategy.virtualThreadPerTask(maxConcurrentRequests);
+            case "CALLER_SUPPLIED":
+                return PolarisExecutorStrategy.callerSupplied(callerExecutor, maxConcurrentRequests);
+            default:
+                return PolarisExecutorStrategy.sequential();
+        }
+    }
+
+}
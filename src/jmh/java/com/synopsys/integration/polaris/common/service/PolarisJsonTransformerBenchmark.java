@@ -0,0 +1,75 @@
+package com.synopsys.integration.polaris.common.service;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.SilentIntLogger;
+import com.synopsys.integration.polaris.common.api.PolarisComponent;
+import com.synopsys.integration.polaris.common.api.auth.model.role.assignments.RoleAssignmentResources;
+import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resources;
+import com.synopsys.integration.polaris.common.api.query.model.issue.IssueV0Resources;
+
+/**
+ * Decodes recorded Polaris pages in both json field modes. EVERY_COMPONENT is the mode that goes through addJsonAsField for every nested object.
+ */
+@State(Scope.Benchmark)
+public class PolarisJsonTransformerBenchmark {
+    @Param({ "ISSUES_WITH_INCLUDED", "ROLE_ASSIGNMENTS_WITH_INCLUDED", "PROJECTS" })
+    public RecordedPage recordedPage;
+
+    @Param({ "EVERY_COMPONENT", "RESOURCES_ONLY" })
+    public PolarisJsonFieldMode jsonFieldMode;
+
+    private PolarisJsonTransformer polarisJsonTransformer;
+    private String json;
+
+    @Setup
+    public void setUp() throws IOException {
+        polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new SilentIntLogger(), jsonFieldMode);
+        json = recordedPage.readJson();
+    }
+
+    @Benchmark
+    public PolarisComponent getResponseAsFromString() throws IntegrationException {
+        return polarisJsonTransformer.getResponseAs(json, recordedPage.getResponseType());
+    }
+
+    @Benchmark
+    public PolarisComponent getResponseAsFromReader() throws IntegrationException {
+        return polarisJsonTransformer.getResponseAs(new StringReader(json), recordedPage.getResponseType());
+    }
+
+    public enum RecordedPage {
+        ISSUES_WITH_INCLUDED("/IssueService/issues_with_included.json", IssueV0Resources.class),
+        ROLE_ASSIGNMENTS_WITH_INCLUDED("/PolarisService/role_assignments_with_included.json", RoleAssignmentResources.class),
+        PROJECTS("/PolarisService/projects_page_1_of_3.json", ProjectV0Resources.class);
+
+        private final String resourcePath;
+        private final Type responseType;
+
+        RecordedPage(String resourcePath, Type responseType) {
+            this.resourcePath = resourcePath;
+            this.responseType = responseType;
+        }
+
+        public String readJson() throws IOException {
+            return IOUtils.toString(PolarisJsonTransformerBenchmark.class.getResourceAsStream(resourcePath), StandardCharsets.UTF_8);
+        }
+
+        public Type getResponseType() {
+            return responseType;
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.synopsys.integration.polaris.common.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.SilentIntLogger;
+import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resources;
+import com.synopsys.integration.polaris.common.request.PolarisPagedRequestCreator;
+import com.synopsys.integration.polaris.common.request.PolarisPagedRequestWrapper;
+import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
+import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.response.Response;
+
+/**
+ * Walks every page of a tenant's projects with getPopulatedResponse. The http client is a mock that hands back pre-built pages, so only decoding and merging the pages is measured.
+ */
+@State(Scope.Benchmark)
+public class PolarisServicePagingBenchmark {
+    @Param({ "2000" })
+    public int projectCount;
+
+    @Param({ "25", "100", "500" })
+    public int pageSize;
+
+    @Param({ "EVERY_COMPONENT", "RESOURCES_ONLY" })
+    public PolarisJsonFieldMode jsonFieldMode;
+
+    private PolarisService polarisService;
+    private PolarisPagedRequestWrapper pagedRequestWrapper;
+
+    @Setup
+    public void setUp() throws IntegrationException {
+        Map<Integer, Response> pagesByOffset = new HashMap<>();
+        for (int offset = 0; offset <= projectCount; offset += pageSize) {
+            Response page = Mockito.mock(Response.class);
+            Mockito.when(page.getContentString()).thenReturn(createProjectsPage(offset));
+            pagesByOffset.put(offset, page);
+        }
+
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Mockito.when(polarisHttpClient.execute(Mockito.any(Request.class))).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            Set<String> offsets = request.getQueryParameters().get(PolarisRequestFactory.OFFSET_PARAMETER);
+            return pagesByOffset.get(NumberUtils.toInt(offsets.iterator().next()));
+        });
+
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new SilentIntLogger(), jsonFieldMode);
+        polarisService = new PolarisService(polarisHttpClient, polarisJsonTransformer, pageSize);
+
+        HttpUrl projectsUrl = new HttpUrl("https://polaris.synopsys.example.com" + PolarisService.PROJECT_API_SPEC);
+        PolarisPagedRequestCreator requestCreator = (limit, offset) -> PolarisRequestFactory.createDefaultPagedRequestBuilder(limit, offset)
+                                                                           .url(projectsUrl)
+                                                                           .build();
+        pagedRequestWrapper = new PolarisPagedRequestWrapper(requestCreator, ProjectV0Resources.class);
+    }
+
+    @Benchmark
+    public ProjectV0Resources getPopulatedResponse() throws IntegrationException {
+        return polarisService.getPopulatedResponse(pagedRequestWrapper, pageSize);
+    }
+
+    private String createProjectsPage(int offset) {
+        StringBuilder page = new StringBuilder("{\"data\":[");
+        for (int i = offset; i < Math.min(projectCount, offset + pageSize); i++) {
+            if (i > offset) {
+                page.append(',');
+            }
+            page.append(String.format("{\"type\":\"project\",\"id\":\"project-%d\",\"attributes\":{\"name\":\"project %d\"},\"relationships\":{\"branches\":{\"links\":{\"related\":\"/api/common/v0/projects/project-%d/branches\"}}}}", i, i, i));
+        }
+        page.append(String.format("],\"included\":[],\"meta\":{\"offset\":%d,\"limit\":%d,\"total\":%d}}", offset, pageSize, projectCount));
+        return page.toString();
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.concurrent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on another executor with at most maxConcurrentTasks of them running at once. Tasks wait for a permit on the thread they were given, which is what makes this a good fit for virtual threads, where a waiting thread costs next to nothing. A task interrupted while it waits is cancelled rather than run.
+ */
+public class ConcurrencyLimitedExecutorService extends AbstractExecutorService {
+    private final Executor delegate;
+    private final boolean ownsDelegate;
+    private final Semaphore permits;
+    private volatile boolean shutdown;
+
+    /**
+     * @param ownsDelegate whether shutting this executor down should also shut down the delegate, which is only possible for an ExecutorService
+     */
+    public ConcurrencyLimitedExecutorService(Executor delegate, int maxConcurrentTasks, boolean ownsDelegate) {
+        this.delegate = delegate;
+        this.ownsDelegate = ownsDelegate;
+        this.permits = new Semaphore(maxConcurrentTasks);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("The executor has been shut down.");
+        }
+        delegate.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                // Never run without a permit; cancelling a submitted task completes its future instead
+                Thread.currentThread().interrupt();
+                if (command instanceof Future) {
+                    ((Future<?>) command).cancel(false);
+                }
+                return;
+            }
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (ownsDelegate && delegate instanceof ExecutorService) {
+            ((ExecutorService) delegate).shutdown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        if (ownsDelegate && delegate instanceof ExecutorService) {
+            return ((ExecutorService) delegate).shutdownNow();
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        if (ownsDelegate && delegate instanceof ExecutorService) {
+            return ((ExecutorService) delegate).isTerminated();
+        }
+        return shutdown;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        if (ownsDelegate && delegate instanceof ExecutorService) {
+            return ((ExecutorService) delegate).awaitTermination(timeout, unit);
+        }
+        return shutdown;
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Decides which threads run the library's concurrent work - parallel paging, batch fetches, the async services and job polling - and how many requests may be in flight at once. A maxConcurrentRequests of 1 keeps paging and batch fetches on the calling thread.
+ */
+public class PolarisExecutorStrategy {
+    public enum Type {
+        VIRTUAL_THREAD_PER_TASK,
+        BOUNDED_PLATFORM_POOL,
+        CALLER_SUPPLIED
+    }
+
+    private static final String PLATFORM_THREAD_NAME_PREFIX = "polaris-request-";
+    private static final String TASK_THREAD_NAME_PREFIX = "polaris-async-";
+    private static final String SCHEDULER_THREAD_NAME_PREFIX = "polaris-scheduler-";
+    private static final int TASK_THREADS_PER_PROCESSOR = 4;
+
+    private final Type type;
+    private final int maxConcurrentRequests;
+    private final Executor suppliedExecutor;
+    private final SharedScheduler sharedScheduler;
+    private ExecutorService executorService;
+    private ExecutorService taskExecutorService;
+
+    public static PolarisExecutorStrategy sequential() {
+        return new PolarisExecutorStrategy(Type.BOUNDED_PLATFORM_POOL, 1, null);
+    }
+
+    /**
+     * Falls back to a bounded platform pool when the running JVM has no virtual threads.
+     */
+    public static PolarisExecutorStrategy virtualThreadPerTask(int maxConcurrentRequests) {
+        Type type = PolarisExecutors.isVirtualThreadsAvailable() ? Type.VIRTUAL_THREAD_PER_TASK : Type.BOUNDED_PLATFORM_POOL;
+        return new PolarisExecutorStrategy(type, maxConcurrentRequests, null);
+    }
+
+    public static PolarisExecutorStrategy boundedPlatformPool(int maxConcurrentRequests) {
+        return new PolarisExecutorStrategy(Type.BOUNDED_PLATFORM_POOL, maxConcurrentRequests, null);
+    }
+
+    /**
+     * The caller keeps ownership of the executor; it is never shut down by the library.
+     */
+    public static PolarisExecutorStrategy callerSupplied(Executor executor, int maxConcurrentRequests) {
+        if (null == executor) {
+            throw new IllegalArgumentException("A caller supplied strategy requires an executor.");
+        }
+        return new PolarisExecutorStrategy(Type.CALLER_SUPPLIED, maxConcurrentRequests, executor);
+    }
+
+    private PolarisExecutorStrategy(Type type, int maxConcurrentRequests, Executor suppliedExecutor) {
+        this(type, maxConcurrentRequests, suppliedExecutor, new SharedScheduler());
+    }
+
+    private PolarisExecutorStrategy(Type type, int maxConcurrentRequests, Executor suppliedExecutor, SharedScheduler sharedScheduler) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("At least one concurrent request must be allowed.");
+        }
+        this.type = type;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.suppliedExecutor = suppliedExecutor;
+        this.sharedScheduler = sharedScheduler;
+    }
+
+    /**
+     * The new strategy shares this strategy's scheduler, so replacing one with the other never leaves a second scheduler thread behind.
+     */
+    public PolarisExecutorStrategy withMaxConcurrentRequests(int maxConcurrentRequests) {
+        return new PolarisExecutorStrategy(type, maxConcurrentRequests, suppliedExecutor, sharedScheduler);
+    }
+
+    /**
+     * Switches to a caller supplied strategy that keeps this strategy's maxConcurrentRequests and shares its scheduler.
+     */
+    public PolarisExecutorStrategy withCallerSuppliedExecutor(Executor executor) {
+        if (null == executor) {
+            throw new IllegalArgumentException("A caller supplied strategy requires an executor.");
+        }
+        return new PolarisExecutorStrategy(Type.CALLER_SUPPLIED, maxConcurrentRequests, executor, sharedScheduler);
+    }
+
+    /**
+     * @return the executor for concurrent requests, created on first use, or null when requests should run sequentially on the calling thread
+     */
+    public synchronized ExecutorService getExecutorService() {
+        if (maxConcurrentRequests <= 1) {
+            return null;
+        }
+        if (null == executorService) {
+            executorService = createExecutorService();
+        }
+        return executorService;
+    }
+
+    /**
+     * @return the executor that whole calls run on, such as the calls of the async services and job polls, created on first use. Unlike getExecutorService it is never null, and the requests these calls make still go through getExecutorService. A caller supplied strategy runs them on the caller's executor; otherwise they get a virtual thread per call when the JVM supports it, and a bounded pool of daemon threads when it does not.
+     */
+    public synchronized Executor getTaskExecutor() {
+        if (Type.CALLER_SUPPLIED == type) {
+            return suppliedExecutor;
+        }
+        if (null == taskExecutorService) {
+            taskExecutorService = PolarisExecutors.newVirtualThreadPerTaskExecutor()
+                                      .orElseGet(() -> PolarisExecutors.newDaemonThreadPool(Runtime.getRuntime().availableProcessors() * TASK_THREADS_PER_PROCESSOR, TASK_THREAD_NAME_PREFIX));
+        }
+        return taskExecutorService;
+    }
+
+    /**
+     * @return a single daemon thread, created on first use, that only keeps time for delayed and periodic work. Whatever it triggers should be handed to getTaskExecutor rather than run on it.
+     */
+    public ScheduledExecutorService getScheduler() {
+        return sharedScheduler.get();
+    }
+
+    /**
+     * Shuts down the executors this strategy created, including the scheduler it shares with the strategies derived from it. A caller supplied executor is left running.
+     */
+    public synchronized void shutdown() {
+        if (null != executorService) {
+            executorService.shutdown();
+        }
+        if (null != taskExecutorService) {
+            taskExecutorService.shutdown();
+        }
+        sharedScheduler.shutdown();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    private ExecutorService createExecutorService() {
+        if (Type.CALLER_SUPPLIED == type) {
+            return new ConcurrencyLimitedExecutorService(suppliedExecutor, maxConcurrentRequests, false);
+        }
+        if (Type.VIRTUAL_THREAD_PER_TASK == type) {
+            ExecutorService virtualThreadExecutor = PolarisExecutors.newVirtualThreadPerTaskExecutor().orElse(null);
+            if (null != virtualThreadExecutor) {
+                return new ConcurrencyLimitedExecutorService(virtualThreadExecutor, maxConcurrentRequests, true);
+            }
+        }
+        return PolarisExecutors.newDaemonThreadPool(maxConcurrentRequests, PLATFORM_THREAD_NAME_PREFIX);
+    }
+
+    private static class SharedScheduler {
+        private ScheduledExecutorService scheduler;
+
+        private synchronized ScheduledExecutorService get() {
+            if (null == scheduler) {
+                scheduler = Executors.newSingleThreadScheduledExecutor(PolarisExecutors.createDaemonThreadFactory(SCHEDULER_THREAD_NAME_PREFIX));
+            }
+            return scheduler;
+        }
+
+        private synchronized void shutdown() {
+            if (null != scheduler) {
+                scheduler.shutdown();
+            }
+        }
+
+    }
+
+}
@@ -8,12 +8,17 @@
 package com.synopsys.integration.polaris.common.configuration;
 
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.Optional;
 import java.util.function.BiConsumer;
 
 import com.google.gson.Gson;
 import com.synopsys.integration.builder.Buildable;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.polaris.common.rest.PolarisConnectionPool;
+import com.synopsys.integration.polaris.common.rest.PolarisJwtFileCache;
+import com.synopsys.integration.polaris.common.rest.PolarisRequestGovernor;
 import com.synopsys.integration.polaris.common.service.PolarisServicesFactory;
 import com.synopsys.integration.rest.HttpUrl;
 import com.synopsys.integration.rest.proxy.ProxyInfo;
@@ -30,9 +35,27 @@ public class PolarisServerConfig extends Stringable implements Buildable {
     private final Gson gson;
     private final UrlSupport urlSupport;
     private final AuthenticationSupport authenticationSupport;
+    private final PolarisConnectionPool connectionPool;
+    private final Path jwtCacheDirectory;
+    private final PolarisRequestGovernor requestGovernor;
 
     public PolarisServerConfig(HttpUrl polarisUrl, int timeoutSeconds, String accessToken, ProxyInfo proxyInfo, boolean alwaysTrustServerCertificate, Gson gson,
         UrlSupport urlSupport, AuthenticationSupport authenticationSupport) {
+        this(polarisUrl, timeoutSeconds, accessToken, proxyInfo, alwaysTrustServerCertificate, gson, urlSupport, authenticationSupport, null);
+    }
+
+    public PolarisServerConfig(HttpUrl polarisUrl, int timeoutSeconds, String accessToken, ProxyInfo proxyInfo, boolean alwaysTrustServerCertificate, Gson gson,
+        UrlSupport urlSupport, AuthenticationSupport authenticationSupport, PolarisConnectionPool connectionPool) {
+        this(polarisUrl, timeoutSeconds, accessToken, proxyInfo, alwaysTrustServerCertificate, gson, urlSupport, authenticationSupport, connectionPool, null);
+    }
+
+    public PolarisServerConfig(HttpUrl polarisUrl, int timeoutSeconds, String accessToken, ProxyInfo proxyInfo, boolean alwaysTrustServerCertificate, Gson gson,
+        UrlSupport urlSupport, AuthenticationSupport authenticationSupport, PolarisConnectionPool connectionPool, Path jwtCacheDirectory) {
+        this(polarisUrl, timeoutSeconds, accessToken, proxyInfo, alwaysTrustServerCertificate, gson, urlSupport, authenticationSupport, connectionPool, jwtCacheDirectory, null);
+    }
+
+    public PolarisServerConfig(HttpUrl polarisUrl, int timeoutSeconds, String accessToken, ProxyInfo proxyInfo, boolean alwaysTrustServerCertificate, Gson gson,
+        UrlSupport urlSupport, AuthenticationSupport authenticationSupport, PolarisConnectionPool connectionPool, Path jwtCacheDirectory, PolarisRequestGovernor requestGovernor) {
         this.polarisUrl = polarisUrl;
         this.timeoutSeconds = timeoutSeconds;
         this.accessToken = accessToken;
@@ -41,6 +64,9 @@ public class PolarisServerConfig extends Stringable implements Buildable {
         this.gson = gson;
         this.urlSupport = urlSupport;
         this.authenticationSupport = authenticationSupport;
+        this.connectionPool = connectionPool;
+        this.jwtCacheDirectory = jwtCacheDirectory;
+        this.requestGovernor = requestGovernor;
     }
 
     public static PolarisServerConfigBuilder newBuilder() {
@@ -48,7 +74,13 @@ public class PolarisServerConfig extends Stringable implements Buildable {
     }
 
     public AccessTokenPolarisHttpClient createPolarisHttpClient(IntLogger logger) {
-        return new AccessTokenPolarisHttpClient(logger, timeoutSeconds, alwaysTrustServerCertificate, proxyInfo, polarisUrl, accessToken, gson, urlSupport, authenticationSupport);
+        AccessTokenPolarisHttpClient polarisHttpClient = new AccessTokenPolarisHttpClient(logger, timeoutSeconds, alwaysTrustServerCertificate, proxyInfo, polarisUrl, accessToken, gson, urlSupport, authenticationSupport);
+        polarisHttpClient.useConnectionPool(connectionPool);
+        polarisHttpClient.useRequestGovernor(requestGovernor);
+        if (null != jwtCacheDirectory) {
+            polarisHttpClient.useJwtCache(new PolarisJwtFileCache(logger, jwtCacheDirectory, gson));
+        }
+        return polarisHttpClient;
     }
 
     public PolarisServicesFactory createPolarisServicesFactory(IntLogger logger) {
@@ -88,4 +120,16 @@ public class PolarisServerConfig extends Stringable implements Buildable {
         return authenticationSupport;
     }
 
+    public Optional<PolarisConnectionPool> getConnectionPool() {
+        return Optional.ofNullable(connectionPool);
+    }
+
+    public Optional<PolarisRequestGovernor> getRequestGovernor() {
+        return Optional.ofNullable(requestGovernor);
+    }
+
+    public Optional<Path> getJwtCacheDirectory() {
+        return Optional.ofNullable(jwtCacheDirectory);
+    }
+
 }
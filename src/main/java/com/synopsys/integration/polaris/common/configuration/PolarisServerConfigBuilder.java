@@ -10,6 +10,9 @@ package com.synopsys.integration.polaris.common.configuration;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
@@ -29,6 +32,8 @@ import com.synopsys.integration.builder.IntegrationBuilder;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.log.LogLevel;
 import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.polaris.common.rest.PolarisConnectionPool;
+import com.synopsys.integration.polaris.common.rest.PolarisRequestGovernor;
 import com.synopsys.integration.rest.credentials.Credentials;
 import com.synopsys.integration.rest.credentials.CredentialsBuilder;
 import com.synopsys.integration.rest.proxy.ProxyInfo;
@@ -53,6 +58,7 @@ public class PolarisServerConfigBuilder extends IntegrationBuilder<PolarisServer
     public static final BuilderPropertyKey PROXY_PASSWORD_KEY = new BuilderPropertyKey("POLARIS_PROXY_PASSWORD");
     public static final BuilderPropertyKey PROXY_NTLM_DOMAIN_KEY = new BuilderPropertyKey("POLARIS_PROXY_NTLM_DOMAIN");
     public static final BuilderPropertyKey PROXY_NTLM_WORKSTATION_KEY = new BuilderPropertyKey("POLARIS_PROXY_NTLM_WORKSTATION");
+    public static final BuilderPropertyKey JWT_CACHE_DIRECTORY_KEY = new BuilderPropertyKey("POLARIS_JWT_CACHE_DIRECTORY");
 
     public static final int DEFAULT_TIMEOUT_SECONDS = 120;
 
@@ -61,6 +67,8 @@ public class PolarisServerConfigBuilder extends IntegrationBuilder<PolarisServer
     private Gson gson = new Gson();
     private UrlSupport urlSupport = new UrlSupport();
     private AuthenticationSupport authenticationSupport = new AuthenticationSupport(urlSupport);
+    private PolarisConnectionPool connectionPool;
+    private PolarisRequestGovernor requestGovernor;
 
     public PolarisServerConfigBuilder() {
         Set<BuilderPropertyKey> propertyKeys = new HashSet<>();
@@ -74,6 +82,7 @@ public class PolarisServerConfigBuilder extends IntegrationBuilder<PolarisServer
         propertyKeys.add(PROXY_NTLM_DOMAIN_KEY);
         propertyKeys.add(PROXY_NTLM_WORKSTATION_KEY);
         propertyKeys.add(TRUST_CERT_KEY);
+        propertyKeys.add(JWT_CACHE_DIRECTORY_KEY);
         builderProperties = new BuilderProperties(propertyKeys);
 
         builderProperties.set(TIMEOUT_KEY, Integer.toString(PolarisServerConfigBuilder.DEFAULT_TIMEOUT_SECONDS));
@@ -87,7 +96,14 @@ public class PolarisServerConfigBuilder extends IntegrationBuilder<PolarisServer
         } catch (IntegrationException e) {
         }
 
-        return new PolarisServerConfig(polarisURL, getTimeoutInSeconds(), getAccessToken(), getProxyInfo(), isTrustCert(), gson, urlSupport, authenticationSupport);
+        return new PolarisServerConfig(polarisURL, getTimeoutInSeconds(), getAccessToken(), getProxyInfo(), isTrustCert(), gson, urlSupport, authenticationSupport, connectionPool, getJwtCacheDirectoryPath(), requestGovernor);
+    }
+
+    private Path getJwtCacheDirectoryPath() {
+        if (StringUtils.isBlank(getJwtCacheDirectory())) {
+            return null;
+        }
+        return Paths.get(getJwtCacheDirectory());
     }
 
     private ProxyInfo getProxyInfo() {
@@ -138,6 +154,14 @@ public class PolarisServerConfigBuilder extends IntegrationBuilder<PolarisServer
             builderStatus.addErrorMessage("A timeout (in seconds) greater than zero must be specified.");
         }
 
+        if (StringUtils.isNotBlank(getJwtCacheDirectory())) {
+            try {
+                Paths.get(getJwtCacheDirectory());
+            } catch (InvalidPathException e) {
+                builderStatus.addErrorMessage(String.format("The provided JWT cache directory (%s) is not a valid path.", getJwtCacheDirectory()));
+            }
+        }
+
         CredentialsBuilder proxyCredentialsBuilder = new CredentialsBuilder();
         proxyCredentialsBuilder.setUsername(getProxyUsername());
         proxyCredentialsBuilder.setPassword(getProxyPassword());
@@ -233,6 +257,30 @@ public class PolarisServerConfigBuilder extends IntegrationBuilder<PolarisServer
         return this;
     }
 
+    public PolarisConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * Shares the given pool's connections with every http client created from the built config.
+     */
+    public PolarisServerConfigBuilder setConnectionPool(PolarisConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+        return this;
+    }
+
+    public PolarisRequestGovernor getRequestGovernor() {
+        return requestGovernor;
+    }
+
+    /**
+     * Throttles the requests of every http client created from the built config. Share one governor between configs to throttle them together.
+     */
+    public PolarisServerConfigBuilder setRequestGovernor(PolarisRequestGovernor requestGovernor) {
+        this.requestGovernor = requestGovernor;
+        return this;
+    }
+
     public String getUrl() {
         return builderProperties.get(URL_KEY);
     }
@@ -351,6 +399,18 @@ public class PolarisServerConfigBuilder extends IntegrationBuilder<PolarisServer
         return this;
     }
 
+    public String getJwtCacheDirectory() {
+        return builderProperties.get(JWT_CACHE_DIRECTORY_KEY);
+    }
+
+    /**
+     * When set, JWTs are cached in this directory and reused by later processes until they expire.
+     */
+    public PolarisServerConfigBuilder setJwtCacheDirectory(String jwtCacheDirectory) {
+        builderProperties.set(JWT_CACHE_DIRECTORY_KEY, jwtCacheDirectory);
+        return this;
+    }
+
     public boolean isTrustCert() {
         return Boolean.parseBoolean(builderProperties.get(TRUST_CERT_KEY));
     }
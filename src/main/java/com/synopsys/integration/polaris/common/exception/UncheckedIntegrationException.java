@@ -0,0 +1,27 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.exception;
+
+import com.synopsys.integration.exception.IntegrationException;
+
+/**
+ * Carries an IntegrationException out of an Iterator or Stream, neither of which can throw checked exceptions.
+ */
+public class UncheckedIntegrationException extends RuntimeException {
+    private static final long serialVersionUID = 4218573160728369912L;
+
+    public UncheckedIntegrationException(final IntegrationException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized IntegrationException getCause() {
+        return (IntegrationException) super.getCause();
+    }
+
+}
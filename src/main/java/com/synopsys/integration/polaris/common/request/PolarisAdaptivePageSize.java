@@ -0,0 +1,128 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.request;
+
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.rest.PolarisEndpointFamily;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+
+/**
+ * Learns a page size for each endpoint family from how its pages perform. A full page that came back well within the latency and size targets doubles the family's page size, while a page over either target halves it, and so does a page that timed out. The sizes stay between the minimum and maximum, and every service the policy is shared with uses and updates the same sizes.
+ */
+public class PolarisAdaptivePageSize {
+    public static final int DEFAULT_MIN_PAGE_SIZE = 10;
+    public static final int DEFAULT_MAX_PAGE_SIZE = 500;
+    public static final long DEFAULT_TARGET_LATENCY_MILLIS = 2000L;
+    public static final long DEFAULT_TARGET_RESPONSE_BYTES = 4L * 1024 * 1024;
+    public static final Set<Integer> TIMEOUT_STATUS_CODES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(408, 504)));
+
+    private final int initialPageSize;
+    private final int minPageSize;
+    private final int maxPageSize;
+    private final long targetLatencyMillis;
+    private final long targetResponseBytes;
+    private final Map<PolarisEndpointFamily, Integer> pageSizes = new EnumMap<>(PolarisEndpointFamily.class);
+
+    public static PolarisAdaptivePageSize createDefault() {
+        return new PolarisAdaptivePageSize(PolarisRequestFactory.DEFAULT_LIMIT, DEFAULT_MIN_PAGE_SIZE, DEFAULT_MAX_PAGE_SIZE, DEFAULT_TARGET_LATENCY_MILLIS, DEFAULT_TARGET_RESPONSE_BYTES);
+    }
+
+    /**
+     * @param initialPageSize the size every endpoint family starts with
+     * @param targetResponseBytes compared with the Content-Length of each page; pages without one are judged on latency alone
+     */
+    public PolarisAdaptivePageSize(int initialPageSize, int minPageSize, int maxPageSize, long targetLatencyMillis, long targetResponseBytes) {
+        if (minPageSize < 1 || maxPageSize < minPageSize || initialPageSize < minPageSize || initialPageSize > maxPageSize || targetLatencyMillis <= 0 || targetResponseBytes <= 0) {
+            throw new IllegalArgumentException("The page sizes must be positive with the initial size between the min and max, and the targets must be positive.");
+        }
+        this.initialPageSize = initialPageSize;
+        this.minPageSize = minPageSize;
+        this.maxPageSize = maxPageSize;
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.targetResponseBytes = targetResponseBytes;
+    }
+
+    /**
+     * Whether the failure means the server or a proxy gave up waiting on the page, which a smaller page may avoid.
+     */
+    public static boolean isTimeout(IntegrationException failure) {
+        if (failure instanceof IntegrationRestException) {
+            return TIMEOUT_STATUS_CODES.contains(((IntegrationRestException) failure).getHttpStatusCode());
+        }
+        return ExceptionUtils.indexOfType(failure, InterruptedIOException.class) >= 0;
+    }
+
+    public synchronized int getPageSize(PolarisEndpointFamily endpointFamily) {
+        return pageSizes.getOrDefault(endpointFamily, initialPageSize);
+    }
+
+    /**
+     * @param resourceCount the number of resources the page held; only a full page is evidence that a larger one would do as well
+     * @param contentLength the page's Content-Length, or -1 when it is not known
+     */
+    public synchronized void recordPage(PolarisEndpointFamily endpointFamily, int pageSize, int resourceCount, long elapsedMillis, long contentLength) {
+        if (pageSize < 1) {
+            return;
+        }
+
+        int currentPageSize = getPageSize(endpointFamily);
+        if (elapsedMillis > targetLatencyMillis || contentLength > targetResponseBytes) {
+            pageSizes.put(endpointFamily, Math.min(currentPageSize, clamp(pageSize / 2)));
+        } else if (resourceCount >= pageSize && elapsedMillis * 2 <= targetLatencyMillis && contentLength * 2 <= targetResponseBytes) {
+            pageSizes.put(endpointFamily, Math.max(currentPageSize, clamp(pageSize * 2)));
+        }
+    }
+
+    /**
+     * @return the family's page size from now on
+     */
+    public synchronized int recordTimeout(PolarisEndpointFamily endpointFamily, int pageSize) {
+        int shrunkPageSize = Math.min(getPageSize(endpointFamily), clamp(pageSize / 2));
+        pageSizes.put(endpointFamily, shrunkPageSize);
+        return shrunkPageSize;
+    }
+
+    public synchronized void reset() {
+        pageSizes.clear();
+    }
+
+    public int getInitialPageSize() {
+        return initialPageSize;
+    }
+
+    public int getMinPageSize() {
+        return minPageSize;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public long getTargetLatencyMillis() {
+        return targetLatencyMillis;
+    }
+
+    public long getTargetResponseBytes() {
+        return targetResponseBytes;
+    }
+
+    private int clamp(int pageSize) {
+        return Math.max(minPageSize, Math.min(maxPageSize, pageSize));
+    }
+
+}
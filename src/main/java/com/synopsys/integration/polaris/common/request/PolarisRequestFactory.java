@@ -7,12 +7,14 @@
  */
 package com.synopsys.integration.polaris.common.request;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
 import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.request.param.PolarisParamBuilder;
 import com.synopsys.integration.rest.HttpMethod;
 import com.synopsys.integration.rest.HttpUrl;
 import com.synopsys.integration.rest.request.Request;
@@ -67,6 +69,17 @@ public class PolarisRequestFactory {
         return requestBuilder;
     }
 
+    /**
+     * Asks for only the given fields of resources of the given type. Nothing is added when there are no fields, so whole resources come back.
+     */
+    public static Request.Builder populateFieldsRequestBuilder(final Request.Builder requestBuilder, final String resourceType, final Collection<String> fields) {
+        if (null != fields && !fields.isEmpty()) {
+            final Map.Entry<String, String> fieldsParam = PolarisParamBuilder.createFieldsParam(resourceType, fields).build();
+            requestBuilder.addQueryParameter(fieldsParam.getKey(), fieldsParam.getValue());
+        }
+        return requestBuilder;
+    }
+
     public static Request.Builder createDefaultBuilder() {
         return new Request.Builder()
                    .mimeType(DEFAULT_MIME_TYPE)
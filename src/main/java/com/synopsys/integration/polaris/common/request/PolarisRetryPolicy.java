@@ -0,0 +1,100 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.request;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+import com.synopsys.integration.rest.request.Request;
+
+/**
+ * Decides whether a failed request is worth repeating and how long to wait first. Only GET requests are retried, since repeating anything else could apply a change twice. A request is retried when it failed with one of the retryable status codes or because of an IOException such as a connection reset.
+ */
+public class PolarisRetryPolicy {
+    public static final int DEFAULT_MAX_ATTEMPTS = 4;
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 500L;
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = 15000L;
+    public static final Set<Integer> DEFAULT_RETRYABLE_STATUS_CODES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(429, 502, 503, 504)));
+
+    private static final PolarisRetryPolicy NO_RETRIES = new PolarisRetryPolicy(1, DEFAULT_INITIAL_BACKOFF_MILLIS, DEFAULT_MAX_BACKOFF_MILLIS, Collections.emptySet());
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Set<Integer> retryableStatusCodes;
+
+    public static PolarisRetryPolicy noRetries() {
+        return NO_RETRIES;
+    }
+
+    public static PolarisRetryPolicy createDefault() {
+        return new PolarisRetryPolicy(DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF_MILLIS, DEFAULT_MAX_BACKOFF_MILLIS, DEFAULT_RETRYABLE_STATUS_CODES);
+    }
+
+    /**
+     * @param maxAttempts the total number of attempts, so 1 means no retries
+     * @param initialBackoffMillis the longest wait before the first retry; each later retry may wait twice as long as the one before, up to maxBackoffMillis
+     */
+    public PolarisRetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis, Set<Integer> retryableStatusCodes) {
+        if (maxAttempts < 1 || initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis) {
+            throw new IllegalArgumentException("At least one attempt is required and the backoff must be 0 or more and no greater than the max backoff.");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<>(retryableStatusCodes));
+    }
+
+    /**
+     * @param attempt the attempt that just failed, starting at 1
+     */
+    public boolean shouldRetry(Request request, IntegrationException failure, int attempt) {
+        if (attempt >= maxAttempts || null == request || HttpMethod.GET != request.getMethod()) {
+            return false;
+        }
+        if (failure instanceof IntegrationRestException) {
+            return retryableStatusCodes.contains(((IntegrationRestException) failure).getHttpStatusCode());
+        }
+        return ExceptionUtils.indexOfType(failure, IOException.class) >= 0;
+    }
+
+    /**
+     * Full jitter: a random wait between 0 and the exponential backoff for this attempt, so that clients which failed together don't retry together.
+     */
+    public long getBackoffMillis(int attempt) {
+        double exponentialBackoff = initialBackoffMillis * Math.pow(2.0, Math.max(0, attempt - 1));
+        long cappedBackoff = (long) Math.min(maxBackoffMillis, exponentialBackoff);
+        return cappedBackoff <= 0 ? 0L : ThreadLocalRandom.current().nextLong(cappedBackoff + 1);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public Set<Integer> getRetryableStatusCodes() {
+        return retryableStatusCodes;
+    }
+
+}
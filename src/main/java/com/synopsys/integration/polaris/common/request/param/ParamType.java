@@ -10,6 +10,7 @@ package com.synopsys.integration.polaris.common.request.param;
 public enum ParamType implements ParamEnum {
     FILTER("filter"),
     INCLUDE("include"),
+    FIELDS("fields"),
     PAGE("page");
 
     private final String key;
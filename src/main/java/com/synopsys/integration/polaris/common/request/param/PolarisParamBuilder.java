@@ -8,6 +8,8 @@
 package com.synopsys.integration.polaris.common.request.param;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +35,22 @@ public class PolarisParamBuilder {
                    .setCaseSensitive(true);
     }
 
+    /**
+     * A JSON:API sparse fieldset: resources of the given type come back with only the named attributes and relationships.
+     */
+    public static PolarisParamBuilder createFieldsParam(final String resourceType, final Collection<String> fields) {
+        return new PolarisParamBuilder()
+                   .setValue(StringUtils.join(fields, ","))
+                   .setParamType(ParamType.FIELDS)
+                   .setOperator(ParamOperator.NONE)
+                   .addAdditionalProp(resourceType)
+                   .setCaseSensitive(true);
+    }
+
+    public static PolarisParamBuilder createFieldsParam(final String resourceType, final String... fields) {
+        return createFieldsParam(resourceType, Arrays.asList(fields));
+    }
+
     public PolarisParamBuilder setParamType(final ParamType paramType) {
         this.paramType = paramType;
         return this;
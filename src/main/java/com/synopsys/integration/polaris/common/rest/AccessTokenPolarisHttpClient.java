@@ -7,24 +7,39 @@
  */
 package com.synopsys.integration.polaris.common.rest;
 
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.synopsys.integration.rest.HttpUrl;
 import com.synopsys.integration.rest.support.UrlSupport;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.StringEntity;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.rest.HttpMethod;
 import com.synopsys.integration.rest.client.AuthenticatingIntHttpClient;
 import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.rest.request.Request;
 import com.synopsys.integration.rest.response.Response;
 import com.synopsys.integration.rest.support.AuthenticationSupport;
 
@@ -35,17 +50,32 @@ public class AccessTokenPolarisHttpClient extends AuthenticatingIntHttpClient {
     private static final String ACCESS_TOKEN_REQUEST_KEY = "accesstoken";
     private static final String ACCESS_TOKEN_REQUEST_CONTENT_TYPE = "application/x-www-form-urlencoded";
 
+    public static final long DEFAULT_JWT_REFRESH_MARGIN_SECONDS = 60L;
+
+    private static final String CLOSE_METHOD_NAME = "close";
+
     private final Gson gson;
     private final UrlSupport urlSupport;
     private final AuthenticationSupport authenticationSupport;
     private final HttpUrl baseUrl;
     private final String accessToken;
+    private final boolean alwaysTrustServerCertificate;
+    private PolarisConnectionPool connectionPool;
+    private PolarisJwtFileCache jwtCache;
+    private PolarisRequestGovernor requestGovernor;
+    private volatile PolarisInstrumentation instrumentation = PolarisInstrumentation.NOOP;
+
+    private final AtomicReference<PolarisJwt> currentJwt = new AtomicReference<>();
+    private final Object jwtRefreshLock = new Object();
+    private final ThreadLocal<IntegrationException> jwtRefreshFailure = new ThreadLocal<>();
+    private long jwtRefreshMarginMillis = TimeUnit.SECONDS.toMillis(DEFAULT_JWT_REFRESH_MARGIN_SECONDS);
 
     public AccessTokenPolarisHttpClient(
         final IntLogger logger, final int timeout, final boolean alwaysTrustServerCertificate, final ProxyInfo proxyInfo, final HttpUrl baseUrl, final String accessToken, final Gson gson, final UrlSupport urlSupport, final AuthenticationSupport authenticationSupport) {
         super(logger, timeout, alwaysTrustServerCertificate, proxyInfo);
         this.baseUrl = baseUrl;
         this.accessToken = accessToken;
+        this.alwaysTrustServerCertificate = alwaysTrustServerCertificate;
         this.gson = gson;
         this.urlSupport = urlSupport;
         this.authenticationSupport = authenticationSupport;
@@ -55,25 +85,99 @@ public class AccessTokenPolarisHttpClient extends AuthenticatingIntHttpClient {
         }
     }
 
+    @Override
+    public Response execute(final Request request) throws IntegrationException {
+        try {
+            return executeInstrumented(request);
+        } finally {
+            // a failure the base class never asked for must not fail the next request on this thread
+            jwtRefreshFailure.remove();
+        }
+    }
+
     @Override
     public void handleErrorResponse(final HttpUriRequest request, final Response response) {
+        final Header authorizationHeader = request.getFirstHeader(HttpHeaders.AUTHORIZATION);
         super.handleErrorResponse(request, response);
 
         authenticationSupport.handleTokenErrorResponse(this, request, response);
+        if (Integer.valueOf(HttpStatus.SC_UNAUTHORIZED).equals(response.getStatusCode()) && null != authorizationHeader) {
+            // Only forget the token this request was sent with; another thread may already have replaced it
+            final PolarisJwt rejectedJwt = currentJwt.get();
+            if (null != rejectedJwt && rejectedJwt.isBearerOf(authorizationHeader.getValue()) && currentJwt.compareAndSet(rejectedJwt, null) && null != jwtCache) {
+                jwtCache.remove(baseUrl, accessToken, rejectedJwt);
+            }
+            // The retry gets its token from the same single refresh as every other thread
+            authenticateWithRefreshedJwt(request);
+        }
     }
 
+    /**
+     * Authenticates the request with the current JWT, fetching a new one first when there is none or the current one is about to expire. However many threads need a new token at once, only one of them calls api/auth/authenticate while the others wait for its result. When that call fails, attemptAuthentication reports the failure rather than authenticating a second time.
+     */
     @Override
     public boolean isAlreadyAuthenticated(final HttpUriRequest request) {
-        return authenticationSupport.isTokenAlreadyAuthenticated(request);
+        if (null != jwtRefreshFailure.get()) {
+            return false;
+        }
+        return authenticateWithRefreshedJwt(request);
     }
 
     @Override
     protected void completeAuthenticationRequest(final HttpUriRequest request, final Response response) {
+        if (response.isStatusCodeSuccess()) {
+            try {
+                final PolarisJwt jwt = readJwt(response);
+                synchronized (jwtRefreshLock) {
+                    currentJwt.set(jwt);
+                    writeToJwtCache(jwt);
+                }
+                request.setHeader(HttpHeaders.AUTHORIZATION, jwt.getBearerHeaderValue());
+            } catch (final IntegrationException e) {
+                logger.error("Could not read the JWT from the Polaris authentication response: " + e.getMessage());
+            }
+            return;
+        }
         authenticationSupport.completeTokenAuthenticationRequest(request, response, logger, gson, this, AccessTokenPolarisHttpClient.AUTHENTICATION_RESPONSE_KEY);
     }
 
+    public void setJwtRefreshMarginSeconds(final long jwtRefreshMarginSeconds) {
+        if (jwtRefreshMarginSeconds >= 0) {
+            this.jwtRefreshMarginMillis = TimeUnit.SECONDS.toMillis(jwtRefreshMarginSeconds);
+        }
+    }
+
+    /**
+     * Reuses JWTs from the given cache when they are still valid, and saves every new JWT to it, so a new process can skip api/auth/authenticate.
+     */
+    public void useJwtCache(final PolarisJwtFileCache jwtCache) {
+        this.jwtCache = jwtCache;
+    }
+
+    public Optional<PolarisJwtFileCache> getJwtCache() {
+        return Optional.ofNullable(jwtCache);
+    }
+
+    public Optional<PolarisJwt> getCurrentJwt() {
+        return Optional.ofNullable(currentJwt.get());
+    }
+
+    /**
+     * Rethrows the failure of a JWT refresh this thread just waited for instead of authenticating again, and otherwise authenticates under the same lock as the refresh.
+     */
     @Override
     public final Response attemptAuthentication() throws IntegrationException {
+        final IntegrationException refreshFailure = jwtRefreshFailure.get();
+        if (null != refreshFailure) {
+            jwtRefreshFailure.remove();
+            throw refreshFailure;
+        }
+        synchronized (jwtRefreshLock) {
+            return postAccessToken();
+        }
+    }
+
+    private Response postAccessToken() throws IntegrationException {
         final Map<String, String> headers = new HashMap<>();
         headers.put("Content-Type", AccessTokenPolarisHttpClient.ACCESS_TOKEN_REQUEST_CONTENT_TYPE);
 
@@ -83,8 +187,179 @@ public class AccessTokenPolarisHttpClient extends AuthenticatingIntHttpClient {
         final RequestBuilder requestBuilder = createRequestBuilder(HttpMethod.POST, headers);
         requestBuilder.setEntity(httpEntity);
 
-        HttpUrl authenticationUrl = urlSupport.appendRelativeUrl(baseUrl, AccessTokenPolarisHttpClient.AUTHENTICATION_SPEC);
-        return authenticationSupport.attemptAuthentication(this, authenticationUrl, requestBuilder);
+        final HttpUrl authenticationUrl = urlSupport.appendRelativeUrl(baseUrl, AccessTokenPolarisHttpClient.AUTHENTICATION_SPEC);
+        // authentication does not go through execute, so it is governed here as part of the AUTH family
+        return executeGoverned(authenticationUrl, () -> authenticationSupport.attemptAuthentication(this, authenticationUrl, requestBuilder));
+    }
+
+    /**
+     * Routes this client's requests through connections from the shared pool rather than connections of its own.
+     */
+    public void useConnectionPool(final PolarisConnectionPool connectionPool) {
+        if (null != connectionPool) {
+            connectionPool.configure(getClientBuilder(), alwaysTrustServerCertificate);
+            this.connectionPool = connectionPool;
+        }
+    }
+
+    /**
+     * Throttles every request this client executes, authentication included, through the given governor, which may be shared with other clients. A governed request counts as in flight until its response is closed, so every response must be closed.
+     */
+    public void useRequestGovernor(final PolarisRequestGovernor requestGovernor) {
+        this.requestGovernor = requestGovernor;
+    }
+
+    /**
+     * Reports the timing and outcome of every request this client executes, and of the operations the services built on this client perform, to the given instrumentation. A null instrumentation turns reporting off again.
+     */
+    public void useInstrumentation(final PolarisInstrumentation instrumentation) {
+        this.instrumentation = null == instrumentation ? PolarisInstrumentation.NOOP : instrumentation;
+    }
+
+    public PolarisInstrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    public Optional<PolarisRequestGovernor> getRequestGovernor() {
+        return Optional.ofNullable(requestGovernor);
+    }
+
+    public Optional<PolarisConnectionPool> getConnectionPool() {
+        return Optional.ofNullable(connectionPool);
+    }
+
+    private PolarisJwt refreshJwt() throws IntegrationException {
+        synchronized (jwtRefreshLock) {
+            // Whoever held the lock before us may already have fetched a token we can use
+            final PolarisJwt jwt = currentJwt.get();
+            if (null != jwt && jwt.isUsable(System.currentTimeMillis(), jwtRefreshMarginMillis)) {
+                return jwt;
+            }
+
+            if (null != jwtCache) {
+                final Optional<PolarisJwt> cachedJwt = jwtCache.read(baseUrl, accessToken, System.currentTimeMillis(), jwtRefreshMarginMillis);
+                if (cachedJwt.isPresent()) {
+                    currentJwt.set(cachedJwt.get());
+                    return cachedJwt.get();
+                }
+            }
+
+            try (final Response response = postAccessToken()) {
+                response.throwExceptionForError();
+                final PolarisJwt refreshedJwt = readJwt(response);
+                currentJwt.set(refreshedJwt);
+                writeToJwtCache(refreshedJwt);
+                return refreshedJwt;
+            } catch (final IOException e) {
+                throw new IntegrationException("Could not close the Polaris authentication response: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private boolean authenticateWithRefreshedJwt(final HttpUriRequest request) {
+        PolarisJwt jwt = currentJwt.get();
+        if (null == jwt || !jwt.isUsable(System.currentTimeMillis(), jwtRefreshMarginMillis)) {
+            try {
+                jwt = refreshJwt();
+            } catch (final IntegrationException e) {
+                logger.debug("Could not refresh the Polaris JWT: " + e.getMessage());
+                jwtRefreshFailure.set(e);
+                return false;
+            }
+        }
+
+        request.setHeader(HttpHeaders.AUTHORIZATION, jwt.getBearerHeaderValue());
+        return true;
+    }
+
+    private Response executeInstrumented(final Request request) throws IntegrationException {
+        final PolarisInstrumentation currentInstrumentation = instrumentation;
+        if (!currentInstrumentation.isEnabled()) {
+            return executeGoverned(request);
+        }
+
+        final long start = System.nanoTime();
+        try {
+            final Response response = executeGoverned(request);
+            final Integer statusCode = response.getStatusCode();
+            final long contentLength = NumberUtils.toLong(response.getHeaderValue(HttpHeaders.CONTENT_LENGTH), -1L);
+            currentInstrumentation.httpExchangeCompleted(PolarisEndpointFamily.fromUrl(request.getUrl().string()), request.getMethod(), request.getUrl(), null == statusCode ? -1 : statusCode, System.nanoTime() - start, contentLength);
+            return response;
+        } catch (final IntegrationException e) {
+            currentInstrumentation.httpExchangeFailed(PolarisEndpointFamily.fromUrl(request.getUrl().string()), request.getMethod(), request.getUrl(), System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    private Response executeGoverned(final Request request) throws IntegrationException {
+        return executeGoverned(request.getUrl(), () -> super.execute(request));
+    }
+
+    private Response executeGoverned(final HttpUrl requestUrl, final Exchange exchange) throws IntegrationException {
+        if (null == requestGovernor) {
+            return exchange.execute();
+        }
+
+        final PolarisRequestGovernor.Permit permit = acquireRequestPermit(requestUrl);
+        try {
+            final long start = System.nanoTime();
+            final Response response = exchange.execute();
+            final long exchangeNanos = System.nanoTime() - start;
+            permit.recordResponse(response.getStatusCode(), response.getHeaderValue(PolarisRequestGovernor.RETRY_AFTER_HEADER));
+            return releaseOnClose(response, permit, exchangeNanos);
+        } catch (final IntegrationException | RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The body is only read after execute returns, so the request stays in flight until its response is closed. A proxy leaves every other method of the response as it was.
+     */
+    private Response releaseOnClose(final Response response, final PolarisRequestGovernor.Permit permit, final long exchangeNanos) {
+        final InvocationHandler releasingHandler = (proxy, method, args) -> {
+            if (PolarisTimedResponse.class.equals(method.getDeclaringClass())) {
+                return exchangeNanos;
+            }
+            try {
+                return method.invoke(response, args);
+            } catch (final InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (CLOSE_METHOD_NAME.equals(method.getName()) && method.getParameterCount() == 0) {
+                    permit.close();
+                }
+            }
+        };
+        return (Response) Proxy.newProxyInstance(PolarisTimedResponse.class.getClassLoader(), new Class<?>[] { Response.class, PolarisTimedResponse.class }, releasingHandler);
+    }
+
+    private PolarisRequestGovernor.Permit acquireRequestPermit(final HttpUrl requestUrl) throws IntegrationException {
+        try {
+            return requestGovernor.acquire(requestUrl);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException("Interrupted while waiting to send a request to " + requestUrl, e);
+        }
+    }
+
+    private void writeToJwtCache(final PolarisJwt jwt) {
+        if (null != jwtCache) {
+            jwtCache.write(baseUrl, accessToken, jwt);
+        }
+    }
+
+    private PolarisJwt readJwt(final Response response) throws IntegrationException {
+        try {
+            final JsonObject authenticationResponse = gson.fromJson(response.getContentString(), JsonObject.class);
+            final JsonElement jwt = null == authenticationResponse ? null : authenticationResponse.get(AccessTokenPolarisHttpClient.AUTHENTICATION_RESPONSE_KEY);
+            if (null == jwt || !jwt.isJsonPrimitive() || StringUtils.isBlank(jwt.getAsString())) {
+                throw new IntegrationException("The Polaris authentication response did not contain a JWT.");
+            }
+            return PolarisJwt.fromToken(jwt.getAsString(), gson);
+        } catch (final JsonParseException e) {
+            throw new IntegrationException("The Polaris authentication response was not valid json: " + e.getMessage(), e);
+        }
     }
 
     public HttpUrl getPolarisServerUrl() {
@@ -100,4 +375,10 @@ public class AccessTokenPolarisHttpClient extends AuthenticatingIntHttpClient {
         }
     }
 
+    @FunctionalInterface
+    private interface Exchange {
+        Response execute() throws IntegrationException;
+
+    }
+
 }
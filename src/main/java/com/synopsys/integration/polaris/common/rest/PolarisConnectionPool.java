@@ -0,0 +1,237 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.rest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.security.KeyManagementException;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.conn.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.http.ssl.SSLContexts;
+
+/**
+ * A bounded pool of keep-alive connections that any number of AccessTokenPolarisHttpClients can share, so that clients for different tenants or pipelines in one JVM reuse sockets and TLS sessions instead of each opening their own.
+ * Certificate trust is a property of the connections, so clients that always trust the server certificate get their own connections from the pool.
+ */
+public class PolarisConnectionPool implements AutoCloseable {
+    public static final int DEFAULT_MAX_TOTAL = 64;
+    public static final int DEFAULT_MAX_PER_ROUTE = 16;
+    public static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 60L;
+    public static final long DEFAULT_KEEP_ALIVE_SECONDS = 120L;
+
+    private static final int VALIDATE_AFTER_INACTIVITY_MILLISECONDS = 2000;
+
+    private final int maxTotal;
+    private final int maxPerRoute;
+    private final long idleTimeoutSeconds;
+    private final long keepAliveSeconds;
+    private final long createdAtMillis = System.currentTimeMillis();
+
+    private final LongAdder requestsExecuted = new LongAdder();
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder tlsHandshakes = new LongAdder();
+
+    private PooledConnections verifiedConnections;
+    private PooledConnections trustingConnections;
+
+    public static PolarisConnectionPool createDefault() {
+        return new PolarisConnectionPool(DEFAULT_MAX_TOTAL, DEFAULT_MAX_PER_ROUTE, DEFAULT_IDLE_TIMEOUT_SECONDS, DEFAULT_KEEP_ALIVE_SECONDS);
+    }
+
+    /**
+     * @param maxTotal           the most connections open at once, per certificate trust setting
+     * @param maxPerRoute        the most connections open to a single host
+     * @param idleTimeoutSeconds connections idle for longer than this are closed in the background
+     * @param keepAliveSeconds   the longest a connection is kept alive when the server does not say otherwise
+     */
+    public PolarisConnectionPool(int maxTotal, int maxPerRoute, long idleTimeoutSeconds, long keepAliveSeconds) {
+        if (maxTotal <= 0 || maxPerRoute <= 0) {
+            throw new IllegalArgumentException("The connection pool limits must be greater than zero.");
+        }
+        this.maxTotal = maxTotal;
+        this.maxPerRoute = Math.min(maxPerRoute, maxTotal);
+        this.idleTimeoutSeconds = idleTimeoutSeconds;
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    /**
+     * Points the client builder at this pool's connections. The pool stays open when the clients built from it are closed.
+     */
+    public void configure(HttpClientBuilder clientBuilder, boolean alwaysTrustServerCertificate) {
+        PooledConnections pooledConnections = getPooledConnections(alwaysTrustServerCertificate);
+        clientBuilder.setConnectionManager(pooledConnections.connectionManager);
+        clientBuilder.setConnectionManagerShared(true);
+        clientBuilder.setKeepAliveStrategy(createKeepAliveStrategy());
+        clientBuilder.addInterceptorLast((HttpRequestInterceptor) (request, context) -> requestsExecuted.increment());
+    }
+
+    public PolarisConnectionPoolStats getStats() {
+        int leased = 0;
+        int available = 0;
+        int pending = 0;
+        for (PooledConnections pooledConnections : getOpenedPooledConnections()) {
+            PoolStats poolStats = pooledConnections.connectionManager.getTotalStats();
+            leased += poolStats.getLeased();
+            available += poolStats.getAvailable();
+            pending += poolStats.getPending();
+        }
+        long elapsedMillis = System.currentTimeMillis() - createdAtMillis;
+        return new PolarisConnectionPoolStats(requestsExecuted.sum(), connectionsOpened.sum(), tlsHandshakes.sum(), leased, available, pending, maxTotal, elapsedMillis);
+    }
+
+    @Override
+    public synchronized void close() {
+        for (PooledConnections pooledConnections : getOpenedPooledConnections()) {
+            pooledConnections.close();
+        }
+        verifiedConnections = null;
+        trustingConnections = null;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    public long getIdleTimeoutSeconds() {
+        return idleTimeoutSeconds;
+    }
+
+    public long getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    private synchronized PooledConnections getPooledConnections(boolean alwaysTrustServerCertificate) {
+        if (alwaysTrustServerCertificate) {
+            if (null == trustingConnections) {
+                trustingConnections = new PooledConnections(createSslSocketFactory(true));
+            }
+            return trustingConnections;
+        }
+        if (null == verifiedConnections) {
+            verifiedConnections = new PooledConnections(createSslSocketFactory(false));
+        }
+        return verifiedConnections;
+    }
+
+    private synchronized PooledConnections[] getOpenedPooledConnections() {
+        if (null != verifiedConnections && null != trustingConnections) {
+            return new PooledConnections[] { verifiedConnections, trustingConnections };
+        } else if (null != verifiedConnections) {
+            return new PooledConnections[] { verifiedConnections };
+        } else if (null != trustingConnections) {
+            return new PooledConnections[] { trustingConnections };
+        }
+        return new PooledConnections[0];
+    }
+
+    private ConnectionKeepAliveStrategy createKeepAliveStrategy() {
+        long keepAliveMillis = TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+        return (response, context) -> {
+            long serverKeepAliveMillis = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAliveMillis > 0 ? Math.min(serverKeepAliveMillis, keepAliveMillis) : keepAliveMillis;
+        };
+    }
+
+    private SSLConnectionSocketFactory createSslSocketFactory(boolean alwaysTrustServerCertificate) {
+        if (!alwaysTrustServerCertificate) {
+            return new CountingSslConnectionSocketFactory(SSLContexts.createDefault(), SSLConnectionSocketFactory.getDefaultHostnameVerifier());
+        }
+
+        try {
+            SSLContext trustingSslContext = new SSLContextBuilder().loadTrustMaterial(null, (chain, authType) -> true).build();
+            return new CountingSslConnectionSocketFactory(trustingSslContext, NoopHostnameVerifier.INSTANCE);
+        } catch (NoSuchAlgorithmException | KeyManagementException | KeyStoreException e) {
+            throw new IllegalStateException("Could not create an SSL context that trusts the server certificate: " + e.getMessage(), e);
+        }
+    }
+
+    private class PooledConnections {
+        private final PoolingHttpClientConnectionManager connectionManager;
+        private final IdleConnectionEvictor idleConnectionEvictor;
+
+        private PooledConnections(SSLConnectionSocketFactory sslSocketFactory) {
+            Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                                                                          .register("http", new CountingPlainConnectionSocketFactory())
+                                                                          .register("https", sslSocketFactory)
+                                                                          .build();
+            connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+            connectionManager.setMaxTotal(maxTotal);
+            connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+            connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MILLISECONDS);
+
+            idleConnectionEvictor = new IdleConnectionEvictor(connectionManager, idleTimeoutSeconds, TimeUnit.SECONDS);
+            idleConnectionEvictor.start();
+        }
+
+        private void close() {
+            idleConnectionEvictor.shutdown();
+            connectionManager.shutdown();
+        }
+
+    }
+
+    private class CountingPlainConnectionSocketFactory extends PlainConnectionSocketFactory {
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress, InetSocketAddress localAddress, HttpContext context) throws IOException {
+            Socket connectedSocket = super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+            connectionsOpened.increment();
+            return connectedSocket;
+        }
+
+    }
+
+    private class CountingSslConnectionSocketFactory extends SSLConnectionSocketFactory {
+        private CountingSslConnectionSocketFactory(SSLContext sslContext, HostnameVerifier hostnameVerifier) {
+            super(sslContext, hostnameVerifier);
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress, InetSocketAddress localAddress, HttpContext context) throws IOException {
+            Socket connectedSocket = super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+            connectionsOpened.increment();
+            return connectedSocket;
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+            // Every TLS handshake, direct or tunnelled through a proxy, goes through here
+            Socket layeredSocket = super.createLayeredSocket(socket, target, port, context);
+            tlsHandshakes.increment();
+            return layeredSocket;
+        }
+
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.rest;
+
+import com.synopsys.integration.util.Stringable;
+
+public class PolarisConnectionPoolStats extends Stringable {
+    private final long requestsExecuted;
+    private final long connectionsOpened;
+    private final long tlsHandshakes;
+    private final int leasedConnections;
+    private final int availableConnections;
+    private final int pendingRequests;
+    private final int maxTotal;
+    private final long elapsedMillis;
+
+    public PolarisConnectionPoolStats(long requestsExecuted, long connectionsOpened, long tlsHandshakes, int leasedConnections, int availableConnections, int pendingRequests, int maxTotal, long elapsedMillis) {
+        this.requestsExecuted = requestsExecuted;
+        this.connectionsOpened = connectionsOpened;
+        this.tlsHandshakes = tlsHandshakes;
+        this.leasedConnections = leasedConnections;
+        this.availableConnections = availableConnections;
+        this.pendingRequests = pendingRequests;
+        this.maxTotal = maxTotal;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRequestsExecuted() {
+        return requestsExecuted;
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened;
+    }
+
+    public long getTlsHandshakes() {
+        return tlsHandshakes;
+    }
+
+    public int getLeasedConnections() {
+        return leasedConnections;
+    }
+
+    public int getAvailableConnections() {
+        return availableConnections;
+    }
+
+    public int getPendingRequests() {
+        return pendingRequests;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRequestsPerSecond() {
+        return elapsedMillis > 0 ? requestsExecuted * 1000.0 / elapsedMillis : 0.0;
+    }
+
+    /**
+     * How many requests each opened connection served on average; 1.0 means no connection was ever reused.
+     */
+    public double getRequestsPerConnection() {
+        return connectionsOpened > 0 ? (double) requestsExecuted / connectionsOpened : 0.0;
+    }
+
+}
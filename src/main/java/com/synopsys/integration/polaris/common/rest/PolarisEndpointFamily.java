@@ -0,0 +1,48 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.rest;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+
+import org.apache.commons.lang3.StringUtils;
+
+public enum PolarisEndpointFamily {
+    COMMON("/api/common"),
+    QUERY("/api/query"),
+    AUTH("/api/auth"),
+    JOBS("/api/jobs"),
+    OTHER(null);
+
+    private final String pathPrefix;
+
+    PolarisEndpointFamily(String pathPrefix) {
+        this.pathPrefix = pathPrefix;
+    }
+
+    public static PolarisEndpointFamily fromUrl(String url) {
+        String path;
+        try {
+            path = StringUtils.defaultString(new URI(url).getPath());
+        } catch (URISyntaxException e) {
+            return OTHER;
+        }
+
+        for (PolarisEndpointFamily endpointFamily : values()) {
+            if (null != endpointFamily.pathPrefix && (path.contains(endpointFamily.pathPrefix + "/") || path.endsWith(endpointFamily.pathPrefix))) {
+                return endpointFamily;
+            }
+        }
+        return OTHER;
+    }
+
+    public String getPathPrefix() {
+        return pathPrefix;
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.rest;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.HttpUrl;
+
+/**
+ * Receives timing and outcome events for every request a client executes, and span-style events for the longer operations built on those requests. Every method has an empty default, so an implementation only overrides the events it records. Nothing is measured while isEnabled returns false, which is how NOOP, the default, stays free of extra allocations on the request path.
+ * Events arrive on whichever thread made the request, so implementations must be thread safe.
+ */
+public interface PolarisInstrumentation {
+    PolarisInstrumentation NOOP = new PolarisInstrumentation() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    String GET_ALL_RESPONSES_SPAN = "polaris.getAllResponses";
+    String WAIT_FOR_JOB_SPAN = "polaris.waitForJob";
+
+    String RESOURCE_COUNT_ATTRIBUTE = "resources";
+    String PAGE_SIZE_ATTRIBUTE = "pageSize";
+    String POLL_COUNT_ATTRIBUTE = "polls";
+    String WAIT_MILLIS_ATTRIBUTE = "waitMillis";
+
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * One HTTP exchange, timed from before any wait for the request governor until the response headers arrived.
+     * @param contentLength the Content-Length the server reported, or -1 when it sent none
+     */
+    default void httpExchangeCompleted(PolarisEndpointFamily endpointFamily, HttpMethod method, HttpUrl url, int statusCode, long durationNanos, long contentLength) {
+    }
+
+    /**
+     * One HTTP exchange that ended without a response, usually because of a connection problem.
+     */
+    default void httpExchangeFailed(PolarisEndpointFamily endpointFamily, HttpMethod method, HttpUrl url, long durationNanos, IntegrationException exception) {
+    }
+
+    /**
+     * One request made through PolarisService, covering every attempt the retry policy allowed.
+     * @param parseNanos the time spent turning response bodies into the response type, which includes reading the body when response content is streamed
+     */
+    default void requestCompleted(PolarisEndpointFamily endpointFamily, HttpMethod method, HttpUrl url, int attempts, long durationNanos, long parseNanos, boolean succeeded) {
+    }
+
+    default Span startSpan(String operation, HttpUrl url) {
+        return Span.NOOP;
+    }
+
+    interface Span {
+        Span NOOP = new Span() {};
+
+        default void setAttribute(String key, long value) {
+        }
+
+        /**
+         * @param failure what ended the operation, or null when it succeeded
+         */
+        default void end(Throwable failure) {
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.rest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+/**
+ * A JWT issued by api/auth/authenticate, along with the expiry from its exp claim when the token has one.
+ */
+public class PolarisJwt {
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String EXPIRATION_CLAIM = "exp";
+
+    private final String token;
+    private final Long expiresAtMillis;
+
+    public static PolarisJwt fromToken(String token, Gson gson) {
+        return new PolarisJwt(token, parseExpiresAtMillis(token, gson).orElse(null));
+    }
+
+    public PolarisJwt(String token, Long expiresAtMillis) {
+        this.token = token;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    /**
+     * A token with no known expiry stays usable until the server rejects it.
+     */
+    public boolean isUsable(long nowMillis, long refreshMarginMillis) {
+        return null == expiresAtMillis || nowMillis + refreshMarginMillis < expiresAtMillis;
+    }
+
+    public boolean isBearerOf(String authorizationHeaderValue) {
+        return getBearerHeaderValue().equals(authorizationHeaderValue);
+    }
+
+    public String getBearerHeaderValue() {
+        return BEARER_PREFIX + token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public Optional<Long> getExpiresAtMillis() {
+        return Optional.ofNullable(expiresAtMillis);
+    }
+
+    private static Optional<Long> parseExpiresAtMillis(String token, Gson gson) {
+        String[] tokenPieces = StringUtils.split(token, '.');
+        if (null == tokenPieces || tokenPieces.length < 2) {
+            return Optional.empty();
+        }
+
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(tokenPieces[1]), StandardCharsets.UTF_8);
+            JsonObject claims = gson.fromJson(payload, JsonObject.class);
+            JsonElement expiration = null == claims ? null : claims.get(EXPIRATION_CLAIM);
+            if (null != expiration && expiration.isJsonPrimitive() && expiration.getAsJsonPrimitive().isNumber()) {
+                return Optional.of(expiration.getAsLong() * 1000L);
+            }
+        } catch (IllegalArgumentException | JsonParseException e) {
+            // An opaque token is still a valid token, its expiry just isn't known
+        }
+        return Optional.empty();
+    }
+
+}
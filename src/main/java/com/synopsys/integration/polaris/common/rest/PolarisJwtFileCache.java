@@ -0,0 +1,201 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.rest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.rest.HttpUrl;
+
+/**
+ * Keeps Polaris JWTs on disk so that short-lived processes can reuse a token instead of authenticating every time they start. Each entry is keyed by the server url and a hash of the access token, so the access token itself is never written, and the files are only readable by their owner where the file system supports POSIX permissions. Cache failures are logged and otherwise ignored - the client just authenticates as it would without a cache.
+ */
+public class PolarisJwtFileCache {
+    private static final String CACHE_FILE_EXTENSION = ".jwt.json";
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+
+    private final IntLogger logger;
+    private final Path cacheDirectory;
+    private final Gson gson;
+
+    public PolarisJwtFileCache(IntLogger logger, Path cacheDirectory, Gson gson) {
+        this.logger = logger;
+        this.cacheDirectory = cacheDirectory;
+        this.gson = gson;
+    }
+
+    /**
+     * @return the cached JWT for this server and access token, provided it is still usable for at least refreshMarginMillis.
+     */
+    public Optional<PolarisJwt> read(HttpUrl serverUrl, String accessToken, long nowMillis, long refreshMarginMillis) {
+        Path cacheFile = getCacheFile(serverUrl, accessToken);
+        if (!Files.isRegularFile(cacheFile)) {
+            return Optional.empty();
+        }
+
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            CachedJwt cachedJwt = gson.fromJson(reader, CachedJwt.class);
+            if (null == cachedJwt || StringUtils.isBlank(cachedJwt.jwt) || null == cachedJwt.expiresAtMillis || !serverUrl.string().equals(cachedJwt.serverUrl)) {
+                return Optional.empty();
+            }
+
+            PolarisJwt jwt = new PolarisJwt(cachedJwt.jwt, cachedJwt.expiresAtMillis);
+            if (!jwt.isUsable(nowMillis, refreshMarginMillis)) {
+                Files.deleteIfExists(cacheFile);
+                return Optional.empty();
+            }
+
+            logger.debug(String.format("Using the cached Polaris JWT from %s.", cacheFile));
+            return Optional.of(jwt);
+        } catch (IOException | JsonParseException e) {
+            logger.debug(String.format("Could not read the cached Polaris JWT from %s: %s", cacheFile, e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Only tokens with a known expiry are cached, since there would be no way to tell when a cached token without one went stale.
+     */
+    public void write(HttpUrl serverUrl, String accessToken, PolarisJwt jwt) {
+        if (!jwt.getExpiresAtMillis().isPresent()) {
+            return;
+        }
+
+        Path cacheFile = getCacheFile(serverUrl, accessToken);
+        Path temporaryFile = null;
+        try {
+            createCacheDirectory();
+            temporaryFile = createOwnerOnlyFile(cacheFile);
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                gson.toJson(new CachedJwt(serverUrl.string(), jwt.getToken(), jwt.getExpiresAtMillis().get()), writer);
+            }
+            moveIntoPlace(temporaryFile, cacheFile);
+        } catch (IOException e) {
+            logger.debug(String.format("Could not cache the Polaris JWT in %s: %s", cacheFile, e.getMessage()));
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    /**
+     * Removes the cached entry, but only if it still holds the given token - another process may have replaced it with a newer one.
+     */
+    public void remove(HttpUrl serverUrl, String accessToken, PolarisJwt jwt) {
+        Optional<PolarisJwt> cachedJwt = read(serverUrl, accessToken, 0L, 0L);
+        if (cachedJwt.isPresent() && cachedJwt.get().getToken().equals(jwt.getToken())) {
+            deleteQuietly(getCacheFile(serverUrl, accessToken));
+        }
+    }
+
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    private Path getCacheFile(HttpUrl serverUrl, String accessToken) {
+        String cacheKey = sha256Hex(serverUrl.string() + "\n" + sha256Hex(accessToken));
+        return cacheDirectory.resolve(cacheKey + CACHE_FILE_EXTENSION);
+    }
+
+    private void createCacheDirectory() throws IOException {
+        if (!supportsPosixPermissions()) {
+            Files.createDirectories(cacheDirectory);
+            return;
+        }
+        if (!Files.isDirectory(cacheDirectory)) {
+            Files.createDirectories(cacheDirectory, PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIRECTORY_PERMISSIONS));
+        }
+        // a directory that was already there, or that the umask loosened, is narrowed to its owner as well
+        if (!OWNER_ONLY_DIRECTORY_PERMISSIONS.equals(Files.getPosixFilePermissions(cacheDirectory))) {
+            Files.setPosixFilePermissions(cacheDirectory, OWNER_ONLY_DIRECTORY_PERMISSIONS);
+        }
+    }
+
+    private Path createOwnerOnlyFile(Path cacheFile) throws IOException {
+        String prefix = cacheFile.getFileName().toString();
+        if (supportsPosixPermissions()) {
+            FileAttribute<Set<PosixFilePermission>> ownerOnly = PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE_PERMISSIONS);
+            return Files.createTempFile(cacheDirectory, prefix, ".tmp", ownerOnly);
+        }
+
+        Path temporaryFile = Files.createTempFile(cacheDirectory, prefix, ".tmp");
+        temporaryFile.toFile().setReadable(false, false);
+        temporaryFile.toFile().setReadable(true, true);
+        temporaryFile.toFile().setWritable(false, false);
+        temporaryFile.toFile().setWritable(true, true);
+        return temporaryFile;
+    }
+
+    private void moveIntoPlace(Path temporaryFile, Path cacheFile) throws IOException {
+        try {
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException | FileAlreadyExistsException e) {
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private boolean supportsPosixPermissions() {
+        return cacheDirectory.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    private void deleteQuietly(Path path) {
+        if (null == path) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.debug(String.format("Could not delete %s: %s", path, e.getMessage()));
+        }
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte digestByte : digest) {
+                hex.append(String.format("%02x", digestByte));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class CachedJwt {
+        private String serverUrl;
+        private String jwt;
+        private Long expiresAtMillis;
+
+        private CachedJwt(String serverUrl, String jwt, Long expiresAtMillis) {
+            this.serverUrl = serverUrl;
+            this.jwt = jwt;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+}
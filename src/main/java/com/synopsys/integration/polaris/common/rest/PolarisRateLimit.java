@@ -0,0 +1,56 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.rest;
+
+import com.synopsys.integration.util.Stringable;
+
+/**
+ * The limits for one endpoint family: a token bucket that refills at requestsPerSecond and holds at most burstSize tokens, and a cap on the requests in flight at once.
+ */
+public class PolarisRateLimit extends Stringable {
+    public static final PolarisRateLimit UNLIMITED = new PolarisRateLimit(0.0, 0, 0);
+
+    private final double requestsPerSecond;
+    private final int burstSize;
+    private final int maxInFlight;
+
+    /**
+     * @param requestsPerSecond 0 for no rate limit
+     * @param burstSize how many requests may be sent back to back after an idle period, at least 1 when there is a rate limit
+     * @param maxInFlight 0 for no limit
+     */
+    public PolarisRateLimit(double requestsPerSecond, int burstSize, int maxInFlight) {
+        if (requestsPerSecond < 0.0 || burstSize < 0 || maxInFlight < 0) {
+            throw new IllegalArgumentException("Rate limits can not be negative.");
+        }
+        this.requestsPerSecond = requestsPerSecond;
+        this.burstSize = Math.max(1, burstSize);
+        this.maxInFlight = maxInFlight;
+    }
+
+    public boolean isRateLimited() {
+        return requestsPerSecond > 0.0;
+    }
+
+    public boolean isInFlightLimited() {
+        return maxInFlight > 0;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public int getBurstSize() {
+        return burstSize;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+}
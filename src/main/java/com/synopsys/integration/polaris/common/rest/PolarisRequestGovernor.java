@@ -0,0 +1,262 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.rest;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.http.client.utils.DateUtils;
+
+import com.synopsys.integration.rest.HttpUrl;
+
+/**
+ * Throttles the requests of every client it is shared with. Each server and endpoint family gets its own token bucket and in-flight limit, and a 429 or 503 with a Retry-After header holds back every request to that server and family until the server's deadline has passed. The time requests spend waiting is reported through getStats.
+ */
+public class PolarisRequestGovernor {
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+    public static final long MAX_RETRY_AFTER_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final PolarisRateLimit defaultLimit;
+    private final Map<PolarisEndpointFamily, PolarisRateLimit> familyLimits = new EnumMap<>(PolarisEndpointFamily.class);
+    private final Map<String, PolarisRateLimit> serverFamilyLimits = new HashMap<>();
+    private final Map<String, EndpointGovernor> endpointGovernors = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+
+    /**
+     * Only honors Retry-After; nothing is throttled until limits are set.
+     */
+    public static PolarisRequestGovernor createDefault() {
+        return new PolarisRequestGovernor(PolarisRateLimit.UNLIMITED);
+    }
+
+    public PolarisRequestGovernor(PolarisRateLimit defaultLimit) {
+        this(defaultLimit, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    PolarisRequestGovernor(PolarisRateLimit defaultLimit, LongSupplier nanoClock, Sleeper sleeper) {
+        this.defaultLimit = defaultLimit;
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * Sets the limit for an endpoint family on every server without a limit of its own.
+     */
+    public synchronized PolarisRequestGovernor setLimit(PolarisEndpointFamily endpointFamily, PolarisRateLimit rateLimit) {
+        familyLimits.put(endpointFamily, rateLimit);
+        endpointGovernors.keySet().removeIf(governorKey -> governorKey.endsWith(createGovernorKey("", endpointFamily)));
+        return this;
+    }
+
+    public synchronized PolarisRequestGovernor setLimit(HttpUrl serverUrl, PolarisEndpointFamily endpointFamily, PolarisRateLimit rateLimit) {
+        String governorKey = createGovernorKey(getServerKey(serverUrl.toString()), endpointFamily);
+        serverFamilyLimits.put(governorKey, rateLimit);
+        endpointGovernors.remove(governorKey);
+        return this;
+    }
+
+    /**
+     * Waits until the request may be sent. The returned permit must be closed once the response has arrived.
+     */
+    public Permit acquire(HttpUrl requestUrl) throws InterruptedException {
+        String url = requestUrl.toString();
+        String serverKey = getServerKey(url);
+        PolarisEndpointFamily endpointFamily = PolarisEndpointFamily.fromUrl(url);
+        EndpointGovernor endpointGovernor = endpointGovernors.computeIfAbsent(createGovernorKey(serverKey, endpointFamily), governorKey -> new EndpointGovernor(serverKey, endpointFamily, getLimit(governorKey, endpointFamily), nanoClock, sleeper));
+        return endpointGovernor.acquire();
+    }
+
+    public List<PolarisRequestGovernorStats> getStats() {
+        List<PolarisRequestGovernorStats> stats = new ArrayList<>();
+        for (EndpointGovernor endpointGovernor : endpointGovernors.values()) {
+            stats.add(endpointGovernor.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * @return how long the Retry-After value asks us to wait, or 0 when it is missing or can't be parsed. Both the delay-seconds and the HTTP-date forms are supported.
+     */
+    public static long parseRetryAfterMillis(String retryAfter, long nowMillis) {
+        if (StringUtils.isBlank(retryAfter)) {
+            return 0L;
+        }
+
+        String trimmedRetryAfter = retryAfter.trim();
+        long retryAfterMillis;
+        if (NumberUtils.isDigits(trimmedRetryAfter)) {
+            retryAfterMillis = TimeUnit.SECONDS.toMillis(NumberUtils.toLong(trimmedRetryAfter));
+        } else {
+            Date retryAfterDate = DateUtils.parseDate(trimmedRetryAfter);
+            retryAfterMillis = null == retryAfterDate ? 0L : retryAfterDate.getTime() - nowMillis;
+        }
+        return Math.max(0L, Math.min(MAX_RETRY_AFTER_MILLIS, retryAfterMillis));
+    }
+
+    private synchronized PolarisRateLimit getLimit(String governorKey, PolarisEndpointFamily endpointFamily) {
+        PolarisRateLimit serverFamilyLimit = serverFamilyLimits.get(governorKey);
+        if (null != serverFamilyLimit) {
+            return serverFamilyLimit;
+        }
+        return familyLimits.getOrDefault(endpointFamily, defaultLimit);
+    }
+
+    private String createGovernorKey(String serverKey, PolarisEndpointFamily endpointFamily) {
+        return serverKey + " " + endpointFamily.name();
+    }
+
+    private String getServerKey(String url) {
+        try {
+            URI uri = new URI(url);
+            return StringUtils.lowerCase(uri.getScheme() + "://" + uri.getAuthority());
+        } catch (URISyntaxException e) {
+            return url;
+        }
+    }
+
+    public static class Permit implements AutoCloseable {
+        private final EndpointGovernor endpointGovernor;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Permit(EndpointGovernor endpointGovernor) {
+            this.endpointGovernor = endpointGovernor;
+        }
+
+        /**
+         * Throttling responses hold back the later requests for this server and endpoint family for as long as their Retry-After asks.
+         */
+        public void recordResponse(Integer statusCode, String retryAfter) {
+            if (null != statusCode && (TOO_MANY_REQUESTS == statusCode || SERVICE_UNAVAILABLE == statusCode)) {
+                endpointGovernor.pauseFor(parseRetryAfterMillis(retryAfter, System.currentTimeMillis()));
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                endpointGovernor.release();
+            }
+        }
+    }
+
+    private static class EndpointGovernor {
+        private final String serverKey;
+        private final PolarisEndpointFamily endpointFamily;
+        private final PolarisRateLimit rateLimit;
+        private final Semaphore inFlightPermits;
+        private final LongSupplier nanoClock;
+        private final Sleeper sleeper;
+        private final AtomicLong pausedUntilNanos;
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong throttledResponses = new AtomicLong();
+        private final AtomicLong totalQueueNanos = new AtomicLong();
+        private final AtomicLong maxQueueNanos = new AtomicLong();
+        private final AtomicLong inFlight = new AtomicLong();
+        private double availableTokens;
+        private long lastRefillNanos;
+
+        private EndpointGovernor(String serverKey, PolarisEndpointFamily endpointFamily, PolarisRateLimit rateLimit, LongSupplier nanoClock, Sleeper sleeper) {
+            this.serverKey = serverKey;
+            this.endpointFamily = endpointFamily;
+            this.rateLimit = rateLimit;
+            this.inFlightPermits = rateLimit.isInFlightLimited() ? new Semaphore(rateLimit.getMaxInFlight(), true) : null;
+            this.nanoClock = nanoClock;
+            this.sleeper = sleeper;
+            this.availableTokens = rateLimit.getBurstSize();
+            this.lastRefillNanos = nanoClock.getAsLong();
+            this.pausedUntilNanos = new AtomicLong(lastRefillNanos);
+        }
+
+        private Permit acquire() throws InterruptedException {
+            long startNanos = nanoClock.getAsLong();
+            waitForRetryAfter();
+            waitForToken();
+            if (null != inFlightPermits) {
+                inFlightPermits.acquire();
+            }
+
+            long queueNanos = nanoClock.getAsLong() - startNanos;
+            requests.incrementAndGet();
+            inFlight.incrementAndGet();
+            totalQueueNanos.addAndGet(queueNanos);
+            maxQueueNanos.accumulateAndGet(queueNanos, Math::max);
+            return new Permit(this);
+        }
+
+        private void release() {
+            inFlight.decrementAndGet();
+            if (null != inFlightPermits) {
+                inFlightPermits.release();
+            }
+        }
+
+        private void pauseFor(long pauseMillis) {
+            throttledResponses.incrementAndGet();
+            pausedUntilNanos.accumulateAndGet(nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(pauseMillis), Math::max);
+        }
+
+        private void waitForRetryAfter() throws InterruptedException {
+            long waitNanos = pausedUntilNanos.get() - nanoClock.getAsLong();
+            while (waitNanos > 0) {
+                sleeper.sleep(waitNanos);
+                waitNanos = pausedUntilNanos.get() - nanoClock.getAsLong();
+            }
+        }
+
+        private void waitForToken() throws InterruptedException {
+            if (!rateLimit.isRateLimited()) {
+                return;
+            }
+
+            long waitNanos;
+            synchronized (this) {
+                long nowNanos = nanoClock.getAsLong();
+                double refilledTokens = (nowNanos - lastRefillNanos) / 1e9 * rateLimit.getRequestsPerSecond();
+                availableTokens = Math.min(rateLimit.getBurstSize(), availableTokens + refilledTokens);
+                lastRefillNanos = nowNanos;
+
+                // Reserve the token now and wait for it outside the lock, so that waiting requests queue up in order
+                availableTokens -= 1.0;
+                waitNanos = availableTokens >= 0.0 ? 0L : (long) (-availableTokens / rateLimit.getRequestsPerSecond() * 1e9);
+            }
+            if (waitNanos > 0) {
+                sleeper.sleep(waitNanos);
+            }
+        }
+
+        private PolarisRequestGovernorStats getStats() {
+            return new PolarisRequestGovernorStats(serverKey, endpointFamily, requests.get(), throttledResponses.get(), TimeUnit.NANOSECONDS.toMillis(totalQueueNanos.get()), TimeUnit.NANOSECONDS.toMillis(maxQueueNanos.get()),
+                (int) inFlight.get());
+        }
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+
+    }
+
+}
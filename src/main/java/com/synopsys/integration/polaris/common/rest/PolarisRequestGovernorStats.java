@@ -0,0 +1,63 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.rest;
+
+import com.synopsys.integration.util.Stringable;
+
+public class PolarisRequestGovernorStats extends Stringable {
+    private final String serverUrl;
+    private final PolarisEndpointFamily endpointFamily;
+    private final long requests;
+    private final long throttledResponses;
+    private final long totalQueueMillis;
+    private final long maxQueueMillis;
+    private final int inFlight;
+
+    public PolarisRequestGovernorStats(String serverUrl, PolarisEndpointFamily endpointFamily, long requests, long throttledResponses, long totalQueueMillis, long maxQueueMillis, int inFlight) {
+        this.serverUrl = serverUrl;
+        this.endpointFamily = endpointFamily;
+        this.requests = requests;
+        this.throttledResponses = throttledResponses;
+        this.totalQueueMillis = totalQueueMillis;
+        this.maxQueueMillis = maxQueueMillis;
+        this.inFlight = inFlight;
+    }
+
+    public double getAverageQueueMillis() {
+        return requests == 0 ? 0.0 : (double) totalQueueMillis / requests;
+    }
+
+    public String getServerUrl() {
+        return serverUrl;
+    }
+
+    public PolarisEndpointFamily getEndpointFamily() {
+        return endpointFamily;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getThrottledResponses() {
+        return throttledResponses;
+    }
+
+    public long getTotalQueueMillis() {
+        return totalQueueMillis;
+    }
+
+    public long getMaxQueueMillis() {
+        return maxQueueMillis;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+}
@@ -0,0 +1,20 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+
+package com.synopsys.integration.polaris.common.rest;
+
+/**
+ * Implemented by the responses of governed requests, since the execute call that returns them also spends time waiting for the request governor.
+ */
+public interface PolarisTimedResponse {
+    /**
+     * @return the nanoseconds from sending the request to receiving the response headers, leaving out the wait for the request governor
+     */
+    long getExchangeNanos();
+
+}
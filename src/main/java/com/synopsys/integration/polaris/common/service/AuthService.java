@@ -7,14 +7,17 @@
  */
 package com.synopsys.integration.polaris.common.service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.function.Function;
 
 import com.synopsys.integration.exception.IntegrationException;
@@ -62,6 +65,23 @@ public class AuthService {
         return polarisService.getAllResponses(pagedRequestWrapper);
     }
 
+    /**
+     * @param fields the attributes and relationships the resources of the spec's type should come back with, or none for whole resources
+     */
+    public <R extends PolarisResource, S extends PolarisResources<R>> List<R> getFiltered(final PolarisRequestSpec polarisRequestSpec, final Collection<PolarisParamBuilder> paramBuilders, final Collection<String> fields,
+        final Class<S> resourcesType) throws IntegrationException {
+        if (null == fields || fields.isEmpty()) {
+            return getFiltered(polarisRequestSpec, paramBuilders, resourcesType);
+        }
+
+        final List<PolarisParamBuilder> paramBuildersWithFields = new ArrayList<>();
+        if (null != paramBuilders) {
+            paramBuildersWithFields.addAll(paramBuilders);
+        }
+        paramBuildersWithFields.add(PolarisParamBuilder.createFieldsParam(polarisRequestSpec.getType(), fields));
+        return getFiltered(polarisRequestSpec, paramBuildersWithFields, resourcesType);
+    }
+
     public <R extends PolarisResource, S extends PolarisResourcesSingle<R>, T> Optional<T> getAttributeFromRelationship(final PolarisRelationshipLinks relationshipLinks, final Function<R, T> extractAttribute, final Class<S> resourcesType)
         throws IntegrationException {
         final String uri = relationshipLinks.getRelated();
@@ -71,6 +91,26 @@ public class AuthService {
         return response.getData().map(extractAttribute);
     }
 
+    /**
+     * Follows many relationships at once. The related resources are requested concurrently when the PolarisService has a concurrent request executor, and the results keep the order of the given map.
+     */
+    public <K, R extends PolarisResource, S extends PolarisResourcesSingle<R>, T> Map<K, Optional<T>> getAttributesFromRelationships(final Map<K, PolarisRelationshipLinks> relationshipLinksByKey, final Function<R, T> extractAttribute,
+        final Class<S> resourcesType) throws IntegrationException {
+        final List<K> keys = new ArrayList<>(relationshipLinksByKey.keySet());
+        final List<Callable<Optional<T>>> lookups = new ArrayList<>(keys.size());
+        for (final K key : keys) {
+            final PolarisRelationshipLinks relationshipLinks = relationshipLinksByKey.get(key);
+            lookups.add(() -> getAttributeFromRelationship(relationshipLinks, extractAttribute, resourcesType));
+        }
+
+        final List<Optional<T>> attributes = polarisService.executeConcurrently(lookups);
+        final Map<K, Optional<T>> attributesByKey = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            attributesByKey.put(keys.get(i), attributes.get(i));
+        }
+        return attributesByKey;
+    }
+
     public PolarisPagedRequestCreator generatePagedRequestCreatorWithInclude(final PolarisRequestSpec polarisRequestSpec, final String... included) throws IntegrationException {
         return generatePagedRequestCreatorWithInclude(polarisRequestSpec, Arrays.asList(), included);
     }
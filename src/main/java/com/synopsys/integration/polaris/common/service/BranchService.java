@@ -7,8 +7,11 @@
  */
 package com.synopsys.integration.polaris.common.service;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.google.gson.reflect.TypeToken;
 import com.synopsys.integration.exception.IntegrationException;
@@ -24,6 +27,8 @@ import com.synopsys.integration.rest.request.Request;
 import com.synopsys.integration.rest.support.UrlSupport;
 
 public class BranchService {
+    public static final String BRANCH_TYPE = "branch";
+
     private static final TypeToken BRANCH_RESOURCES = new TypeToken<BranchV0Resources>() {};
 
     private final AccessTokenPolarisHttpClient polarisHttpClient;
@@ -35,22 +40,45 @@ public class BranchService {
     }
 
     public List<BranchV0Resource> getBranchesForProject(final String projectId) throws IntegrationException {
-        final PolarisPagedRequestCreator createPagedRequest = (limit, offset) -> createBranchesGetRequest(limit, offset, projectId);
+        return getBranchesForProject(projectId, Collections.emptyList());
+    }
+
+    /**
+     * @param branchFields the attributes and relationships each branch should come back with, or none for whole branches
+     */
+    public List<BranchV0Resource> getBranchesForProject(final String projectId, final Collection<String> branchFields) throws IntegrationException {
+        final PolarisPagedRequestCreator createPagedRequest = (limit, offset) -> createBranchesGetRequest(limit, offset, projectId, branchFields);
         final PolarisPagedRequestWrapper pagedRequestWrapper = new PolarisPagedRequestWrapper(createPagedRequest, BRANCH_RESOURCES.getType());
         return polarisService.getAllResponses(pagedRequestWrapper);
     }
 
+    public Stream<BranchV0Resource> streamBranchesForProject(final String projectId) {
+        final PolarisPagedRequestCreator createPagedRequest = (limit, offset) -> createBranchesGetRequest(limit, offset, projectId);
+        final PolarisPagedRequestWrapper pagedRequestWrapper = new PolarisPagedRequestWrapper(createPagedRequest, BRANCH_RESOURCES.getType());
+        return polarisService.streamAllResponses(pagedRequestWrapper);
+    }
+
     public Optional<BranchV0Resource> getBranchForProjectByName(final String projectId, final String branchName) throws IntegrationException {
+        return getBranchForProjectByName(projectId, branchName, Collections.emptyList());
+    }
+
+    public Optional<BranchV0Resource> getBranchForProjectByName(final String projectId, final String branchName, final Collection<String> branchFields) throws IntegrationException {
         final Request.Builder requestBuilder = createBranchForProjectIdRequestBuilder(projectId);
         requestBuilder.addQueryParameter(FilterConstants.FILTER_BRANCH_NAME_CONTAINS, branchName);
+        PolarisRequestFactory.populateFieldsRequestBuilder(requestBuilder, BRANCH_TYPE, branchFields);
         final Request request = requestBuilder.build();
 
         return polarisService.getFirstResponse(request, BRANCH_RESOURCES.getType());
     }
 
     public Request createBranchesGetRequest(final int limit, final int offset, final String projectId) {
+        return createBranchesGetRequest(limit, offset, projectId, Collections.emptyList());
+    }
+
+    public Request createBranchesGetRequest(final int limit, final int offset, final String projectId, final Collection<String> branchFields) {
         final Request.Builder requestBuilder = createBranchForProjectIdRequestBuilder(projectId);
         PolarisRequestFactory.populatePagedRequestBuilder(requestBuilder, limit, offset);
+        PolarisRequestFactory.populateFieldsRequestBuilder(requestBuilder, BRANCH_TYPE, branchFields);
         return requestBuilder.build();
     }
 
@@ -0,0 +1,51 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.api.common.model.branch.BranchV0Resource;
+import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+
+/**
+ * A BranchService that remembers which branch a project id and branch name resolved to. Lookups that did not find a branch are not remembered, since the branch may be created at any moment.
+ */
+public class CachingBranchService extends BranchService {
+    private final PolarisResolutionCache<List<String>, Optional<BranchV0Resource>> branchesByProjectAndName;
+
+    public CachingBranchService(final AccessTokenPolarisHttpClient polarisHttpClient, final PolarisService polarisService, final PolarisResolutionCache<List<String>, Optional<BranchV0Resource>> branchesByProjectAndName) {
+        super(polarisHttpClient, polarisService);
+        this.branchesByProjectAndName = branchesByProjectAndName;
+    }
+
+    @Override
+    public Optional<BranchV0Resource> getBranchForProjectByName(final String projectId, final String branchName) throws IntegrationException {
+        final List<String> key = createKey(projectId, branchName);
+        final Optional<BranchV0Resource> branch = branchesByProjectAndName.get(key, () -> super.getBranchForProjectByName(projectId, branchName));
+        if (!branch.isPresent()) {
+            branchesByProjectAndName.invalidate(key);
+        }
+        return branch;
+    }
+
+    public void invalidateBranch(final String projectId, final String branchName) {
+        branchesByProjectAndName.invalidate(createKey(projectId, branchName));
+    }
+
+    public PolarisResolutionCache<List<String>, Optional<BranchV0Resource>> getBranchesByProjectAndName() {
+        return branchesByProjectAndName;
+    }
+
+    private List<String> createKey(final String projectId, final String branchName) {
+        return Arrays.asList(projectId, branchName);
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.util.Optional;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resource;
+import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+
+/**
+ * A ProjectService that remembers which project a name resolved to. Names that did not resolve to a project are not remembered, since the project may be created at any moment.
+ */
+public class CachingProjectService extends ProjectService {
+    private final PolarisResolutionCache<String, Optional<ProjectV0Resource>> projectsByName;
+
+    public CachingProjectService(final AccessTokenPolarisHttpClient polarisHttpClient, final PolarisService polarisService, final PolarisResolutionCache<String, Optional<ProjectV0Resource>> projectsByName) {
+        super(polarisHttpClient, polarisService);
+        this.projectsByName = projectsByName;
+    }
+
+    @Override
+    public Optional<ProjectV0Resource> getProjectByName(final String projectName) throws IntegrationException {
+        final Optional<ProjectV0Resource> project = projectsByName.get(projectName, () -> super.getProjectByName(projectName));
+        if (!project.isPresent()) {
+            projectsByName.invalidate(projectName);
+        }
+        return project;
+    }
+
+    public void invalidateProject(final String projectName) {
+        projectsByName.invalidate(projectName);
+    }
+
+    public PolarisResolutionCache<String, Optional<ProjectV0Resource>> getProjectsByName() {
+        return projectsByName;
+    }
+
+}
@@ -7,13 +7,25 @@
  */
 package com.synopsys.integration.polaris.common.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
 
 import com.google.gson.reflect.TypeToken;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.polaris.common.api.PolarisRelationshipSingle;
 import com.synopsys.integration.polaris.common.api.PolarisResourceSparse;
+import com.synopsys.integration.polaris.common.api.query.model.issue.IssueV0Attributes;
 import com.synopsys.integration.polaris.common.api.query.model.issue.IssueV0Relationships;
 import com.synopsys.integration.polaris.common.api.query.model.issue.IssueV0Resource;
 import com.synopsys.integration.polaris.common.api.query.model.issue.IssueV0Resources;
@@ -22,11 +34,21 @@ import com.synopsys.integration.polaris.common.model.IssueResourcesSingle;
 import com.synopsys.integration.polaris.common.request.PolarisPagedRequestCreator;
 import com.synopsys.integration.polaris.common.request.PolarisPagedRequestWrapper;
 import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
+import com.synopsys.integration.polaris.common.request.param.ParamOperator;
+import com.synopsys.integration.polaris.common.request.param.ParamType;
+import com.synopsys.integration.polaris.common.request.param.PolarisParamBuilder;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
 import com.synopsys.integration.rest.HttpUrl;
 import com.synopsys.integration.rest.request.Request;
 
 public class IssueService {
+    public static final String ISSUE_TYPE = "issue";
+    public static final String INCLUDE_ISSUE_TYPE = "issue-type";
+    public static final String INCLUDE_PATH = "path";
+    public static final int MAX_ISSUE_KEYS_PER_REQUEST = 100;
+    // Keeps the encoded request line well under the 8k limit most servers and proxies enforce
+    public static final int MAX_ISSUE_KEY_FILTER_LENGTH = 2000;
+
     private static final TypeToken ISSUE_RESOURCES = new TypeToken<IssueV0Resources>() {};
     private static final TypeToken SINGLE_ISSUE_RESOURCES = new TypeToken<IssueResourcesSingle>() {};
 
@@ -39,11 +61,24 @@ public class IssueService {
     }
 
     public List<IssueV0Resource> getIssuesForProjectAndBranch(final String projectId, final String branchId) throws IntegrationException {
-        final PolarisPagedRequestCreator createPagedRequest = (limit, offset) -> createIssuesGetRequest(limit, offset, projectId, branchId);
+        return getIssuesForProjectAndBranch(projectId, branchId, Collections.emptyList());
+    }
+
+    /**
+     * @param issueFields the attributes and relationships each issue should come back with, such as "issue-key" and "finding-key", or none for whole issues
+     */
+    public List<IssueV0Resource> getIssuesForProjectAndBranch(final String projectId, final String branchId, final Collection<String> issueFields) throws IntegrationException {
+        final PolarisPagedRequestCreator createPagedRequest = (limit, offset) -> createIssuesGetRequest(limit, offset, projectId, branchId, issueFields);
         final PolarisPagedRequestWrapper pagedRequestWrapper = new PolarisPagedRequestWrapper(createPagedRequest, ISSUE_RESOURCES.getType());
         return polarisService.getAllResponses(pagedRequestWrapper);
     }
 
+    public Stream<IssueV0Resource> streamIssuesForProjectAndBranch(final String projectId, final String branchId) {
+        final PolarisPagedRequestCreator createPagedRequest = (limit, offset) -> createIssuesGetRequest(limit, offset, projectId, branchId);
+        final PolarisPagedRequestWrapper pagedRequestWrapper = new PolarisPagedRequestWrapper(createPagedRequest, ISSUE_RESOURCES.getType());
+        return polarisService.streamAllResponses(pagedRequestWrapper);
+    }
+
     public IssueResourcesSingle getIssueForProjectBranchAndIssueKeyWithDefaultIncluded(final String projectId, final String branchId, final String issueKey) throws IntegrationException {
         final HttpUrl url = polarisHttpClient.appendToPolarisUrl(PolarisService.GET_ISSUE_API_SPEC(issueKey));
         final Request.Builder requestBuilder = createRequestBuilder(url, projectId, branchId);
@@ -51,6 +86,33 @@ public class IssueService {
         return polarisService.get(SINGLE_ISSUE_RESOURCES.getType(), request);
     }
 
+    /**
+     * Fetches the issues for the given keys together with their issue type and path, replacing one getIssueForProjectBranchAndIssueKeyWithDefaultIncluded call per key. The keys are split into one-of filtered requests small enough for a url, which run concurrently when the PolarisService allows it.
+     * @return the populated issue for each key that was found, keyed by issue key
+     */
+    public Map<String, IssueResourcesSingle> getIssuesForProjectBranchAndIssueKeysWithDefaultIncluded(final String projectId, final String branchId, final Collection<String> issueKeys) throws IntegrationException {
+        final List<Callable<IssueV0Resources>> issueKeyRequests = new ArrayList<>();
+        for (final List<String> issueKeyChunk : chunkIssueKeys(issueKeys)) {
+            issueKeyRequests.add(() -> getPopulatedIssuesForIssueKeys(projectId, branchId, issueKeyChunk));
+        }
+
+        final Map<String, IssueResourcesSingle> issuesByKey = new LinkedHashMap<>();
+        for (final IssueV0Resources populatedIssues : polarisService.executeConcurrently(issueKeyRequests)) {
+            if (null == populatedIssues || null == populatedIssues.getData()) {
+                continue;
+            }
+            final PolarisIncludedResourceIndex includedResourceIndex = polarisService.getIncludedResourceIndex(populatedIssues);
+            for (final IssueV0Resource issue : populatedIssues.getData()) {
+                final Optional<String> issueKey = Optional.ofNullable(issue.getAttributes()).map(IssueV0Attributes::getIssueKey);
+                if (issueKey.isPresent()) {
+                    final IssueResourcesSingle issueResources = polarisService.getSingleResourceResponse(issue, includedResourceIndex, SINGLE_ISSUE_RESOURCES.getType());
+                    issuesByKey.putIfAbsent(issueKey.get(), issueResources);
+                }
+            }
+        }
+        return issuesByKey;
+    }
+
     public Optional<IssueTypeV0Resource> getIssueTypeFromPopulatedIssueResources(final IssueResourcesSingle issueResources) {
         final Optional<PolarisResourceSparse> optionalIssueTypeData = issueResources.getData()
                                                                           .map(IssueV0Resource::getRelationships)
@@ -63,12 +125,68 @@ public class IssueService {
     }
 
     public Request createIssuesGetRequest(final int limit, final int offset, final String projectId, final String branchId) {
+        return createIssuesGetRequest(limit, offset, projectId, branchId, Collections.emptyList());
+    }
+
+    public Request createIssuesGetRequest(final int limit, final int offset, final String projectId, final String branchId, final Collection<String> issueFields) {
         final HttpUrl url = polarisHttpClient.appendToPolarisUrl(PolarisService.ISSUES_API_SPEC);
         final Request.Builder requestBuilder = createRequestBuilder(url, projectId, branchId);
         PolarisRequestFactory.populatePagedRequestBuilder(requestBuilder, limit, offset);
+        PolarisRequestFactory.populateFieldsRequestBuilder(requestBuilder, ISSUE_TYPE, issueFields);
         return requestBuilder.build();
     }
 
+    private IssueV0Resources getPopulatedIssuesForIssueKeys(final String projectId, final String branchId, final List<String> issueKeys) throws IntegrationException {
+        final PolarisParamBuilder issueKeyFilter = new PolarisParamBuilder()
+                                                       .setValue(StringUtils.join(issueKeys, ","))
+                                                       .setParamType(ParamType.FILTER)
+                                                       .setOperator(ParamOperator.OPERATOR_ONE_OF)
+                                                       .addAdditionalProp(ISSUE_TYPE)
+                                                       .addAdditionalProp("issue-key")
+                                                       .setCaseSensitive(true);
+        final List<PolarisParamBuilder> paramBuilders = Arrays.asList(
+            issueKeyFilter,
+            PolarisParamBuilder.createIncludeFilter(ISSUE_TYPE, INCLUDE_ISSUE_TYPE),
+            PolarisParamBuilder.createIncludeFilter(ISSUE_TYPE, INCLUDE_PATH)
+        );
+
+        final PolarisPagedRequestCreator createPagedRequest = (limit, offset) -> {
+            final HttpUrl url = polarisHttpClient.appendToPolarisUrl(PolarisService.ISSUES_API_SPEC);
+            final Request.Builder requestBuilder = createRequestBuilder(url, projectId, branchId);
+            PolarisRequestFactory.populatePagedRequestBuilder(requestBuilder, limit, offset);
+            for (final PolarisParamBuilder paramBuilder : paramBuilders) {
+                final Map.Entry<String, String> param = paramBuilder.build();
+                requestBuilder.addQueryParameter(param.getKey(), param.getValue());
+            }
+            return requestBuilder.build();
+        };
+        final PolarisPagedRequestWrapper pagedRequestWrapper = new PolarisPagedRequestWrapper(createPagedRequest, ISSUE_RESOURCES.getType());
+        return polarisService.getPopulatedResponse(pagedRequestWrapper, issueKeys.size());
+    }
+
+    private List<List<String>> chunkIssueKeys(final Collection<String> issueKeys) {
+        final List<List<String>> chunks = new ArrayList<>();
+        List<String> currentChunk = new ArrayList<>();
+        int currentChunkLength = 0;
+        for (final String issueKey : new LinkedHashSet<>(issueKeys)) {
+            if (StringUtils.isBlank(issueKey)) {
+                continue;
+            }
+            final int issueKeyLength = issueKey.length() + 1;
+            if (!currentChunk.isEmpty() && (currentChunk.size() >= MAX_ISSUE_KEYS_PER_REQUEST || currentChunkLength + issueKeyLength > MAX_ISSUE_KEY_FILTER_LENGTH)) {
+                chunks.add(currentChunk);
+                currentChunk = new ArrayList<>();
+                currentChunkLength = 0;
+            }
+            currentChunk.add(issueKey);
+            currentChunkLength += issueKeyLength;
+        }
+        if (!currentChunk.isEmpty()) {
+            chunks.add(currentChunk);
+        }
+        return chunks;
+    }
+
     private Request.Builder createRequestBuilder(final HttpUrl url, final String projectId, final String branchId) {
         return PolarisRequestFactory.createDefaultRequestBuilder()
                    .addQueryParameter(PolarisService.PROJECT_ID, projectId)
@@ -0,0 +1,116 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.synopsys.integration.polaris.common.api.job.model.JobStatus;
+
+/**
+ * Decides how long to wait before polling a job again. While a job is waiting to run the delay grows exponentially up to maxQueuedDelayMillis; once it is running the delay shrinks in proportion to the progress still remaining, so the end of a job is noticed quickly without polling a long job every few seconds from its start.
+ */
+public class JobPollSchedule {
+    public static final long DEFAULT_INITIAL_DELAY_MILLIS = 1000L;
+    public static final long DEFAULT_MIN_DELAY_MILLIS = 1000L;
+    public static final long DEFAULT_MAX_QUEUED_DELAY_MILLIS = 30000L;
+    public static final long DEFAULT_MAX_RUNNING_DELAY_MILLIS = 15000L;
+    public static final double DEFAULT_BACKOFF_MULTIPLIER = 2.0;
+    public static final double DEFAULT_JITTER_RATIO = 0.2;
+
+    private static final int COMPLETE_PROGRESS = 100;
+
+    private final long initialDelayMillis;
+    private final long minDelayMillis;
+    private final long maxQueuedDelayMillis;
+    private final long maxRunningDelayMillis;
+    private final double backoffMultiplier;
+    private final double jitterRatio;
+
+    public static JobPollSchedule createDefault() {
+        return new JobPollSchedule(DEFAULT_INITIAL_DELAY_MILLIS, DEFAULT_MIN_DELAY_MILLIS, DEFAULT_MAX_QUEUED_DELAY_MILLIS, DEFAULT_MAX_RUNNING_DELAY_MILLIS, DEFAULT_BACKOFF_MULTIPLIER, DEFAULT_JITTER_RATIO);
+    }
+
+    /**
+     * Polls at the same interval whatever the job is doing, like WaitJob.
+     */
+    public static JobPollSchedule createFixed(long delayMillis) {
+        return new JobPollSchedule(delayMillis, delayMillis, delayMillis, delayMillis, 1.0, 0.0);
+    }
+
+    public JobPollSchedule(long initialDelayMillis, long minDelayMillis, long maxQueuedDelayMillis, long maxRunningDelayMillis, double backoffMultiplier, double jitterRatio) {
+        if (minDelayMillis <= 0 || initialDelayMillis < minDelayMillis || maxQueuedDelayMillis < minDelayMillis || maxRunningDelayMillis < minDelayMillis) {
+            throw new IllegalArgumentException("The poll delays must be positive and no delay may be less than the minimum delay.");
+        }
+        if (backoffMultiplier < 1.0 || jitterRatio < 0.0 || jitterRatio >= 1.0) {
+            throw new IllegalArgumentException("The backoff multiplier must be at least 1 and the jitter ratio must be in [0, 1).");
+        }
+        this.initialDelayMillis = initialDelayMillis;
+        this.minDelayMillis = minDelayMillis;
+        this.maxQueuedDelayMillis = maxQueuedDelayMillis;
+        this.maxRunningDelayMillis = maxRunningDelayMillis;
+        this.backoffMultiplier = backoffMultiplier;
+        this.jitterRatio = jitterRatio;
+    }
+
+    /**
+     * @param jobStatus the status seen by the latest poll, or null if it could not be determined
+     * @param previousDelayMillis the delay before the latest poll, or 0 if it was the first poll
+     */
+    public long getNextDelayMillis(JobStatus jobStatus, long previousDelayMillis) {
+        long delayMillis;
+        if (null != jobStatus && JobStatus.StateEnum.RUNNING.equals(jobStatus.getState()) && null != jobStatus.getProgress()) {
+            int remainingProgress = COMPLETE_PROGRESS - Math.max(0, Math.min(COMPLETE_PROGRESS, jobStatus.getProgress()));
+            delayMillis = maxRunningDelayMillis * remainingProgress / COMPLETE_PROGRESS;
+            delayMillis = clamp(delayMillis, maxRunningDelayMillis);
+        } else if (previousDelayMillis <= 0) {
+            delayMillis = initialDelayMillis;
+        } else {
+            delayMillis = clamp((long) (previousDelayMillis * backoffMultiplier), maxQueuedDelayMillis);
+        }
+
+        return addJitter(delayMillis);
+    }
+
+    public long getInitialDelayMillis() {
+        return initialDelayMillis;
+    }
+
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+
+    public long getMaxQueuedDelayMillis() {
+        return maxQueuedDelayMillis;
+    }
+
+    public long getMaxRunningDelayMillis() {
+        return maxRunningDelayMillis;
+    }
+
+    public double getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+
+    public double getJitterRatio() {
+        return jitterRatio;
+    }
+
+    private long clamp(long delayMillis, long maxDelayMillis) {
+        return Math.max(minDelayMillis, Math.min(maxDelayMillis, delayMillis));
+    }
+
+    private long addJitter(long delayMillis) {
+        if (jitterRatio <= 0.0) {
+            return delayMillis;
+        }
+        // Spread out the polls of jobs that were all started together
+        double jitter = ThreadLocalRandom.current().nextDouble(-jitterRatio, jitterRatio);
+        return Math.max(minDelayMillis, Math.round(delayMillis * (1.0 + jitter)));
+    }
+
+}
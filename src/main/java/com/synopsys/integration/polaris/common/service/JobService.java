@@ -8,6 +8,8 @@
 package com.synopsys.integration.polaris.common.service;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import com.synopsys.integration.rest.HttpUrl;
 import org.apache.commons.lang3.StringUtils;
@@ -24,6 +26,7 @@ import com.synopsys.integration.polaris.common.api.job.model.JobStatus;
 import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
 import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.polaris.common.rest.PolarisInstrumentation;
 import com.synopsys.integration.rest.request.Request;
 import com.synopsys.integration.wait.WaitJob;
 
@@ -32,16 +35,25 @@ public class JobService {
     public static final int DEFAULT_WAIT_INTERVAL = 5;
 
     private static final String JOB_SERVICE_API_SPEC = "/api/jobs";
-    private static final String JOBS_API_SPEC = JOB_SERVICE_API_SPEC + "/jobs";
+    static final String JOBS_API_SPEC = JOB_SERVICE_API_SPEC + "/jobs";
     private static final TypeToken<JobResource> JOB_RESOURCE = new TypeToken<JobResource>() {};
     private final IntLogger logger;
     private final AccessTokenPolarisHttpClient polarisHttpClient;
     private final PolarisService polarisService;
+    private final JobPollSchedule jobPollSchedule;
 
     public JobService(AccessTokenPolarisHttpClient polarisHttpClient, PolarisService polarisService) {
+        this(polarisHttpClient, polarisService, null);
+    }
+
+    /**
+     * @param jobPollSchedule when not null, the waits that are not given a wait interval poll on this schedule. Otherwise they poll every DEFAULT_WAIT_INTERVAL seconds.
+     */
+    public JobService(AccessTokenPolarisHttpClient polarisHttpClient, PolarisService polarisService, JobPollSchedule jobPollSchedule) {
         this.logger = polarisHttpClient.getLogger();
         this.polarisHttpClient = polarisHttpClient;
         this.polarisService = polarisService;
+        this.jobPollSchedule = jobPollSchedule;
     }
 
     public JobResource getJobById(String jobId) throws IntegrationException {
@@ -55,7 +67,8 @@ public class JobService {
     }
 
     public void waitForJobStateIsCompletedOrDieById(String jobId) throws IntegrationException, InterruptedException {
-        waitForJobStateIsCompletedOrDieById(jobId, polarisHttpClient.getTimeoutInSeconds(), DEFAULT_WAIT_INTERVAL);
+        HttpUrl url = polarisHttpClient.appendToPolarisUrl(JOBS_API_SPEC + "/" + jobId);
+        waitForJobStateIsCompletedOrDieByUrl(url);
     }
 
     public void waitForJobStateIsCompletedOrDieById(String jobId, long timeoutInSeconds, int waitIntervalInSeconds) throws IntegrationException, InterruptedException {
@@ -64,19 +77,92 @@ public class JobService {
     }
 
     public void waitForJobStateIsCompletedOrDieByUrl(HttpUrl jobApiUrl) throws IntegrationException, InterruptedException {
-        waitForJobStateIsCompletedOrDieByUrl(jobApiUrl, polarisHttpClient.getTimeoutInSeconds(), DEFAULT_WAIT_INTERVAL);
+        if (null == jobPollSchedule) {
+            waitForJobStateIsCompletedOrDieByUrl(jobApiUrl, polarisHttpClient.getTimeoutInSeconds(), DEFAULT_WAIT_INTERVAL);
+        } else {
+            waitForJobStateIsCompletedOrDieByUrl(jobApiUrl, polarisHttpClient.getTimeoutInSeconds(), jobPollSchedule);
+        }
     }
 
     public void waitForJobStateIsCompletedOrDieByUrl(HttpUrl jobApiUrl, long timeoutInSeconds, int waitIntervalInSeconds) throws IntegrationException, InterruptedException {
+        PolarisInstrumentation.Span span = polarisService.getInstrumentation().startSpan(PolarisInstrumentation.WAIT_FOR_JOB_SPAN, jobApiUrl);
+        try {
+            waitAtFixedInterval(jobApiUrl, timeoutInSeconds, waitIntervalInSeconds);
+            span.end(null);
+        } catch (IntegrationException | InterruptedException | RuntimeException e) {
+            span.end(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Polls the job on the given schedule rather than at a fixed interval, and reports how many polls and how much waiting it took for the job to end.
+     */
+    public JobWaitResult waitForJobStateIsCompletedOrDieByUrl(HttpUrl jobApiUrl, long timeoutInSeconds, JobPollSchedule pollSchedule) throws IntegrationException, InterruptedException {
+        PolarisInstrumentation.Span span = polarisService.getInstrumentation().startSpan(PolarisInstrumentation.WAIT_FOR_JOB_SPAN, jobApiUrl);
+        try {
+            JobWaitResult jobWaitResult = waitOnSchedule(jobApiUrl, timeoutInSeconds, pollSchedule);
+            span.setAttribute(PolarisInstrumentation.POLL_COUNT_ATTRIBUTE, jobWaitResult.getPollCount());
+            span.setAttribute(PolarisInstrumentation.WAIT_MILLIS_ATTRIBUTE, jobWaitResult.getTotalWaitMillis());
+            span.end(null);
+            return jobWaitResult;
+        } catch (IntegrationException | InterruptedException | RuntimeException e) {
+            span.end(e);
+            throw e;
+        }
+    }
+
+    public Optional<JobPollSchedule> getJobPollSchedule() {
+        return Optional.ofNullable(jobPollSchedule);
+    }
+
+    private void waitAtFixedInterval(HttpUrl jobApiUrl, long timeoutInSeconds, int waitIntervalInSeconds) throws IntegrationException, InterruptedException {
         WaitJob waitJob = WaitJob.createUsingSystemTimeWhenInvoked(logger, timeoutInSeconds, waitIntervalInSeconds, () -> hasJobEnded(jobApiUrl));
         if (!waitJob.waitFor()) {
-            String maximumDurationString = DurationFormatUtils.formatDurationHMS(timeoutInSeconds * 1000);
-            throw new PolarisIntegrationException(String.format("Job at url %s did not end in the provided timeout of %s", jobApiUrl, maximumDurationString));
+            throw createJobTimeoutException(jobApiUrl, timeoutInSeconds);
         }
 
+        validateJobCompleted(jobApiUrl, this.getJobByUrl(jobApiUrl));
+    }
+
+    private JobWaitResult waitOnSchedule(HttpUrl jobApiUrl, long timeoutInSeconds, JobPollSchedule pollSchedule) throws IntegrationException, InterruptedException {
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + timeoutInSeconds * 1000;
+        AtomicReference<JobStatus> runningJobStatus = new AtomicReference<>();
+        int pollCount = 0;
+        long delayMillis = 0;
+        long totalWaitMillis = 0;
+
+        while (true) {
+            pollCount++;
+            runningJobStatus.set(null);
+            if (hasJobEnded(jobApiUrl, runningJobStatus::set)) {
+                break;
+            }
+
+            delayMillis = pollSchedule.getNextDelayMillis(runningJobStatus.get(), delayMillis);
+            long remainingMillis = deadline - System.currentTimeMillis();
+            if (remainingMillis <= 0) {
+                logger.info(String.format("Job at url %s did not end after %d polls and %s of waiting.", jobApiUrl, pollCount, DurationFormatUtils.formatDurationHMS(totalWaitMillis)));
+                throw createJobTimeoutException(jobApiUrl, timeoutInSeconds);
+            }
+            delayMillis = Math.min(delayMillis, remainingMillis);
+            Thread.sleep(delayMillis);
+            totalWaitMillis += delayMillis;
+        }
+
+        logger.info(String.format("Job at url %s ended after %d polls and %s of waiting.", jobApiUrl, pollCount, DurationFormatUtils.formatDurationHMS(totalWaitMillis)));
         JobResource jobResource = this.getJobByUrl(jobApiUrl);
-        JobStatus.StateEnum jobState = Optional.ofNullable(jobResource)
-                                                 .map(JobResource::getData)
+        validateJobCompleted(jobApiUrl, jobResource);
+        return new JobWaitResult(jobApiUrl, jobResource, pollCount, totalWaitMillis);
+    }
+
+    void validateJobCompleted(HttpUrl jobApiUrl, JobResource jobResource) throws PolarisIntegrationException {
+        validateJobCompleted(jobApiUrl, Optional.ofNullable(jobResource).map(JobResource::getData).orElse(null));
+    }
+
+    void validateJobCompleted(HttpUrl jobApiUrl, Job job) throws PolarisIntegrationException {
+        JobStatus.StateEnum jobState = Optional.ofNullable(job)
                                                  .map(Job::getAttributes)
                                                  .map(JobAttributes::getStatus)
                                                  .map(JobStatus::getState)
@@ -87,7 +173,7 @@ public class JobService {
             errorMessageBuilder.append(String.format("Job at url %s ended with state %s instead of %s", jobApiUrl, jobState, JobStatus.StateEnum.COMPLETED));
             if (JobStatus.StateEnum.FAILED.equals(jobState)) {
                 // Niether Data nor Attributes can be null because they were validated above -- rotte MAR 2020
-                FailureInfo failureInfo = jobResource.getData().getAttributes().getFailureInfo();
+                FailureInfo failureInfo = job.getAttributes().getFailureInfo();
                 if (failureInfo != null && StringUtils.isNotBlank(failureInfo.getUserFriendlyFailureReason())) {
                     errorMessageBuilder.append(String.format(" because: %s", failureInfo.getUserFriendlyFailureReason()));
                 }
@@ -98,7 +184,20 @@ public class JobService {
         }
     }
 
+    PolarisIntegrationException createJobTimeoutException(HttpUrl jobApiUrl, long timeoutInSeconds) {
+        String maximumDurationString = DurationFormatUtils.formatDurationHMS(timeoutInSeconds * 1000);
+        return new PolarisIntegrationException(String.format("Job at url %s did not end in the provided timeout of %s", jobApiUrl, maximumDurationString));
+    }
+
+    static boolean isJobUnfinished(JobStatus.StateEnum stateEnum) {
+        return JobStatus.StateEnum.QUEUED.equals(stateEnum) || JobStatus.StateEnum.RUNNING.equals(stateEnum) || JobStatus.StateEnum.DISPATCHED.equals(stateEnum);
+    }
+
     private boolean hasJobEnded(HttpUrl jobApiUrl) throws IntegrationException {
+        return hasJobEnded(jobApiUrl, jobStatus -> {});
+    }
+
+    private boolean hasJobEnded(HttpUrl jobApiUrl, Consumer<JobStatus> unfinishedJobStatusConsumer) throws IntegrationException {
         String jobStatusPrefix = "Job at url " + jobApiUrl;
 
         try {
@@ -114,8 +213,9 @@ public class JobService {
 
             JobStatus jobStatus = optionalJobStatus.get();
             JobStatus.StateEnum stateEnum = jobStatus.getState();
-            if (JobStatus.StateEnum.QUEUED.equals(stateEnum) || JobStatus.StateEnum.RUNNING.equals(stateEnum) || JobStatus.StateEnum.DISPATCHED.equals(stateEnum)) {
+            if (isJobUnfinished(stateEnum)) {
                 logger.info(jobStatusPrefix + " was found with status " + stateEnum.toString() + ". Progress: " + jobStatus.getProgress());
+                unfinishedJobStatusConsumer.accept(jobStatus);
                 return false;
             }
 
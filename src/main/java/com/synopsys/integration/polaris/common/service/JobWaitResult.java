@@ -0,0 +1,43 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import com.synopsys.integration.polaris.common.api.job.model.JobResource;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.util.Stringable;
+
+public class JobWaitResult extends Stringable {
+    private final HttpUrl jobApiUrl;
+    private final JobResource jobResource;
+    private final int pollCount;
+    private final long totalWaitMillis;
+
+    public JobWaitResult(HttpUrl jobApiUrl, JobResource jobResource, int pollCount, long totalWaitMillis) {
+        this.jobApiUrl = jobApiUrl;
+        this.jobResource = jobResource;
+        this.pollCount = pollCount;
+        this.totalWaitMillis = totalWaitMillis;
+    }
+
+    public HttpUrl getJobApiUrl() {
+        return jobApiUrl;
+    }
+
+    public JobResource getJobResource() {
+        return jobResource;
+    }
+
+    public int getPollCount() {
+        return pollCount;
+    }
+
+    public long getTotalWaitMillis() {
+        return totalWaitMillis;
+    }
+
+}
@@ -0,0 +1,364 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.DurationFormatUtils;
+
+import com.google.gson.reflect.TypeToken;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.polaris.common.api.job.model.Job;
+import com.synopsys.integration.polaris.common.api.job.model.JobAttributes;
+import com.synopsys.integration.polaris.common.api.job.model.JobResource;
+import com.synopsys.integration.polaris.common.api.job.model.JobStatus;
+import com.synopsys.integration.polaris.common.concurrent.PolarisExecutorStrategy;
+import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
+import com.synopsys.integration.polaris.common.model.JobResources;
+import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
+import com.synopsys.integration.polaris.common.request.param.ParamOperator;
+import com.synopsys.integration.polaris.common.request.param.ParamType;
+import com.synopsys.integration.polaris.common.request.param.PolarisParamBuilder;
+import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+import com.synopsys.integration.rest.request.Request;
+
+/**
+ * Waits on any number of jobs without blocking one thread per job. The polls are timed by the executor strategy's scheduler thread and run on its task executor, so every watcher sharing a strategy shares the same threads. Each job is polled on its own JobPollSchedule, and the jobs that are due at the same time are read with one one-of filtered request on /api/jobs/jobs, falling back to reading each job from its own url when the server does not support that.
+ */
+public class JobWatcher implements AutoCloseable {
+    public static final int MAX_JOB_IDS_PER_REQUEST = 50;
+
+    private static final String JOB_TYPE = "jobs";
+    private static final TypeToken<JobResources> JOB_RESOURCES = new TypeToken<JobResources>() {};
+
+    private final IntLogger logger;
+    private final AccessTokenPolarisHttpClient polarisHttpClient;
+    private final PolarisService polarisService;
+    private final JobService jobService;
+    private final JobPollSchedule jobPollSchedule;
+    private final ScheduledExecutorService scheduler;
+    private final Executor pollExecutor;
+    private final PolarisExecutorStrategy ownedExecutorStrategy;
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private final Map<String, WatchedJob> watchedJobs = new ConcurrentHashMap<>();
+    private final AtomicBoolean batchReadsSupported = new AtomicBoolean(true);
+    private ScheduledFuture<?> pollTask;
+    private boolean closed;
+
+    /**
+     * The watcher gets executors of its own, which are shut down when it is closed.
+     */
+    public JobWatcher(AccessTokenPolarisHttpClient polarisHttpClient, PolarisService polarisService, JobService jobService, JobPollSchedule jobPollSchedule) {
+        this(polarisHttpClient, polarisService, jobService, jobPollSchedule, PolarisExecutorStrategy.sequential(), true);
+    }
+
+    /**
+     * The executor strategy stays with the caller; closing the watcher leaves it running.
+     */
+    public JobWatcher(AccessTokenPolarisHttpClient polarisHttpClient, PolarisService polarisService, JobService jobService, JobPollSchedule jobPollSchedule, PolarisExecutorStrategy executorStrategy) {
+        this(polarisHttpClient, polarisService, jobService, jobPollSchedule, executorStrategy, false);
+    }
+
+    private JobWatcher(AccessTokenPolarisHttpClient polarisHttpClient, PolarisService polarisService, JobService jobService, JobPollSchedule jobPollSchedule, PolarisExecutorStrategy executorStrategy,
+        boolean ownsExecutorStrategy) {
+        this.logger = polarisHttpClient.getLogger();
+        this.polarisHttpClient = polarisHttpClient;
+        this.polarisService = polarisService;
+        this.jobService = jobService;
+        this.jobPollSchedule = jobPollSchedule;
+        this.scheduler = executorStrategy.getScheduler();
+        this.pollExecutor = executorStrategy.getTaskExecutor();
+        this.ownedExecutorStrategy = ownsExecutorStrategy ? executorStrategy : null;
+    }
+
+    public CompletableFuture<Job> register(HttpUrl jobApiUrl) {
+        return register(jobApiUrl, polarisHttpClient.getTimeoutInSeconds());
+    }
+
+    /**
+     * @return a future that completes with the job once it has COMPLETED, or completes exceptionally if the job ended in any other state, could not be read, or did not end within the timeout. Registering a url that is already being watched returns the existing future, and registering on a closed watcher returns a future that has already failed.
+     */
+    public synchronized CompletableFuture<Job> register(HttpUrl jobApiUrl, long timeoutInSeconds) {
+        if (closed) {
+            return createClosedFuture();
+        }
+        CompletableFuture<Job> jobFuture = watch(jobApiUrl, timeoutInSeconds);
+        startPolling();
+        return jobFuture;
+    }
+
+    public List<CompletableFuture<Job>> registerAll(List<HttpUrl> jobApiUrls) {
+        return registerAll(jobApiUrls, polarisHttpClient.getTimeoutInSeconds());
+    }
+
+    /**
+     * Registers all of the jobs before polling starts, so that their first polls can share requests.
+     */
+    public synchronized List<CompletableFuture<Job>> registerAll(List<HttpUrl> jobApiUrls, long timeoutInSeconds) {
+        List<CompletableFuture<Job>> jobFutures = new ArrayList<>(jobApiUrls.size());
+        for (HttpUrl jobApiUrl : jobApiUrls) {
+            jobFutures.add(closed ? createClosedFuture() : watch(jobApiUrl, timeoutInSeconds));
+        }
+        startPolling();
+        return jobFutures;
+    }
+
+    public int getWatchedJobCount() {
+        return watchedJobs.size();
+    }
+
+    public boolean isBatchReadsSupported() {
+        return batchReadsSupported.get();
+    }
+
+    /**
+     * Stops polling and cancels the futures of the jobs that have not ended yet. No jobs can be registered afterwards.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (null != pollTask) {
+                pollTask.cancel(false);
+                pollTask = null;
+            }
+        }
+        if (null != ownedExecutorStrategy) {
+            ownedExecutorStrategy.shutdown();
+        }
+        new ArrayList<>(watchedJobs.values()).forEach(watchedJob -> watchedJob.future.cancel(false));
+    }
+
+    private CompletableFuture<Job> watch(HttpUrl jobApiUrl, long timeoutInSeconds) {
+        String watchKey = jobApiUrl.toString();
+        WatchedJob watchedJob = new WatchedJob(jobApiUrl, extractJobId(jobApiUrl), timeoutInSeconds);
+        WatchedJob alreadyWatchedJob = watchedJobs.putIfAbsent(watchKey, watchedJob);
+        if (null != alreadyWatchedJob) {
+            return alreadyWatchedJob.future;
+        }
+
+        watchedJob.future.whenComplete((job, throwable) -> watchedJobs.remove(watchKey, watchedJob));
+        return watchedJob.future;
+    }
+
+    private CompletableFuture<Job> createClosedFuture() {
+        CompletableFuture<Job> closedFuture = new CompletableFuture<>();
+        closedFuture.completeExceptionally(new IllegalStateException("Jobs cannot be registered on a job watcher that has been closed."));
+        return closedFuture;
+    }
+
+    private synchronized void startPolling() {
+        if (null == pollTask && !closed) {
+            pollTask = scheduler.scheduleWithFixedDelay(this::startPollingDueJobs, 0, jobPollSchedule.getMinDelayMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void startPollingDueJobs() {
+        // the scheduler thread only keeps time, and a tick is skipped while the previous poll is still running
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            pollExecutor.execute(() -> {
+                try {
+                    pollDueJobs();
+                } finally {
+                    polling.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            polling.set(false);
+            logger.debug("Could not start polling Polaris jobs: " + e.getMessage());
+        }
+    }
+
+    private synchronized void stopPollingIfIdle() {
+        if (watchedJobs.isEmpty() && null != pollTask) {
+            pollTask.cancel(false);
+            pollTask = null;
+        }
+    }
+
+    private void pollDueJobs() {
+        try {
+            long now = System.currentTimeMillis();
+            List<WatchedJob> dueJobs = watchedJobs.values()
+                                           .stream()
+                                           .filter(watchedJob -> !watchedJob.future.isDone() && watchedJob.nextPollTime <= now)
+                                           .collect(Collectors.toList());
+            if (!dueJobs.isEmpty()) {
+                Map<String, Job> batchedJobs = readJobsInBatches(dueJobs);
+                List<Callable<Void>> pollTasks = new ArrayList<>();
+                for (WatchedJob dueJob : dueJobs) {
+                    pollTasks.add(() -> {
+                        pollJob(dueJob, batchedJobs.get(dueJob.jobId));
+                        return null;
+                    });
+                }
+                polarisService.executeConcurrently(pollTasks);
+            }
+        } catch (IntegrationException | RuntimeException e) {
+            // An exception escaping the scheduled task would stop all polling
+            logger.error("Unexpected problem while polling Polaris jobs: " + e.getMessage());
+        } finally {
+            stopPollingIfIdle();
+        }
+    }
+
+    private void pollJob(WatchedJob watchedJob, Job batchedJob) {
+        Job job = batchedJob;
+        try {
+            if (null == job) {
+                job = Optional.ofNullable(jobService.getJobByUrl(watchedJob.jobApiUrl)).map(JobResource::getData).orElse(null);
+            }
+        } catch (IntegrationException e) {
+            watchedJob.future.completeExceptionally(e);
+            return;
+        }
+
+        watchedJob.pollCount++;
+        long now = System.currentTimeMillis();
+        Optional<JobStatus> jobStatus = Optional.ofNullable(job).map(Job::getAttributes).map(JobAttributes::getStatus);
+        if (jobStatus.isPresent() && !JobService.isJobUnfinished(jobStatus.get().getState())) {
+            logger.info(String.format("Job at url %s ended after %d polls and %s of waiting.", watchedJob.jobApiUrl, watchedJob.pollCount, DurationFormatUtils.formatDurationHMS(now - watchedJob.registeredTime)));
+            try {
+                jobService.validateJobCompleted(watchedJob.jobApiUrl, job);
+                watchedJob.future.complete(job);
+            } catch (PolarisIntegrationException e) {
+                watchedJob.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        if (now >= watchedJob.deadline) {
+            watchedJob.future.completeExceptionally(jobService.createJobTimeoutException(watchedJob.jobApiUrl, watchedJob.timeoutInSeconds));
+            return;
+        }
+
+        watchedJob.delayMillis = jobPollSchedule.getNextDelayMillis(jobStatus.orElse(null), watchedJob.delayMillis);
+        watchedJob.nextPollTime = now + watchedJob.delayMillis;
+    }
+
+    private Map<String, Job> readJobsInBatches(List<WatchedJob> dueJobs) {
+        Set<String> jobIds = dueJobs.stream()
+                                 .map(watchedJob -> watchedJob.jobId)
+                                 .filter(StringUtils::isNotBlank)
+                                 .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!batchReadsSupported.get() || jobIds.size() < 2) {
+            // a single job is read from its own url
+            return Collections.emptyMap();
+        }
+
+        Map<String, Job> jobsById = new HashMap<>();
+        List<String> remainingJobIds = new ArrayList<>(jobIds);
+        while (!remainingJobIds.isEmpty()) {
+            List<String> jobIdChunk = remainingJobIds.subList(0, Math.min(MAX_JOB_IDS_PER_REQUEST, remainingJobIds.size()));
+            try {
+                List<Job> jobs = Optional.ofNullable(polarisService.get(JOB_RESOURCES.getType(), createJobsRequest(jobIdChunk)))
+                                     .map(JobResources::getData)
+                                     .orElse(Collections.emptyList());
+                int matchedJobs = 0;
+                for (Job job : jobs) {
+                    if (null != job && jobIdChunk.contains(job.getId())) {
+                        jobsById.put(job.getId(), job);
+                        matchedJobs++;
+                    }
+                }
+                if (!jobs.isEmpty() && 0 == matchedJobs) {
+                    disableBatchReads("the id filter was ignored");
+                    return jobsById;
+                }
+            } catch (IntegrationRestException e) {
+                if (e.getHttpStatusCode() >= 400 && e.getHttpStatusCode() < 500) {
+                    disableBatchReads(e.getMessage());
+                }
+                return jobsById;
+            } catch (IntegrationException e) {
+                logger.debug("Could not read several jobs in one request: " + e.getMessage());
+                return jobsById;
+            }
+            jobIdChunk.clear();
+        }
+        return jobsById;
+    }
+
+    private Request createJobsRequest(List<String> jobIds) {
+        HttpUrl url = polarisHttpClient.appendToPolarisUrl(JobService.JOBS_API_SPEC);
+        Map.Entry<String, String> jobIdFilter = new PolarisParamBuilder()
+                                                    .setValue(StringUtils.join(jobIds, ","))
+                                                    .setParamType(ParamType.FILTER)
+                                                    .setOperator(ParamOperator.OPERATOR_ONE_OF)
+                                                    .addAdditionalProp(JOB_TYPE)
+                                                    .addAdditionalProp("id")
+                                                    .setCaseSensitive(true)
+                                                    .build();
+        Request.Builder requestBuilder = PolarisRequestFactory.createDefaultBuilder().url(url);
+        PolarisRequestFactory.populatePagedRequestBuilder(requestBuilder, jobIds.size(), 0);
+        requestBuilder.addQueryParameter(jobIdFilter.getKey(), jobIdFilter.getValue());
+        return requestBuilder.build();
+    }
+
+    private void disableBatchReads(String reason) {
+        if (batchReadsSupported.compareAndSet(true, false)) {
+            logger.debug("Jobs will be read one at a time because reading several jobs in one request is not supported: " + reason);
+        }
+    }
+
+    private String extractJobId(HttpUrl jobApiUrl) {
+        String jobsUrlPrefix = StringUtils.removeEnd(polarisHttpClient.appendToPolarisUrl(JobService.JOBS_API_SPEC).toString(), "/") + "/";
+        String url = jobApiUrl.toString();
+        if (!url.startsWith(jobsUrlPrefix)) {
+            return null;
+        }
+        String jobId = url.substring(jobsUrlPrefix.length());
+        return StringUtils.containsAny(jobId, '/', '?', '#') ? null : jobId;
+    }
+
+    private static class WatchedJob {
+        private final HttpUrl jobApiUrl;
+        private final String jobId;
+        private final long timeoutInSeconds;
+        private final long registeredTime;
+        private final long deadline;
+        private final CompletableFuture<Job> future = new CompletableFuture<>();
+        private volatile int pollCount;
+        private volatile long delayMillis;
+        private volatile long nextPollTime;
+
+        private WatchedJob(HttpUrl jobApiUrl, String jobId, long timeoutInSeconds) {
+            this.jobApiUrl = jobApiUrl;
+            this.jobId = jobId;
+            this.timeoutInSeconds = timeoutInSeconds;
+            this.registeredTime = System.currentTimeMillis();
+            this.deadline = registeredTime + timeoutInSeconds * 1000;
+            this.nextPollTime = registeredTime;
+        }
+    }
+
+}
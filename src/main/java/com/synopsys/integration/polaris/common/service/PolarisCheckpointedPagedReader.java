@@ -0,0 +1,298 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.polaris.common.api.PolarisResource;
+import com.synopsys.integration.polaris.common.api.PolarisResources;
+import com.synopsys.integration.polaris.common.api.PolarisResourcesPagination;
+import com.synopsys.integration.polaris.common.exception.UncheckedIntegrationException;
+import com.synopsys.integration.polaris.common.request.PolarisPagedRequestWrapper;
+import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
+import com.synopsys.integration.rest.request.Request;
+
+/**
+ * Walks a paged request the way PolarisService does, but writes each page to a spill directory instead of keeping it in memory. A manifest of the committed page offsets is replaced atomically after every page, so an export that dies part way through picks up again at the first page it had not committed when it is run against the same directory.
+ * The manifest also records the url and query of the request, and an export is only resumed for the same request.
+ * Only one page is ever held in memory at a time, both while exporting and while streaming the spilled pages back. Included resources stay in the page files and are not streamed.
+ */
+public class PolarisCheckpointedPagedReader {
+    private static final String MANIFEST_FILE_NAME = "manifest.json";
+    private static final String PAGE_FILE_PREFIX = "page-";
+    private static final String PAGE_FILE_EXTENSION = ".json";
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+    private final IntLogger logger;
+    private final PolarisService polarisService;
+    private final Gson gson;
+    private final Path spillDirectory;
+
+    public PolarisCheckpointedPagedReader(final IntLogger logger, final PolarisService polarisService, final Gson gson, final Path spillDirectory) {
+        this.logger = logger;
+        this.polarisService = polarisService;
+        this.gson = gson;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Requests every page that has not been committed yet, then streams the resources of all spilled pages in offset order.
+     * Failures while reading a page file back are thrown as UncheckedIntegrationException when the stream is consumed.
+     */
+    public <R extends PolarisResource> Stream<R> streamAllResponses(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final int pageSize) throws IntegrationException {
+        exportAllPages(polarisPagedRequestWrapper, pageSize);
+        return streamSpilledResponses(polarisPagedRequestWrapper.getResponseType());
+    }
+
+    /**
+     * @return the number of resources spilled so far, including those committed by an earlier run
+     */
+    public int exportAllPages(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final int pageSize) throws IntegrationException {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("A checkpointed export needs a page size of at least 1.");
+        }
+        createSpillDirectory();
+
+        final Request firstPageRequest = polarisPagedRequestWrapper.getRequestCreator().apply(pageSize, 0);
+        final String requestUrl = firstPageRequest.getUrl().string();
+        final Map<String, List<String>> requestQuery = getQueryWithoutPaging(firstPageRequest);
+
+        final ExportManifest manifest = readManifest().orElseGet(() -> new ExportManifest(pageSize, requestUrl, requestQuery));
+        if (manifest.pageSize != pageSize) {
+            throw new IntegrationException(String.format("The export in %s was started with a page size of %d and can't be resumed with a page size of %d.", spillDirectory, manifest.pageSize, pageSize));
+        }
+        if (!requestUrl.equals(manifest.requestUrl) || !requestQuery.equals(manifest.requestQuery)) {
+            throw new IntegrationException(String.format("The export in %s was started for %s with the query %s and can't be resumed for %s with the query %s.", spillDirectory, manifest.requestUrl, manifest.requestQuery, requestUrl, requestQuery));
+        }
+        if (!manifest.complete && manifest.nextOffset > 0) {
+            logger.info(String.format("Resuming the export in %s at offset %d (%d resources already committed).", spillDirectory, manifest.nextOffset, manifest.resourcesSeen));
+        }
+
+        while (!manifest.complete) {
+            exportNextPage(polarisPagedRequestWrapper, manifest);
+            writeManifest(manifest);
+        }
+        return manifest.resourcesSeen;
+    }
+
+    /**
+     * Streams the resources of the pages committed so far, whether or not the export has finished.
+     */
+    public <R extends PolarisResource> Stream<R> streamSpilledResponses(final Type responseType) throws IntegrationException {
+        final List<Integer> pageOffsets = readManifest()
+                                              .map(manifest -> manifest.pageOffsets)
+                                              .orElse(Collections.emptyList());
+        return pageOffsets.stream()
+                   .map(this::getPageFile)
+                   .flatMap(pageFile -> this.<R>readPageData(pageFile, responseType).stream());
+    }
+
+    public boolean isComplete() throws IntegrationException {
+        return readManifest()
+                   .map(manifest -> manifest.complete)
+                   .orElse(false);
+    }
+
+    /**
+     * Removes the manifest and every page file, so the next export starts from the first page.
+     */
+    public void delete() throws IntegrationException {
+        if (!Files.isDirectory(spillDirectory)) {
+            return;
+        }
+        try (final DirectoryStream<Path> spilledFiles = Files.newDirectoryStream(spillDirectory, PAGE_FILE_PREFIX + "*")) {
+            for (final Path spilledFile : spilledFiles) {
+                Files.deleteIfExists(spilledFile);
+            }
+            Files.deleteIfExists(getManifestFile());
+        } catch (final IOException e) {
+            throw new IntegrationException(String.format("Could not delete the export in %s: %s", spillDirectory, e.getMessage()), e);
+        }
+    }
+
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    private <R extends PolarisResource, W extends PolarisResources<R>> void exportNextPage(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final ExportManifest manifest) throws IntegrationException {
+        final int offset = manifest.nextOffset;
+        final Path pageFile = getPageFile(offset);
+        Path temporaryFile = null;
+        try {
+            temporaryFile = Files.createTempFile(spillDirectory, pageFile.getFileName().toString(), TEMPORARY_FILE_EXTENSION);
+            polarisService.writePagedResponse(polarisPagedRequestWrapper, offset, manifest.pageSize, temporaryFile);
+
+            final W page = readPage(temporaryFile, polarisPagedRequestWrapper.getResponseType());
+            if (null == page) {
+                manifest.complete = true;
+                return;
+            }
+
+            if (0 == offset) {
+                manifest.totalExpected = Optional.ofNullable(page.getMeta())
+                                             .map(PolarisResourcesPagination::getTotal)
+                                             .map(BigDecimal::intValue)
+                                             .orElse(null);
+            }
+
+            final int pageDataSize = Optional.ofNullable(page.getData()).map(List::size).orElse(0);
+            if (pageDataSize > 0) {
+                moveIntoPlace(temporaryFile, pageFile);
+                manifest.pageOffsets.add(offset);
+                manifest.resourcesSeen += pageDataSize;
+            }
+            manifest.nextOffset += manifest.pageSize;
+            manifest.complete = 0 == pageDataSize || (null != manifest.totalExpected && manifest.totalExpected <= manifest.resourcesSeen);
+        } catch (final IOException e) {
+            throw new IntegrationException(String.format("Could not spill the page at offset %d to %s: %s", offset, spillDirectory, e.getMessage()), e);
+        } finally {
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    private <R extends PolarisResource> List<R> readPageData(final Path pageFile, final Type responseType) {
+        try {
+            final PolarisResources<R> page = readPage(pageFile, responseType);
+            if (null == page || null == page.getData()) {
+                return Collections.emptyList();
+            }
+            return page.getData();
+        } catch (final IntegrationException e) {
+            throw new UncheckedIntegrationException(e);
+        }
+    }
+
+    private <W extends PolarisResources<?>> W readPage(final Path pageFile, final Type responseType) throws IntegrationException {
+        try (final Reader reader = Files.newBufferedReader(pageFile, StandardCharsets.UTF_8)) {
+            return polarisService.getPolarisJsonTransformer().getResponseAs(reader, responseType);
+        } catch (final IOException e) {
+            throw new IntegrationException(String.format("Could not read the spilled page %s: %s", pageFile, e.getMessage()), e);
+        }
+    }
+
+    private Optional<ExportManifest> readManifest() throws IntegrationException {
+        final Path manifestFile = getManifestFile();
+        if (!Files.isRegularFile(manifestFile)) {
+            return Optional.empty();
+        }
+        try (final Reader reader = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8)) {
+            return Optional.ofNullable(gson.fromJson(reader, ExportManifest.class));
+        } catch (final IOException | JsonParseException e) {
+            throw new IntegrationException(String.format("Could not read the export manifest %s: %s", manifestFile, e.getMessage()), e);
+        }
+    }
+
+    private void writeManifest(final ExportManifest manifest) throws IntegrationException {
+        final Path manifestFile = getManifestFile();
+        Path temporaryFile = null;
+        try {
+            temporaryFile = Files.createTempFile(spillDirectory, MANIFEST_FILE_NAME, TEMPORARY_FILE_EXTENSION);
+            try (final Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                gson.toJson(manifest, writer);
+            }
+            moveIntoPlace(temporaryFile, manifestFile);
+        } catch (final IOException e) {
+            throw new IntegrationException(String.format("Could not write the export manifest %s: %s", manifestFile, e.getMessage()), e);
+        } finally {
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    private void createSpillDirectory() throws IntegrationException {
+        try {
+            Files.createDirectories(spillDirectory);
+        } catch (final IOException e) {
+            throw new IntegrationException(String.format("Could not create the spill directory %s: %s", spillDirectory, e.getMessage()), e);
+        }
+    }
+
+    private void moveIntoPlace(final Path temporaryFile, final Path target) throws IOException {
+        try {
+            Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final AtomicMoveNotSupportedException | FileAlreadyExistsException e) {
+            Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void deleteQuietly(final Path path) {
+        if (null == path) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (final IOException e) {
+            logger.debug(String.format("Could not delete %s: %s", path, e.getMessage()));
+        }
+    }
+
+    private Map<String, List<String>> getQueryWithoutPaging(final Request request) {
+        // sorted, so the query compares equal however the request creator ordered it
+        final Map<String, List<String>> query = new TreeMap<>();
+        for (final Map.Entry<String, Set<String>> queryParameter : request.getQueryParameters().entrySet()) {
+            if (!PolarisRequestFactory.LIMIT_PARAMETER.equals(queryParameter.getKey()) && !PolarisRequestFactory.OFFSET_PARAMETER.equals(queryParameter.getKey())) {
+                final List<String> values = new ArrayList<>(queryParameter.getValue());
+                Collections.sort(values);
+                query.put(queryParameter.getKey(), values);
+            }
+        }
+        return query;
+    }
+
+    private Path getManifestFile() {
+        return spillDirectory.resolve(MANIFEST_FILE_NAME);
+    }
+
+    private Path getPageFile(final int offset) {
+        // zero padded so the page files also sort in offset order on disk
+        return spillDirectory.resolve(String.format("%s%010d%s", PAGE_FILE_PREFIX, offset, PAGE_FILE_EXTENSION));
+    }
+
+    private static class ExportManifest {
+        private int pageSize;
+        private String requestUrl;
+        private Map<String, List<String>> requestQuery;
+        private Integer totalExpected;
+        private int nextOffset;
+        private int resourcesSeen;
+        private boolean complete;
+        private List<Integer> pageOffsets = new ArrayList<>();
+
+        private ExportManifest() {
+        }
+
+        private ExportManifest(final int pageSize, final String requestUrl, final Map<String, List<String>> requestQuery) {
+            this.pageSize = pageSize;
+            this.requestUrl = requestUrl;
+            this.requestQuery = requestQuery;
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.api.PolarisResource;
+import com.synopsys.integration.polaris.common.api.PolarisResourceSparse;
+import com.synopsys.integration.polaris.common.api.PolarisResponse;
+
+/**
+ * A (type, id) index over the included resources of one response. Each included resource is converted to a given class at most once.
+ */
+public class PolarisIncludedResourceIndex {
+    private final PolarisJsonTransformer polarisJsonTransformer;
+    private final List<?> indexedIncluded;
+    private final int indexedIncludedSize;
+    private final Map<String, PolarisResource> includedByTypeAndId = new HashMap<>();
+    private final Map<Class<?>, Map<String, Optional<?>>> typedResourcesByClass = new ConcurrentHashMap<>();
+
+    public PolarisIncludedResourceIndex(final PolarisResponse populatedResources, final PolarisJsonTransformer polarisJsonTransformer) {
+        this.polarisJsonTransformer = polarisJsonTransformer;
+        this.indexedIncluded = populatedResources.getIncluded();
+        this.indexedIncludedSize = null == indexedIncluded ? 0 : indexedIncluded.size();
+
+        if (null != populatedResources.getIncluded()) {
+            for (final PolarisResource includedResource : populatedResources.getIncluded()) {
+                // The linear scan this replaces returned the first match, so the first one wins here too
+                includedByTypeAndId.putIfAbsent(createKey(includedResource.getType(), includedResource.getId()), includedResource);
+            }
+        }
+    }
+
+    public Optional<PolarisResource> getIncludedResource(final PolarisResourceSparse sparseResourceData) {
+        return getIncludedResource(sparseResourceData.getType(), sparseResourceData.getId());
+    }
+
+    public Optional<PolarisResource> getIncludedResource(final String type, final String id) {
+        return Optional.ofNullable(includedByTypeAndId.get(createKey(type, id)));
+    }
+
+    public <R extends PolarisResource> Optional<R> getResource(final PolarisResourceSparse sparseResourceData, final Class<R> resourceClass) {
+        final String key = createKey(sparseResourceData.getType(), sparseResourceData.getId());
+        final Map<String, Optional<?>> typedResources = typedResourcesByClass.computeIfAbsent(resourceClass, ignored -> new ConcurrentHashMap<>());
+        final Optional<?> typedResource = typedResources.computeIfAbsent(key, ignored -> convert(key, resourceClass));
+        return typedResource.map(resourceClass::cast);
+    }
+
+    /**
+     * Whether this index still describes the included resources of the response, which merging pages or a setter may have replaced since.
+     */
+    public boolean isCurrentFor(final PolarisResponse populatedResources) {
+        final List<?> included = populatedResources.getIncluded();
+        return included == indexedIncluded && (null == included || included.size() == indexedIncludedSize);
+    }
+
+    public int size() {
+        return includedByTypeAndId.size();
+    }
+
+    private <R extends PolarisResource> Optional<R> convert(final String key, final Class<R> resourceClass) {
+        final PolarisResource includedResource = includedByTypeAndId.get(key);
+        if (null == includedResource) {
+            return Optional.empty();
+        }
+
+        try {
+            final R fullyTypedResource = polarisJsonTransformer.getResponseAs(includedResource.getJson(), resourceClass);
+            return Optional.ofNullable(fullyTypedResource);
+        } catch (final IntegrationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String createKey(final String type, final String id) {
+        return StringUtils.defaultString(type) + '\u0000' + StringUtils.defaultString(id);
+    }
+
+}
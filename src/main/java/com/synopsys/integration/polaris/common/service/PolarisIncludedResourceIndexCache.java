@@ -0,0 +1,84 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.synopsys.integration.polaris.common.api.PolarisResponse;
+
+/**
+ * Keeps the included resource index of each response for as long as the response itself is in use, so resolving many references against one response builds its index only once.
+ * Responses are told apart by identity, and an index is built again once the included resources of its response have been replaced.
+ */
+class PolarisIncludedResourceIndexCache {
+    private final ReferenceQueue<PolarisResponse> collectedResponses = new ReferenceQueue<>();
+    private final Map<ResponseReference, PolarisIncludedResourceIndex> indexesByResponse = new HashMap<>();
+
+    public PolarisIncludedResourceIndex getIndex(final PolarisResponse populatedResources, final Function<PolarisResponse, PolarisIncludedResourceIndex> createIndex) {
+        final PolarisIncludedResourceIndex cachedIndex;
+        synchronized (this) {
+            expungeCollectedResponses();
+            cachedIndex = indexesByResponse.get(new ResponseReference(populatedResources, null));
+        }
+        if (null != cachedIndex && cachedIndex.isCurrentFor(populatedResources)) {
+            return cachedIndex;
+        }
+
+        // built outside the lock, since a large response takes a while to index
+        final PolarisIncludedResourceIndex index = createIndex.apply(populatedResources);
+        synchronized (this) {
+            indexesByResponse.put(new ResponseReference(populatedResources, collectedResponses), index);
+        }
+        return index;
+    }
+
+    public synchronized int size() {
+        expungeCollectedResponses();
+        return indexesByResponse.size();
+    }
+
+    private void expungeCollectedResponses() {
+        Reference<? extends PolarisResponse> collectedResponse;
+        while (null != (collectedResponse = collectedResponses.poll())) {
+            indexesByResponse.remove(collectedResponse);
+        }
+    }
+
+    private static class ResponseReference extends WeakReference<PolarisResponse> {
+        private final int identityHashCode;
+
+        private ResponseReference(final PolarisResponse response, final ReferenceQueue<PolarisResponse> queue) {
+            super(response, queue);
+            this.identityHashCode = System.identityHashCode(response);
+        }
+
+        @Override
+        public int hashCode() {
+            return identityHashCode;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ResponseReference)) {
+                return false;
+            }
+            final PolarisResponse response = get();
+            return null != response && response == ((ResponseReference) other).get();
+        }
+
+    }
+
+}
@@ -0,0 +1,23 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+/**
+ * Controls which PolarisComponents have their json populated by the PolarisJsonTransformer.
+ */
+public enum PolarisJsonFieldMode {
+    /**
+     * Every nested object carries its own json. Each subtree is serialized once per level it is nested under, which grows quadratically with nesting depth.
+     */
+    EVERY_COMPONENT,
+    /**
+     * Only the response itself and the resources directly under its data and included members carry json, each serialized once from the parsed tree. Nested attributes, relationships and links do not carry json.
+     */
+    RESOURCES_ONLY
+
+}
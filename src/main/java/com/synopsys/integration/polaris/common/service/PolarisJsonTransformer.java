@@ -7,13 +7,19 @@
  */
 package com.synopsys.integration.polaris.common.service;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.polaris.common.api.PolarisComponent;
@@ -21,20 +27,72 @@ import com.synopsys.integration.rest.response.Response;
 
 public class PolarisJsonTransformer {
     private static final String FIELD_NAME_POLARIS_COMPONENT_JSON = "json";
+    private static final String FIELD_NAME_DATA = "data";
+    private static final String FIELD_NAME_INCLUDED = "included";
 
     private final Gson gson;
     private final IntLogger logger;
+    private final PolarisJsonFieldMode jsonFieldMode;
+    private final boolean streamResponseContent;
 
     public PolarisJsonTransformer(final Gson gson, final IntLogger logger) {
+        this(gson, logger, PolarisJsonFieldMode.EVERY_COMPONENT);
+    }
+
+    public PolarisJsonTransformer(final Gson gson, final IntLogger logger, final PolarisJsonFieldMode jsonFieldMode) {
+        this(gson, logger, jsonFieldMode, false);
+    }
+
+    /**
+     * @param streamResponseContent when true, response bodies are parsed straight from the content stream instead of being read into a String first.
+     */
+    public PolarisJsonTransformer(final Gson gson, final IntLogger logger, final PolarisJsonFieldMode jsonFieldMode, final boolean streamResponseContent) {
         this.gson = gson;
         this.logger = logger;
+        this.jsonFieldMode = jsonFieldMode;
+        this.streamResponseContent = streamResponseContent;
     }
 
     public <C extends PolarisComponent> C getResponse(final Response response, final Type responseType) throws IntegrationException {
+        if (streamResponseContent) {
+            try (final Reader reader = new InputStreamReader(response.getContent(), StandardCharsets.UTF_8)) {
+                return getResponseAs(reader, responseType);
+            } catch (final IOException e) {
+                throw new IntegrationException("Could not read the response content: " + e.getMessage(), e);
+            }
+        }
+
         final String json = response.getContentString();
         return getResponseAs(json, responseType);
     }
 
+    public <C extends PolarisComponent> C getResponseAs(final Reader reader, final Type responseType) throws IntegrationException {
+        final JsonObject jsonObject = getJsonObject(reader);
+        if (null == jsonObject) {
+            return null;
+        }
+        return getResponseAs(jsonObject, responseType);
+    }
+
+    public JsonObject getJsonObject(final Reader reader) throws IntegrationException {
+        try {
+            final JsonReader jsonReader = gson.newJsonReader(reader);
+            return gson.fromJson(jsonReader, JsonObject.class);
+        } catch (final JsonParseException e) {
+            logger.error(String.format("Could not parse the provided json stream with Gson: %s", e.getMessage()));
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
+    public JsonObject getJsonObject(final String json) throws IntegrationException {
+        try {
+            return gson.fromJson(json, JsonObject.class);
+        } catch (final JsonSyntaxException e) {
+            logger.error(String.format("Could not parse the provided json with Gson:%s%s", System.lineSeparator(), json));
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
     public <C extends PolarisComponent> C getResponseAs(final String json, final Type responseType) throws IntegrationException {
         try {
             final JsonObject jsonElement = gson.fromJson(json, JsonObject.class);
@@ -46,6 +104,10 @@ public class PolarisJsonTransformer {
     }
 
     public <C extends PolarisComponent> C getResponseAs(final JsonObject jsonObject, final Type responseType) throws IntegrationException {
+        if (PolarisJsonFieldMode.RESOURCES_ONLY == jsonFieldMode) {
+            return getResponseWithResourceJsonAs(jsonObject, responseType);
+        }
+
         final String json = gson.toJson(jsonObject);
         try {
             addJsonAsField(jsonObject);
@@ -56,6 +118,74 @@ public class PolarisJsonTransformer {
         }
     }
 
+    /**
+     * Adds the json fields that getResponseAs would add, so that the returned object can be bound any number of times with bindResponse without doing that work again.
+     */
+    public JsonObject addJsonFields(final JsonObject jsonObject) {
+        if (PolarisJsonFieldMode.RESOURCES_ONLY == jsonFieldMode) {
+            addJsonAsFieldToResources(jsonObject);
+        } else {
+            addJsonAsField(jsonObject);
+        }
+        return jsonObject;
+    }
+
+    /**
+     * Binding only reads the given object, so a cached object can be bound concurrently and every call returns a component of its own.
+     */
+    public <C extends PolarisComponent> C bindResponse(final JsonObject jsonObjectWithJsonFields, final Type responseType) throws IntegrationException {
+        try {
+            return gson.fromJson(jsonObjectWithJsonFields, responseType);
+        } catch (final JsonSyntaxException e) {
+            logger.error(String.format("Could not parse the provided jsonElement with Gson:%s%s", System.lineSeparator(), gson.toJson(jsonObjectWithJsonFields)));
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
+    public PolarisJsonFieldMode getJsonFieldMode() {
+        return jsonFieldMode;
+    }
+
+    public boolean isStreamResponseContent() {
+        return streamResponseContent;
+    }
+
+    private <C extends PolarisComponent> C getResponseWithResourceJsonAs(final JsonObject jsonObject, final Type responseType) throws IntegrationException {
+        try {
+            addJsonAsFieldToResources(jsonObject);
+            return gson.fromJson(jsonObject, responseType);
+        } catch (final JsonSyntaxException e) {
+            // Only serialized when something went wrong, rather than up front for every response
+            logger.error(String.format("Could not parse the provided jsonElement with Gson:%s%s", System.lineSeparator(), gson.toJson(jsonObject)));
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
+    private void addJsonAsFieldToResources(final JsonObject jsonObject) {
+        // The outer json has to be captured before the resources below it are given their own json
+        final String json = gson.toJson(jsonObject);
+        addJsonAsFieldToEachObject(jsonObject.get(FIELD_NAME_DATA));
+        addJsonAsFieldToEachObject(jsonObject.get(FIELD_NAME_INCLUDED));
+        jsonObject.addProperty(FIELD_NAME_POLARIS_COMPONENT_JSON, json);
+    }
+
+    private void addJsonAsFieldToEachObject(final JsonElement jsonElement) {
+        if (null == jsonElement) {
+            return;
+        }
+        if (jsonElement.isJsonObject()) {
+            final JsonObject resourceObject = jsonElement.getAsJsonObject();
+            resourceObject.addProperty(FIELD_NAME_POLARIS_COMPONENT_JSON, gson.toJson(resourceObject));
+        } else if (jsonElement.isJsonArray()) {
+            for (final JsonElement arrayElement : jsonElement.getAsJsonArray()) {
+                if (arrayElement.isJsonObject()) {
+                    final JsonObject resourceObject = arrayElement.getAsJsonObject();
+                    resourceObject.addProperty(FIELD_NAME_POLARIS_COMPONENT_JSON, gson.toJson(resourceObject));
+                }
+            }
+        }
+    }
+
     private void addJsonAsField(final JsonElement jsonElement) {
         if (jsonElement.isJsonObject()) {
             final JsonObject innerObject = jsonElement.getAsJsonObject();
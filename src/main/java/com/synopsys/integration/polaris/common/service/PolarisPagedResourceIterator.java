@@ -0,0 +1,96 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.api.PolarisResource;
+import com.synopsys.integration.polaris.common.api.PolarisResources;
+import com.synopsys.integration.polaris.common.api.PolarisResourcesPagination;
+import com.synopsys.integration.polaris.common.exception.UncheckedIntegrationException;
+import com.synopsys.integration.polaris.common.request.PolarisPagedRequestWrapper;
+
+/**
+ * Walks a paged request one page at a time, requesting the next page only once the current one has been consumed. Only the data of the current page is held, so included resources are not available through this iterator.
+ * Failed requests surface as an UncheckedIntegrationException.
+ */
+public class PolarisPagedResourceIterator<R extends PolarisResource> implements Iterator<R> {
+    private final PolarisService polarisService;
+    private final PolarisPagedRequestWrapper polarisPagedRequestWrapper;
+    private final int pageSize;
+
+    private Iterator<R> currentPage = Collections.emptyIterator();
+    private Integer totalExpected;
+    private int nextOffset = 0;
+    private int resourcesSeen = 0;
+    private boolean isMoreData = true;
+
+    public PolarisPagedResourceIterator(final PolarisService polarisService, final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final int pageSize) {
+        this.polarisService = polarisService;
+        this.polarisPagedRequestWrapper = polarisPagedRequestWrapper;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentPage.hasNext() && isMoreData) {
+            fetchNextPage();
+        }
+        return currentPage.hasNext();
+    }
+
+    @Override
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentPage.next();
+    }
+
+    private void fetchNextPage() {
+        // Let go of the previous page before requesting the next one
+        currentPage = Collections.emptyIterator();
+
+        final PolarisResources<R> wrappedResponse;
+        try {
+            wrappedResponse = polarisService.executePagedRequest(polarisPagedRequestWrapper, nextOffset, pageSize);
+        } catch (final IntegrationException e) {
+            isMoreData = false;
+            throw new UncheckedIntegrationException(e);
+        }
+
+        if (null == wrappedResponse) {
+            isMoreData = false;
+            return;
+        }
+
+        if (0 == nextOffset) {
+            totalExpected = Optional.ofNullable(wrappedResponse.getMeta())
+                                .map(PolarisResourcesPagination::getTotal)
+                                .map(BigDecimal::intValue)
+                                .orElse(null);
+        }
+
+        final List<R> data = Optional.ofNullable(wrappedResponse.getData()).orElse(Collections.emptyList());
+        resourcesSeen += data.size();
+        nextOffset += pageSize;
+
+        isMoreData = !data.isEmpty() && pageSize > 0;
+        if (null != totalExpected) {
+            isMoreData = isMoreData && totalExpected > resourcesSeen;
+        }
+        currentPage = data.iterator();
+    }
+
+}
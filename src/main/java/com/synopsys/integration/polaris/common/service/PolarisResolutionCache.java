@@ -0,0 +1,179 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.synopsys.integration.exception.IntegrationException;
+
+/**
+ * Remembers the result of resolving a key, such as a project name to its project, for a limited time. Concurrent lookups of a key that is not cached yet share a single load, entries are evicted least recently used first once the cache is full, and a failed load is never cached.
+ */
+public class PolarisResolutionCache<K, V> {
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final int maxEntries;
+    private final long timeToLiveMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public static <K, V> PolarisResolutionCache<K, V> createDefault() {
+        return new PolarisResolutionCache<>(DEFAULT_MAX_ENTRIES, DEFAULT_TIME_TO_LIVE_MILLIS);
+    }
+
+    public PolarisResolutionCache(final int maxEntries, final long timeToLiveMillis) {
+        this(maxEntries, timeToLiveMillis, System::currentTimeMillis);
+    }
+
+    PolarisResolutionCache(final int maxEntries, final long timeToLiveMillis, final LongSupplier clock) {
+        if (maxEntries < 1 || timeToLiveMillis < 1) {
+            throw new IllegalArgumentException("The entry limit and time to live of a resolution cache must both be positive.");
+        }
+        this.maxEntries = maxEntries;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached value for the key, or loads it on the calling thread. A caller that finds the key already being loaded waits for that load instead of starting its own.
+     */
+    public V get(final K key, final Loader<V> loader) throws IntegrationException {
+        final Entry<V> entry;
+        final boolean loadOnThisThread;
+        synchronized (entries) {
+            final Entry<V> cachedEntry = entries.get(key);
+            if (null != cachedEntry && !cachedEntry.isExpired(clock.getAsLong(), timeToLiveMillis)) {
+                entry = cachedEntry;
+                loadOnThisThread = false;
+            } else {
+                entry = new Entry<>();
+                entries.put(key, entry);
+                evictLeastRecentlyUsed();
+                loadOnThisThread = true;
+            }
+        }
+
+        if (loadOnThisThread) {
+            misses.incrementAndGet();
+            return load(key, entry, loader);
+        }
+        hits.incrementAndGet();
+        return await(entry);
+    }
+
+    public void invalidate(final K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Lookups answered from the cache, including those that waited on another caller's load.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    private V load(final K key, final Entry<V> entry, final Loader<V> loader) throws IntegrationException {
+        try {
+            final V value = loader.load();
+            entry.loadedAtMillis = clock.getAsLong();
+            entry.value.complete(value);
+            return value;
+        } catch (final IntegrationException | RuntimeException e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.value.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private V await(final Entry<V> entry) throws IntegrationException {
+        try {
+            return entry.value.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException("Interrupted while waiting for another lookup of the same key", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IntegrationException) {
+                throw (IntegrationException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IntegrationException(cause.getMessage(), cause);
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        final Iterator<Entry<V>> leastRecentlyUsedFirst = entries.values().iterator();
+        while (entries.size() > maxEntries && leastRecentlyUsedFirst.hasNext()) {
+            leastRecentlyUsedFirst.next();
+            leastRecentlyUsedFirst.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws IntegrationException;
+
+    }
+
+    private static class Entry<V> {
+        private final CompletableFuture<V> value = new CompletableFuture<>();
+        // stays negative while the value is still loading, and a loading entry never expires
+        private volatile long loadedAtMillis = -1L;
+
+        private boolean isExpired(final long nowMillis, final long timeToLiveMillis) {
+            return loadedAtMillis >= 0 && nowMillis - loadedAtMillis > timeToLiveMillis;
+        }
+
+    }
+
+}
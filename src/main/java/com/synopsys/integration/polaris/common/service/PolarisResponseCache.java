@@ -0,0 +1,216 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.gson.JsonObject;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.response.Response;
+
+/**
+ * Remembers the parsed json of GET responses together with their ETag and Last-Modified validators. PolarisService revalidates a cached response with a conditional request, and a 304 answer is bound from the cached json object without transferring or parsing the body again.
+ * Entries are evicted least recently used first once either the entry or the byte limit is exceeded, and are dropped entirely once they are older than the time to live, whether or not the server still considers them current.
+ * The cached json object is only ever read, so every hit produces a component of its own that its caller is free to modify.
+ */
+public class PolarisResponseCache {
+    public static final String ETAG_HEADER = "ETag";
+    public static final String LAST_MODIFIED_HEADER = "Last-Modified";
+    public static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    public static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+    public static final String CONTENT_LENGTH_HEADER = "Content-Length";
+    public static final int NOT_MODIFIED = 304;
+
+    public static final int DEFAULT_MAX_ENTRIES = 512;
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+    public static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long timeToLiveMillis;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long totalBytes = 0;
+
+    public static PolarisResponseCache createDefault() {
+        return new PolarisResponseCache(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES, DEFAULT_TIME_TO_LIVE_MILLIS);
+    }
+
+    public PolarisResponseCache(final int maxEntries, final long maxBytes, final long timeToLiveMillis) {
+        if (maxEntries < 1 || maxBytes < 1 || timeToLiveMillis < 1) {
+            throw new IllegalArgumentException("The entry limit, byte limit and time to live of a response cache must all be positive.");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+    /**
+     * The same url can be parsed into different types, so the type is part of the key.
+     */
+    public static String createKey(final Request request, final Type responseType) {
+        final Map<String, Set<String>> sortedQueryParameters = new TreeMap<>(request.getQueryParameters());
+        return request.getUrl().string() + "?" + sortedQueryParameters + "#" + responseType.getTypeName();
+    }
+
+    public synchronized Optional<CachedResponse> get(final String key, final long nowMillis) {
+        final CachedResponse cachedResponse = entries.get(key);
+        if (null == cachedResponse) {
+            return Optional.empty();
+        }
+        if (nowMillis - cachedResponse.storedAtMillis > timeToLiveMillis) {
+            remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(cachedResponse);
+    }
+
+    /**
+     * Only responses that carry a validator are cached, since there would be no way to revalidate anything else.
+     * @param jsonObject the parsed response, already carrying the json fields of PolarisJsonTransformer.addJsonFields, which must not be modified afterwards.
+     * @param json the json of the response, which the entry is sized by.
+     */
+    public synchronized void put(final String key, final Response response, final JsonObject jsonObject, final String json, final long nowMillis) {
+        final String etag = response.getHeaderValue(ETAG_HEADER);
+        final String lastModified = response.getHeaderValue(LAST_MODIFIED_HEADER);
+        if (StringUtils.isAllBlank(etag, lastModified) || null == jsonObject || null == json) {
+            remove(key);
+            return;
+        }
+
+        final long sizeInBytes = json.getBytes(StandardCharsets.UTF_8).length;
+        if (sizeInBytes > maxBytes) {
+            remove(key);
+            return;
+        }
+
+        remove(key);
+        entries.put(key, new CachedResponse(etag, lastModified, jsonObject, sizeInBytes, nowMillis));
+        totalBytes += sizeInBytes;
+        evictLeastRecentlyUsed();
+    }
+
+    public synchronized void invalidate(final String key) {
+        remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    /**
+     * The number of requests the server answered with 304, so that the cached json object was bound instead of parsing a response body.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * The number of cacheable requests whose response body had to be parsed.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    private void remove(final String key) {
+        final CachedResponse removed = entries.remove(key);
+        if (null != removed) {
+            totalBytes -= removed.sizeInBytes;
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        final Iterator<CachedResponse> leastRecentlyUsedFirst = entries.values().iterator();
+        while (leastRecentlyUsedFirst.hasNext() && (entries.size() > maxEntries || totalBytes > maxBytes)) {
+            totalBytes -= leastRecentlyUsedFirst.next().sizeInBytes;
+            leastRecentlyUsedFirst.remove();
+        }
+    }
+
+    public static class CachedResponse {
+        private final String etag;
+        private final String lastModified;
+        private final JsonObject jsonObject;
+        private final long sizeInBytes;
+        private final long storedAtMillis;
+
+        private CachedResponse(final String etag, final String lastModified, final JsonObject jsonObject, final long sizeInBytes, final long storedAtMillis) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.jsonObject = jsonObject;
+            this.sizeInBytes = sizeInBytes;
+            this.storedAtMillis = storedAtMillis;
+        }
+
+        public Request createConditionalRequest(final Request request) {
+            final Request.Builder conditionalRequestBuilder = new Request.Builder(request);
+            if (StringUtils.isNotBlank(etag)) {
+                conditionalRequestBuilder.addHeader(IF_NONE_MATCH_HEADER, etag);
+            }
+            if (StringUtils.isNotBlank(lastModified)) {
+                conditionalRequestBuilder.addHeader(IF_MODIFIED_SINCE_HEADER, lastModified);
+            }
+            return conditionalRequestBuilder.build();
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public JsonObject getJsonObject() {
+            return jsonObject;
+        }
+
+    }
+
+}
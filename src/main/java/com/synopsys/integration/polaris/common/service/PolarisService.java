@@ -8,15 +8,39 @@
 package com.synopsys.integration.polaris.common.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.polaris.common.api.PolarisComponent;
 import com.synopsys.integration.polaris.common.api.PolarisResource;
@@ -24,8 +48,14 @@ import com.synopsys.integration.polaris.common.api.PolarisResourceSparse;
 import com.synopsys.integration.polaris.common.api.PolarisResources;
 import com.synopsys.integration.polaris.common.api.PolarisResourcesPagination;
 import com.synopsys.integration.polaris.common.api.PolarisResponse;
+import com.synopsys.integration.polaris.common.request.PolarisAdaptivePageSize;
 import com.synopsys.integration.polaris.common.request.PolarisPagedRequestWrapper;
+import com.synopsys.integration.polaris.common.request.PolarisRetryPolicy;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.polaris.common.rest.PolarisEndpointFamily;
+import com.synopsys.integration.polaris.common.rest.PolarisInstrumentation;
+import com.synopsys.integration.polaris.common.rest.PolarisTimedResponse;
+import com.synopsys.integration.rest.HttpMethod;
 import com.synopsys.integration.rest.request.Request;
 import com.synopsys.integration.rest.response.Response;
 
@@ -39,14 +69,63 @@ public class PolarisService {
 
     public static final String QUERY_API_SPEC = "/api/query/v0";
     public static final String ISSUES_API_SPEC = QUERY_API_SPEC + "/issues";
+
+    private static final String DATA_MEMBER = "data";
+    private static final String INCLUDED_MEMBER = "included";
+    private static final String RELATIONSHIPS_MEMBER = "relationships";
+    private static final String TYPE_MEMBER = "type";
+    private static final String ID_MEMBER = "id";
+
+    private static final ThreadLocal<Boolean> RUNNING_CONCURRENTLY = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
     private final AccessTokenPolarisHttpClient polarisHttpClient;
     private final PolarisJsonTransformer polarisJsonTransformer;
     private final int defaultPageSize;
+    private final ExecutorService concurrentRequestExecutor;
+    private final PolarisRetryPolicy retryPolicy;
+    private final PolarisResponseCache responseCache;
+    private final PolarisAdaptivePageSize adaptivePageSize;
+    private final PolarisIncludedResourceIndexCache includedResourceIndexCache = new PolarisIncludedResourceIndexCache();
 
     public PolarisService(final AccessTokenPolarisHttpClient polarisHttpClient, final PolarisJsonTransformer polarisJsonTransformer, final int defaultPageSize) {
+        this(polarisHttpClient, polarisJsonTransformer, defaultPageSize, null);
+    }
+
+    /**
+     * @param concurrentRequestExecutor when not null, paged walks fetch every page after the first one concurrently through this executor. The executor's size bounds the number of requests in flight.
+     */
+    public PolarisService(final AccessTokenPolarisHttpClient polarisHttpClient, final PolarisJsonTransformer polarisJsonTransformer, final int defaultPageSize, final ExecutorService concurrentRequestExecutor) {
+        this(polarisHttpClient, polarisJsonTransformer, defaultPageSize, concurrentRequestExecutor, PolarisRetryPolicy.noRetries());
+    }
+
+    /**
+     * @param retryPolicy decides which failed GET requests are repeated. Each page of a paged walk is retried on its own, so a walk picks up again at the page that failed rather than starting over.
+     */
+    public PolarisService(final AccessTokenPolarisHttpClient polarisHttpClient, final PolarisJsonTransformer polarisJsonTransformer, final int defaultPageSize, final ExecutorService concurrentRequestExecutor,
+        final PolarisRetryPolicy retryPolicy) {
+        this(polarisHttpClient, polarisJsonTransformer, defaultPageSize, concurrentRequestExecutor, retryPolicy, null);
+    }
+
+    /**
+     * @param responseCache when not null, GET responses that carry an ETag or Last-Modified header are cached and revalidated with conditional requests.
+     */
+    public PolarisService(final AccessTokenPolarisHttpClient polarisHttpClient, final PolarisJsonTransformer polarisJsonTransformer, final int defaultPageSize, final ExecutorService concurrentRequestExecutor,
+        final PolarisRetryPolicy retryPolicy, final PolarisResponseCache responseCache) {
+        this(polarisHttpClient, polarisJsonTransformer, defaultPageSize, concurrentRequestExecutor, retryPolicy, responseCache, null);
+    }
+
+    /**
+     * @param adaptivePageSize when not null, paged walks that are not given a page size use the size it learned for the endpoint family instead of defaultPageSize, and every page this service requests is reported to it. A sequential walk picks up a new size from one page to the next, and asks for a timed out page again at the smaller size.
+     */
+    public PolarisService(final AccessTokenPolarisHttpClient polarisHttpClient, final PolarisJsonTransformer polarisJsonTransformer, final int defaultPageSize, final ExecutorService concurrentRequestExecutor,
+        final PolarisRetryPolicy retryPolicy, final PolarisResponseCache responseCache, final PolarisAdaptivePageSize adaptivePageSize) {
         this.polarisHttpClient = polarisHttpClient;
         this.polarisJsonTransformer = polarisJsonTransformer;
         this.defaultPageSize = defaultPageSize;
+        this.concurrentRequestExecutor = concurrentRequestExecutor;
+        this.retryPolicy = retryPolicy;
+        this.responseCache = responseCache;
+        this.adaptivePageSize = adaptivePageSize;
     }
 
     public static final String GET_ISSUE_API_SPEC(final String issueKey) {
@@ -54,29 +133,54 @@ public class PolarisService {
     }
 
     public <R extends PolarisResource> Optional<R> getResourceFromPopulated(final PolarisResponse populatedResources, final PolarisResourceSparse sparseResourceData, final Class<R> resourceClass) {
-        final String id = StringUtils.defaultString(sparseResourceData.getId());
-        final String type = StringUtils.defaultString(sparseResourceData.getType());
-        for (final PolarisResource includedResource : populatedResources.getIncluded()) {
-            if (type.equals(includedResource.getType()) && id.equals(includedResource.getId())) {
-                try {
-                    final R fullyTypedResource = polarisJsonTransformer.getResponseAs(includedResource.getJson(), resourceClass);
-                    return Optional.of(fullyTypedResource);
-                } catch (final IntegrationException e) {
-                    break;
+        return getIncludedResourceIndex(populatedResources).getResource(sparseResourceData, resourceClass);
+    }
+
+    public <R extends PolarisResource> Optional<R> getResourceFromPopulated(final PolarisIncludedResourceIndex includedResourceIndex, final PolarisResourceSparse sparseResourceData, final Class<R> resourceClass) {
+        return includedResourceIndex.getResource(sparseResourceData, resourceClass);
+    }
+
+    /**
+     * The index of the response's included resources is built on first use and kept for as long as the response is in use, so every lookup against the same response after that is a map lookup.
+     */
+    public PolarisIncludedResourceIndex getIncludedResourceIndex(final PolarisResponse populatedResources) {
+        return includedResourceIndexCache.getIndex(populatedResources, response -> new PolarisIncludedResourceIndex(response, polarisJsonTransformer));
+    }
+
+    /**
+     * Binds one resource of a populated response, along with the included resources its relationships reference, into the shape a request for just that resource would have returned.
+     */
+    public <C extends PolarisComponent> C getSingleResourceResponse(final PolarisResource resource, final PolarisIncludedResourceIndex includedResourceIndex, final Type singleResourceType) throws IntegrationException {
+        final JsonObject resourceObject = polarisJsonTransformer.getJsonObject(resource.getJson());
+        final JsonArray relatedIncluded = new JsonArray();
+        final Set<String> relatedIncludedIds = new HashSet<>();
+
+        final JsonElement relationships = resourceObject.get(RELATIONSHIPS_MEMBER);
+        if (null != relationships && relationships.isJsonObject()) {
+            for (final Map.Entry<String, JsonElement> relationship : relationships.getAsJsonObject().entrySet()) {
+                if (relationship.getValue().isJsonObject()) {
+                    final JsonElement relationshipData = relationship.getValue().getAsJsonObject().get(DATA_MEMBER);
+                    final List<JsonElement> linkages = new ArrayList<>();
+                    if (null != relationshipData && relationshipData.isJsonArray()) {
+                        relationshipData.getAsJsonArray().forEach(linkages::add);
+                    } else if (null != relationshipData) {
+                        linkages.add(relationshipData);
+                    }
+                    for (final JsonElement linkage : linkages) {
+                        addRelatedIncluded(linkage, includedResourceIndex, relatedIncluded, relatedIncludedIds);
+                    }
                 }
             }
         }
-        return Optional.empty();
+
+        final JsonObject singleResourceObject = new JsonObject();
+        singleResourceObject.add(DATA_MEMBER, resourceObject);
+        singleResourceObject.add(INCLUDED_MEMBER, relatedIncluded);
+        return polarisJsonTransformer.getResponseAs(singleResourceObject, singleResourceType);
     }
 
     public <R extends PolarisComponent> R get(final Type returnType, final Request request) throws IntegrationException {
-        try (final Response response = polarisHttpClient.execute(request)) {
-            response.throwExceptionForError();
-
-            return polarisJsonTransformer.getResponse(response, returnType);
-        } catch (final IOException e) {
-            throw new IntegrationException(e);
-        }
+        return executeForComponent(request, returnType);
     }
 
     /* TODO: Refactor this implementation. The following should compile, but doesn't. --rotte APR 2020
@@ -87,65 +191,126 @@ public <R extends PolarisResource> Optional<R> getFirstResponse2(final Request r
 }
  */
     public <R extends PolarisResource> Optional<R> getFirstResponse(final Request request, final Type resourcesType) throws IntegrationException {
-        try (final Response response = polarisHttpClient.execute(request)) {
-            response.throwExceptionForError();
-            final PolarisResources<R> wrappedResponse = polarisJsonTransformer.getResponse(response, resourcesType);
-            if (wrappedResponse != null) {
-                final List<R> data = wrappedResponse.getData();
-                if (null != data && !data.isEmpty()) {
-                    return Optional.ofNullable(data.get(0));
-                }
+        final PolarisResources<R> wrappedResponse = executeForComponent(request, resourcesType);
+        if (wrappedResponse != null) {
+            final List<R> data = wrappedResponse.getData();
+            if (null != data && !data.isEmpty()) {
+                return Optional.ofNullable(data.get(0));
             }
-            return Optional.empty();
-        } catch (final IOException e) {
-            throw new IntegrationException(e);
         }
+        return Optional.empty();
     }
 
     public <R extends PolarisResource> List<R> getAllResponses(final Request request, final Type resourcesType) throws IntegrationException {
-        try (final Response response = polarisHttpClient.execute(request)) {
-            response.throwExceptionForError();
-            final PolarisResources<R> wrappedResponse = polarisJsonTransformer.getResponse(response, resourcesType);
-            if (wrappedResponse != null && wrappedResponse.getData() != null) {
-                return wrappedResponse.getData();
-            }
-            return Collections.emptyList();
-        } catch (final IOException e) {
-            throw new IntegrationException(e);
+        final PolarisResources<R> wrappedResponse = executeForComponent(request, resourcesType);
+        if (wrappedResponse != null && wrappedResponse.getData() != null) {
+            // a copy, since the response may be shared through the response cache
+            return new ArrayList<>(wrappedResponse.getData());
         }
+        return Collections.emptyList();
     }
 
     public <R extends PolarisResource> List<R> getAllResponses(final PolarisPagedRequestWrapper polarisPagedRequestWrapper) throws IntegrationException {
-        return getAllResponses(polarisPagedRequestWrapper, defaultPageSize);
+        return walkAllResponses(polarisPagedRequestWrapper, getPageSize(polarisPagedRequestWrapper), null != adaptivePageSize);
     }
 
     public <R extends PolarisResource, W extends PolarisResources<R>> List<R> getAllResponses(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final int pageSize) throws IntegrationException {
-        final W populatedResponse = getPopulatedResponse(polarisPagedRequestWrapper, pageSize);
+        return walkAllResponses(polarisPagedRequestWrapper, pageSize, false);
+    }
 
-        if (populatedResponse == null) {
-            return Collections.emptyList();
-        }
+    public <R extends PolarisResource> Stream<R> streamAllResponses(final PolarisPagedRequestWrapper polarisPagedRequestWrapper) {
+        return streamAllResponses(polarisPagedRequestWrapper, getPageSize(polarisPagedRequestWrapper));
+    }
 
-        return populatedResponse.getData();
+    /**
+     * Lazily walks the pages of the request: a page is only requested once every resource of the previous page has been consumed, so short-circuiting operations such as findFirst stop after the first page.
+     * Request failures are thrown as UncheckedIntegrationException when the stream is consumed.
+     */
+    public <R extends PolarisResource> Stream<R> streamAllResponses(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final int pageSize) {
+        final Iterator<R> pagedIterator = new PolarisPagedResourceIterator<>(this, polarisPagedRequestWrapper, pageSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pagedIterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
     }
 
     public <R extends PolarisResource, W extends PolarisResources<R>> W getPopulatedResponse(final PolarisPagedRequestWrapper polarisPagedRequestWrapper) throws IntegrationException {
-        return getPopulatedResponse(polarisPagedRequestWrapper, defaultPageSize);
+        return walkPopulatedResponse(polarisPagedRequestWrapper, getPageSize(polarisPagedRequestWrapper), null != adaptivePageSize);
     }
 
-    // TODO: Cognitive complexity should be reduced even more here --rotte APR 2020
     public <R extends PolarisResource, W extends PolarisResources<R>> W getPopulatedResponse(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final int pageSize) throws IntegrationException {
-        W populatedResources = null;
+        return walkPopulatedResponse(polarisPagedRequestWrapper, pageSize, false);
+    }
+
+    /**
+     * Runs the tasks through the concurrent request executor (or on the calling thread when none is configured) and returns their results in task order.
+     */
+    public <T> List<T> executeConcurrently(final List<Callable<T>> tasks) throws IntegrationException {
+        final List<T> results = new ArrayList<>(tasks.size());
+        // A task that is already running on the executor must not wait on the same bounded executor, or it could starve itself
+        if (null == concurrentRequestExecutor || tasks.size() < 2 || RUNNING_CONCURRENTLY.get()) {
+            for (final Callable<T> task : tasks) {
+                results.add(callUnwrapped(task));
+            }
+            return results;
+        }
+
+        final List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (final Callable<T> task : tasks) {
+                futures.add(concurrentRequestExecutor.submit(() -> callConcurrently(task)));
+            }
+            for (final Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException("Interrupted while waiting for concurrent Polaris requests", e);
+        } catch (final ExecutionException e) {
+            throw unwrapExecutionException(e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <R extends PolarisResource, W extends PolarisResources<R>> W getPopulatedResponseSequentially(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final IntSupplier pageSizeSupplier) throws IntegrationException {
+        return getPopulatedResponseSequentially(polarisPagedRequestWrapper, pageSizeSupplier, null, 0);
+    }
+
+    // TODO: Cognitive complexity should be reduced even more here --rotte APR 2020
+    /**
+     * The page size is asked for again before every page, so an adaptive size can change from one page to the next. A page that timed out is requested again when the size has shrunk since it was sent.
+     * When a first page is given, the walk picks up after it at the given offset instead of requesting it again.
+     */
+    private <R extends PolarisResource, W extends PolarisResources<R>> W getPopulatedResponseSequentially(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final IntSupplier pageSizeSupplier, final W firstPage, final int firstPageEnd) throws IntegrationException {
+        W populatedResources = firstPage;
         final List<R> allData = new ArrayList<>();
         final List<PolarisResourceSparse> allIncluded = new ArrayList<>();
 
         Integer totalExpected = null;
         int offset = 0;
         boolean totalExpectedHasNotBeenSet = true;
-        boolean thisPageHadData;
+        boolean thisPageHadData = true;
         boolean isMoreData = true;
-        do {
-            final W wrappedResponse = executePagedRequest(polarisPagedRequestWrapper, offset, pageSize);
+        if (null != firstPage) {
+            final List<R> firstPageData = Optional.ofNullable(firstPage.getData()).orElse(Collections.emptyList());
+            allData.addAll(firstPageData);
+            allIncluded.addAll(Optional.ofNullable(firstPage.getIncluded()).orElse(Collections.emptyList()));
+            // the first page had no total, or it would not have been handed over
+            totalExpectedHasNotBeenSet = false;
+            thisPageHadData = !firstPageData.isEmpty();
+            offset = firstPageEnd;
+        }
+        while (isMoreData && thisPageHadData) {
+            final int pageSize = pageSizeSupplier.getAsInt();
+            final W wrappedResponse;
+            try {
+                wrappedResponse = executePagedRequest(polarisPagedRequestWrapper, offset, pageSize);
+            } catch (final IntegrationException e) {
+                if (PolarisAdaptivePageSize.isTimeout(e) && pageSizeSupplier.getAsInt() < pageSize) {
+                    polarisHttpClient.getLogger().debug(String.format("The page at offset %d timed out, requesting it again with a page size of %d.", offset, pageSizeSupplier.getAsInt()));
+                    continue;
+                }
+                throw e;
+            }
             if (wrappedResponse == null) {
                 break;
             }
@@ -174,24 +339,435 @@ public <R extends PolarisResource> Optional<R> getFirstResponse2(final Request r
             }
             thisPageHadData = !data.isEmpty();
             offset += pageSize;
-        } while (isMoreData && thisPageHadData);
+        }
 
         // If wrappedResponse is null, populatedResources could be null -- rotte APR 2020
         if (populatedResources != null) {
-            populatedResources.setData(new ArrayList<>(allData));
-            populatedResources.setIncluded(new ArrayList<>(allIncluded));
+            mergeIntoFirstPage(populatedResources, allData, allIncluded);
         }
         return populatedResources;
     }
 
-    private <R extends PolarisResource, W extends PolarisResources<R>> W executePagedRequest(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final int offset, final int limit) throws IntegrationException {
+    private <R extends PolarisResource, W extends PolarisResources<R>> W getPopulatedResponseConcurrently(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final int pageSize) throws IntegrationException {
+        final W populatedResources = executePagedRequest(polarisPagedRequestWrapper, 0, pageSize);
+        if (null == populatedResources) {
+            return null;
+        }
+
+        final Integer totalExpected = Optional.ofNullable(populatedResources.getMeta())
+                                          .map(PolarisResourcesPagination::getTotal)
+                                          .map(BigDecimal::intValue)
+                                          .orElse(null);
+        final List<R> firstPageData = Optional.ofNullable(populatedResources.getData()).orElse(Collections.emptyList());
+        if (null == totalExpected) {
+            // Without a total there are no offsets to plan, so walk the rest one page at a time from where the first page ended
+            return getPopulatedResponseSequentially(polarisPagedRequestWrapper, () -> pageSize, populatedResources, pageSize);
+        }
+
+        final List<Callable<W>> remainingPages = new ArrayList<>();
+        for (int offset = pageSize; offset < totalExpected; offset += pageSize) {
+            final int pageOffset = offset;
+            remainingPages.add(() -> executePagedRequest(polarisPagedRequestWrapper, pageOffset, pageSize));
+        }
+
+        final List<W> allPages = new ArrayList<>(remainingPages.size() + 1);
+        allPages.add(populatedResources);
+        if (!firstPageData.isEmpty() && totalExpected > firstPageData.size()) {
+            allPages.addAll(executeConcurrently(remainingPages));
+        }
+
+        // Merge in offset order, stopping exactly where the sequential walk would have stopped
+        final List<R> allData = new ArrayList<>();
+        final List<PolarisResourceSparse> allIncluded = new ArrayList<>();
+        for (final W page : allPages) {
+            if (null == page) {
+                break;
+            }
+            final List<R> data = Optional.ofNullable(page.getData()).orElse(Collections.emptyList());
+            allData.addAll(data);
+
+            final List<PolarisResourceSparse> included = Optional.ofNullable(page.getIncluded()).orElse(Collections.emptyList());
+            allIncluded.addAll(included);
+
+            if (data.isEmpty() || totalExpected <= allData.size()) {
+                break;
+            }
+        }
+
+        mergeIntoFirstPage(populatedResources, allData, allIncluded);
+        return populatedResources;
+    }
+
+    <R extends PolarisResource, W extends PolarisResources<R>> W executePagedRequest(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final int offset, final int limit) throws IntegrationException {
+        final Request pagedRequest = polarisPagedRequestWrapper.getRequestCreator().apply(limit, offset);
+        if (null == adaptivePageSize) {
+            return executeForComponent(pagedRequest, polarisPagedRequestWrapper.getResponseType());
+        }
+
+        final PolarisEndpointFamily endpointFamily = PolarisEndpointFamily.fromUrl(pagedRequest.getUrl().string());
+        final RequestTiming timing = new RequestTiming();
+        try {
+            final W page = executeForComponent(pagedRequest, polarisPagedRequestWrapper.getResponseType(), timing);
+            final int resourceCount = null == page || null == page.getData() ? 0 : page.getData().size();
+            // only the server's share of the time says anything about the page size, not retries, throttling or decoding
+            adaptivePageSize.recordPage(endpointFamily, limit, resourceCount, TimeUnit.NANOSECONDS.toMillis(timing.exchangeNanos), timing.contentLength);
+            return page;
+        } catch (final IntegrationException e) {
+            if (PolarisAdaptivePageSize.isTimeout(e)) {
+                adaptivePageSize.recordTimeout(endpointFamily, limit);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Copies the body of one page straight into the target file, so the page is never held as a String. The copy is reported as the parse time of the request.
+     */
+    void writePagedResponse(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final int offset, final int limit, final Path target) throws IntegrationException {
         final Request pagedRequest = polarisPagedRequestWrapper.getRequestCreator().apply(limit, offset);
-        try (final Response response = polarisHttpClient.execute(pagedRequest)) {
-            response.throwExceptionForError();
-            return polarisJsonTransformer.getResponse(response, polarisPagedRequestWrapper.getResponseType());
-        } catch (final IOException e) {
-            throw new IntegrationException("Problem handling request", e);
+        executeInstrumented(pagedRequest, getInstrumentation().isEnabled() ? new RequestTiming() : null, timing -> executeWithRetries(pagedRequest, timing, () -> {
+            try (final Response response = executeTimed(pagedRequest, timing)) {
+                response.throwExceptionForError();
+                final long copyStart = System.nanoTime();
+                try (final InputStream content = response.getContent()) {
+                    final long copiedBytes = Files.copy(content, target, StandardCopyOption.REPLACE_EXISTING);
+                    if (null != timing) {
+                        timing.contentLength = copiedBytes;
+                        timing.parseNanos += System.nanoTime() - copyStart;
+                    }
+                }
+                return target;
+            } catch (final IOException e) {
+                throw new IntegrationException("Problem handling request", e);
+            }
+        }));
+    }
+
+    PolarisJsonTransformer getPolarisJsonTransformer() {
+        return polarisJsonTransformer;
+    }
+
+    public PolarisRetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public Optional<PolarisResponseCache> getResponseCache() {
+        return Optional.ofNullable(responseCache);
+    }
+
+    /**
+     * The instrumentation of the underlying client, or PolarisInstrumentation.NOOP when it has none.
+     */
+    public PolarisInstrumentation getInstrumentation() {
+        final PolarisInstrumentation instrumentation = polarisHttpClient.getInstrumentation();
+        return null == instrumentation ? PolarisInstrumentation.NOOP : instrumentation;
+    }
+
+    public Optional<PolarisAdaptivePageSize> getAdaptivePageSize() {
+        return Optional.ofNullable(adaptivePageSize);
+    }
+
+    private int getPageSize(final PolarisPagedRequestWrapper polarisPagedRequestWrapper) {
+        if (null == adaptivePageSize) {
+            return defaultPageSize;
+        }
+        return adaptivePageSize.getPageSize(getEndpointFamily(polarisPagedRequestWrapper));
+    }
+
+    private PolarisEndpointFamily getEndpointFamily(final PolarisPagedRequestWrapper polarisPagedRequestWrapper) {
+        final Request firstPageRequest = polarisPagedRequestWrapper.getRequestCreator().apply(defaultPageSize, 0);
+        return PolarisEndpointFamily.fromUrl(firstPageRequest.getUrl().string());
+    }
+
+    private <R extends PolarisResource, W extends PolarisResources<R>> List<R> walkAllResponses(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final int pageSize, final boolean adaptive) throws IntegrationException {
+        final PolarisInstrumentation instrumentation = getInstrumentation();
+        if (!instrumentation.isEnabled()) {
+            final W populatedResponse = walkPopulatedResponse(polarisPagedRequestWrapper, pageSize, adaptive);
+            return getData(populatedResponse);
+        }
+
+        final Request firstPageRequest = polarisPagedRequestWrapper.getRequestCreator().apply(pageSize, 0);
+        final PolarisInstrumentation.Span span = instrumentation.startSpan(PolarisInstrumentation.GET_ALL_RESPONSES_SPAN, firstPageRequest.getUrl());
+        span.setAttribute(PolarisInstrumentation.PAGE_SIZE_ATTRIBUTE, pageSize);
+        try {
+            final W populatedResponse = walkPopulatedResponse(polarisPagedRequestWrapper, pageSize, adaptive);
+            final List<R> allResponses = getData(populatedResponse);
+            span.setAttribute(PolarisInstrumentation.RESOURCE_COUNT_ATTRIBUTE, allResponses.size());
+            span.end(null);
+            return allResponses;
+        } catch (final IntegrationException | RuntimeException e) {
+            span.end(e);
+            throw e;
+        }
+    }
+
+    private <R extends PolarisResource> List<R> getData(final PolarisResources<R> populatedResponse) {
+        if (populatedResponse == null) {
+            return Collections.emptyList();
+        }
+
+        return populatedResponse.getData();
+    }
+
+    private <R extends PolarisResource, W extends PolarisResources<R>> W walkPopulatedResponse(final PolarisPagedRequestWrapper polarisPagedRequestWrapper, final int pageSize, final boolean adaptive) throws IntegrationException {
+        if (null != concurrentRequestExecutor && pageSize > 0) {
+            // the offsets of a concurrent walk are planned up front, so it keeps the size it started with
+            return getPopulatedResponseConcurrently(polarisPagedRequestWrapper, pageSize);
+        }
+        if (adaptive && pageSize > 0) {
+            final PolarisEndpointFamily endpointFamily = getEndpointFamily(polarisPagedRequestWrapper);
+            return getPopulatedResponseSequentially(polarisPagedRequestWrapper, () -> adaptivePageSize.getPageSize(endpointFamily));
+        }
+        return getPopulatedResponseSequentially(polarisPagedRequestWrapper, () -> pageSize);
+    }
+
+    private void addRelatedIncluded(final JsonElement linkage, final PolarisIncludedResourceIndex includedResourceIndex, final JsonArray relatedIncluded, final Set<String> relatedIncludedIds) throws IntegrationException {
+        if (!linkage.isJsonObject()) {
+            return;
+        }
+        final JsonObject linkageObject = linkage.getAsJsonObject();
+        final JsonElement type = linkageObject.get(TYPE_MEMBER);
+        final JsonElement id = linkageObject.get(ID_MEMBER);
+        if (null == type || null == id || !type.isJsonPrimitive() || !id.isJsonPrimitive()) {
+            return;
+        }
+
+        final Optional<PolarisResource> includedResource = includedResourceIndex.getIncludedResource(type.getAsString(), id.getAsString());
+        if (includedResource.isPresent() && relatedIncludedIds.add(type.getAsString() + '/' + id.getAsString())) {
+            relatedIncluded.add(polarisJsonTransformer.getJsonObject(includedResource.get().getJson()));
+        }
+    }
+
+    private <C extends PolarisComponent> C executeForComponent(final Request request, final Type responseType) throws IntegrationException {
+        return executeForComponent(request, responseType, getInstrumentation().isEnabled() ? new RequestTiming() : null);
+    }
+
+    private <C extends PolarisComponent> C executeForComponent(final Request request, final Type responseType, final RequestTiming timing) throws IntegrationException {
+        return executeInstrumented(request, timing, requestTiming -> executeAttempts(request, responseType, requestTiming));
+    }
+
+    /**
+     * Reports the request to the instrumentation once all of its attempts are over.
+     */
+    private <T> T executeInstrumented(final Request request, final RequestTiming timing, final TimedRequest<T> timedRequest) throws IntegrationException {
+        final PolarisInstrumentation instrumentation = getInstrumentation();
+        if (!instrumentation.isEnabled()) {
+            return timedRequest.execute(timing);
+        }
+
+        final RequestTiming requestTiming = null == timing ? new RequestTiming() : timing;
+        final long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            final T result = timedRequest.execute(requestTiming);
+            succeeded = true;
+            return result;
+        } finally {
+            instrumentation.requestCompleted(PolarisEndpointFamily.fromUrl(request.getUrl().string()), request.getMethod(), request.getUrl(), requestTiming.attempts, System.nanoTime() - start, requestTiming.parseNanos, succeeded);
+        }
+    }
+
+    private <C extends PolarisComponent> C executeAttempts(final Request request, final Type responseType, final RequestTiming timing) throws IntegrationException {
+        if (null == responseCache || HttpMethod.GET != request.getMethod()) {
+            return executeWithRetries(request, timing, () -> {
+                try (final Response response = executeTimed(request, timing)) {
+                    response.throwExceptionForError();
+                    return parseResponse(response, responseType, timing);
+                } catch (final IOException e) {
+                    throw new IntegrationException("Problem handling request", e);
+                }
+            });
+        }
+
+        final String cacheKey = PolarisResponseCache.createKey(request, responseType);
+        final Optional<PolarisResponseCache.CachedResponse> cachedResponse = responseCache.get(cacheKey, System.currentTimeMillis());
+        final Request conditionalRequest = cachedResponse
+                                               .map(cached -> cached.createConditionalRequest(request))
+                                               .orElse(request);
+        return executeWithRetries(conditionalRequest, timing, () -> {
+            try (final Response response = executeTimed(conditionalRequest, timing)) {
+                if (cachedResponse.isPresent() && Integer.valueOf(PolarisResponseCache.NOT_MODIFIED).equals(response.getStatusCode())) {
+                    responseCache.recordHit();
+                    // bound to a new component rather than shared, since callers such as the paged walks modify what they are given
+                    return bindJsonObject(cachedResponse.get().getJsonObject(), responseType, timing);
+                }
+                response.throwExceptionForError();
+
+                final JsonObject jsonObject = parseJsonObject(response, timing);
+                final C parsedResponse = null == jsonObject ? null : bindJsonObject(jsonObject, responseType, timing);
+                responseCache.recordMiss();
+                responseCache.put(cacheKey, response, jsonObject, null == parsedResponse ? null : parsedResponse.getJson(), System.currentTimeMillis());
+                return parsedResponse;
+            } catch (final IOException e) {
+                throw new IntegrationException("Problem handling request", e);
+            }
+        });
+    }
+
+    private <C extends PolarisComponent> C parseResponse(final Response response, final Type responseType, final RequestTiming timing) throws IntegrationException {
+        if (null == timing) {
+            return polarisJsonTransformer.getResponse(response, responseType);
+        }
+
+        timing.contentLength = NumberUtils.toLong(response.getHeaderValue(PolarisResponseCache.CONTENT_LENGTH_HEADER), -1L);
+        if (polarisJsonTransformer.isStreamResponseContent()) {
+            // reading and decoding a streamed body cannot be told apart, so all of it counts as parsing
+            final long start = System.nanoTime();
+            try {
+                return polarisJsonTransformer.getResponse(response, responseType);
+            } finally {
+                timing.parseNanos += System.nanoTime() - start;
+            }
+        }
+
+        final long readStart = System.nanoTime();
+        final String json = response.getContentString();
+        final long parseStart = System.nanoTime();
+        timing.exchangeNanos += parseStart - readStart;
+        try {
+            return polarisJsonTransformer.getResponseAs(json, responseType);
+        } finally {
+            timing.parseNanos += System.nanoTime() - parseStart;
+        }
+    }
+
+    /**
+     * Each attempt replaces the exchange time of the one before it, so what is left afterwards is the exchange of the last attempt alone.
+     */
+    private Response executeTimed(final Request request, final RequestTiming timing) throws IntegrationException {
+        final long start = System.nanoTime();
+        final Response response = polarisHttpClient.execute(request);
+        if (null != timing) {
+            // a governed response leaves out the time its request waited for the governor
+            timing.exchangeNanos = response instanceof PolarisTimedResponse ? ((PolarisTimedResponse) response).getExchangeNanos() : System.nanoTime() - start;
+        }
+        return response;
+    }
+
+    /**
+     * Reads the response into a json object that already carries its json fields, so that a cached copy of it only has to be bound on a later 304.
+     */
+    private JsonObject parseJsonObject(final Response response, final RequestTiming timing) throws IntegrationException, IOException {
+        final long readStart = System.nanoTime();
+        final JsonObject jsonObject;
+        long parseStart = readStart;
+        if (polarisJsonTransformer.isStreamResponseContent()) {
+            // reading and decoding a streamed body cannot be told apart, so all of it counts as parsing
+            try (final Reader reader = new InputStreamReader(response.getContent(), StandardCharsets.UTF_8)) {
+                jsonObject = polarisJsonTransformer.getJsonObject(reader);
+            }
+        } else {
+            final String json = response.getContentString();
+            parseStart = System.nanoTime();
+            jsonObject = polarisJsonTransformer.getJsonObject(json);
+        }
+        if (null != jsonObject) {
+            polarisJsonTransformer.addJsonFields(jsonObject);
+        }
+
+        if (null != timing) {
+            timing.contentLength = NumberUtils.toLong(response.getHeaderValue(PolarisResponseCache.CONTENT_LENGTH_HEADER), -1L);
+            timing.exchangeNanos += parseStart - readStart;
+            timing.parseNanos += System.nanoTime() - parseStart;
+        }
+        return jsonObject;
+    }
+
+    private <C extends PolarisComponent> C bindJsonObject(final JsonObject jsonObject, final Type responseType, final RequestTiming timing) throws IntegrationException {
+        final long start = System.nanoTime();
+        try {
+            return polarisJsonTransformer.bindResponse(jsonObject, responseType);
+        } finally {
+            if (null != timing) {
+                timing.parseNanos += System.nanoTime() - start;
+            }
         }
     }
 
+    private <R extends PolarisResource, W extends PolarisResources<R>> void mergeIntoFirstPage(final W firstPage, final List<R> allData, final List<PolarisResourceSparse> allIncluded) {
+        firstPage.setData(new ArrayList<>(allData));
+        firstPage.setIncluded(new ArrayList<>(allIncluded));
+    }
+
+    private <T> T executeWithRetries(final Request request, final RequestTiming timing, final RequestAttempt<T> requestAttempt) throws IntegrationException {
+        int attempt = 1;
+        while (true) {
+            if (null != timing) {
+                timing.attempts = attempt;
+            }
+            try {
+                return requestAttempt.execute();
+            } catch (final IntegrationException e) {
+                if (!retryPolicy.shouldRetry(request, e, attempt)) {
+                    throw e;
+                }
+                final long backoffMillis = retryPolicy.getBackoffMillis(attempt);
+                polarisHttpClient.getLogger().debug(String.format("Attempt %d of %d for %s failed (%s), retrying in %dms.", attempt, retryPolicy.getMaxAttempts(), request.getUrl(), e.getMessage(), backoffMillis));
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (final InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IntegrationException("Interrupted while waiting to retry " + request.getUrl(), interrupted);
+                }
+                attempt++;
+            }
+        }
+    }
+
+    private <T> T callConcurrently(final Callable<T> task) throws Exception {
+        RUNNING_CONCURRENTLY.set(Boolean.TRUE);
+        try {
+            return task.call();
+        } finally {
+            RUNNING_CONCURRENTLY.remove();
+        }
+    }
+
+    private <T> T callUnwrapped(final Callable<T> task) throws IntegrationException {
+        try {
+            return task.call();
+        } catch (final IntegrationException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IntegrationException(e.getMessage(), e);
+        }
+    }
+
+    private IntegrationException unwrapExecutionException(final ExecutionException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof IntegrationException) {
+            return (IntegrationException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IntegrationException(cause.getMessage(), cause);
+    }
+
+    @FunctionalInterface
+    private interface RequestAttempt<T> {
+        T execute() throws IntegrationException;
+
+    }
+
+    @FunctionalInterface
+    private interface TimedRequest<T> {
+        T execute(RequestTiming timing) throws IntegrationException;
+
+    }
+
+    /**
+     * Only created while instrumentation or adaptive page sizes are enabled. Each instance belongs to the one thread executing its request.
+     */
+    private static class RequestTiming {
+        private int attempts;
+        private long parseNanos;
+        private long exchangeNanos;
+        private long contentLength = -1L;
+
+    }
+
 }
@@ -7,19 +7,50 @@
  */
 package com.synopsys.integration.polaris.common.service;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.polaris.common.api.common.model.branch.BranchV0Resource;
+import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resource;
+import com.synopsys.integration.polaris.common.concurrent.PolarisExecutorStrategy;
+import com.synopsys.integration.polaris.common.request.PolarisAdaptivePageSize;
 import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
+import com.synopsys.integration.polaris.common.request.PolarisRetryPolicy;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.polaris.common.rest.PolarisInstrumentation;
+import com.synopsys.integration.polaris.common.service.async.AsyncAuthService;
+import com.synopsys.integration.polaris.common.service.async.AsyncBranchService;
+import com.synopsys.integration.polaris.common.service.async.AsyncContextsService;
+import com.synopsys.integration.polaris.common.service.async.AsyncCountService;
+import com.synopsys.integration.polaris.common.service.async.AsyncGroupService;
+import com.synopsys.integration.polaris.common.service.async.AsyncIssueService;
+import com.synopsys.integration.polaris.common.service.async.AsyncJobService;
+import com.synopsys.integration.polaris.common.service.async.AsyncProjectService;
+import com.synopsys.integration.polaris.common.service.async.AsyncRoleAssignmentService;
+import com.synopsys.integration.polaris.common.service.async.AsyncUserService;
+import com.synopsys.integration.polaris.common.service.async.PolarisAsyncExecutor;
 import com.synopsys.integration.rest.RestConstants;
 
-public class PolarisServicesFactory {
+public class PolarisServicesFactory implements AutoCloseable {
     private final IntLogger logger;
     private final AccessTokenPolarisHttpClient httpClient;
     private final Gson gson;
-    private final PolarisJsonTransformer polarisJsonTransformer;
+    private PolarisJsonTransformer polarisJsonTransformer;
     private int defaultPageSize;
+    private PolarisExecutorStrategy executorStrategy = PolarisExecutorStrategy.sequential();
+    private final List<PolarisExecutorStrategy> replacedExecutorStrategies = new ArrayList<>();
+    private JobPollSchedule jobPollSchedule;
+    private PolarisRetryPolicy retryPolicy = PolarisRetryPolicy.noRetries();
+    private PolarisResponseCache responseCache;
+    private PolarisAdaptivePageSize adaptivePageSize;
+    private PolarisResolutionCache<String, Optional<ProjectV0Resource>> projectsByName;
+    private PolarisResolutionCache<List<String>, Optional<BranchV0Resource>> branchesByProjectAndName;
 
     public PolarisServicesFactory(final IntLogger logger, final AccessTokenPolarisHttpClient httpClient, final Gson gson) {
         this.logger = logger;
@@ -38,10 +69,20 @@ public class PolarisServicesFactory {
     }
 
     public PolarisService createPolarisService() {
-        return new PolarisService(httpClient, polarisJsonTransformer, defaultPageSize);
+        return new PolarisService(httpClient, polarisJsonTransformer, defaultPageSize, executorStrategy.getExecutorService(), retryPolicy, responseCache, adaptivePageSize);
+    }
+
+    /**
+     * Each spill directory holds a single export, so use a separate directory for every paged request that should be checkpointed.
+     */
+    public PolarisCheckpointedPagedReader createCheckpointedPagedReader(final Path spillDirectory) {
+        return new PolarisCheckpointedPagedReader(logger, createPolarisService(), gson, spillDirectory);
     }
 
     public BranchService createBranchService() {
+        if (null != branchesByProjectAndName) {
+            return new CachingBranchService(httpClient, createPolarisService(), branchesByProjectAndName);
+        }
         return new BranchService(httpClient, createPolarisService());
     }
 
@@ -50,10 +91,22 @@ public class PolarisServicesFactory {
     }
 
     public JobService createJobService() {
-        return new JobService(httpClient, createPolarisService());
+        return new JobService(httpClient, createPolarisService(), jobPollSchedule);
+    }
+
+    /**
+     * Watchers poll on the threads of the current executor strategy. Close a watcher once its jobs have ended to stop its polling.
+     */
+    public JobWatcher createJobWatcher() {
+        final PolarisService polarisService = createPolarisService();
+        final JobPollSchedule watcherPollSchedule = null == jobPollSchedule ? JobPollSchedule.createDefault() : jobPollSchedule;
+        return new JobWatcher(httpClient, polarisService, new JobService(httpClient, polarisService, jobPollSchedule), watcherPollSchedule, getExecutorStrategy());
     }
 
     public ProjectService createProjectService() {
+        if (null != projectsByName) {
+            return new CachingProjectService(httpClient, createPolarisService(), projectsByName);
+        }
         return new ProjectService(httpClient, createPolarisService());
     }
 
@@ -81,6 +134,46 @@ public class PolarisServicesFactory {
         return new ContextsService(createPolarisService(), httpClient);
     }
 
+    public AsyncProjectService createAsyncProjectService() {
+        return new AsyncProjectService(createProjectService(), createPolarisAsyncExecutor());
+    }
+
+    public AsyncBranchService createAsyncBranchService() {
+        return new AsyncBranchService(createBranchService(), createPolarisAsyncExecutor());
+    }
+
+    public AsyncIssueService createAsyncIssueService() {
+        return new AsyncIssueService(createIssueService(), createPolarisAsyncExecutor());
+    }
+
+    public AsyncJobService createAsyncJobService() {
+        return new AsyncJobService(createJobService(), createPolarisAsyncExecutor());
+    }
+
+    public AsyncAuthService createAsyncAuthService() {
+        return new AsyncAuthService(createAuthService(), createPolarisAsyncExecutor());
+    }
+
+    public AsyncRoleAssignmentService createAsyncRoleAssignmentService() {
+        return new AsyncRoleAssignmentService(createRoleAssignmentService(), createPolarisAsyncExecutor());
+    }
+
+    public AsyncUserService createAsyncUserService() {
+        return new AsyncUserService(createUserService(), createPolarisAsyncExecutor());
+    }
+
+    public AsyncGroupService createAsyncGroupService() {
+        return new AsyncGroupService(createGroupService(), createPolarisAsyncExecutor());
+    }
+
+    public AsyncCountService createAsyncCountService() {
+        return new AsyncCountService(createCountService(), createPolarisAsyncExecutor());
+    }
+
+    public AsyncContextsService createAsyncContextsService() {
+        return new AsyncContextsService(createContextsService(), createPolarisAsyncExecutor());
+    }
+
     public IntLogger getLogger() {
         return logger;
     }
@@ -99,4 +192,144 @@ public class PolarisServicesFactory {
         }
     }
 
+    /**
+     * Opts in to fetching the pages of a paged walk concurrently once the first page has reported its total. All services created by this factory share one executor, so at most maxConcurrentRequests requests are in flight at a time. A value of 1 (the default) keeps the sequential walk. The threads come from the current executor strategy, which is a bounded platform pool unless setExecutorStrategy says otherwise.
+     */
+    public synchronized void setMaxConcurrentRequests(final int maxConcurrentRequests) {
+        if (maxConcurrentRequests > 0 && maxConcurrentRequests != executorStrategy.getMaxConcurrentRequests()) {
+            // Services created earlier keep the executor they were given, whose idle threads time out on their own, and the scheduler is shared with the new strategy
+            replaceExecutorStrategy(executorStrategy.withMaxConcurrentRequests(maxConcurrentRequests));
+        }
+    }
+
+    /**
+     * Every concurrent feature of the services created after this call - parallel paging, batch fetches, the async services and job polling - runs on the strategy's threads. Services created earlier keep using the replaced strategy until close() shuts it down.
+     */
+    public synchronized void setExecutorStrategy(final PolarisExecutorStrategy executorStrategy) {
+        if (null != executorStrategy) {
+            replaceExecutorStrategy(executorStrategy);
+        }
+    }
+
+    /**
+     * PolarisJsonFieldMode.RESOURCES_ONLY avoids re-serializing every nested object of a response, at the cost of nested components no longer carrying json.
+     */
+    public void setJsonFieldMode(final PolarisJsonFieldMode jsonFieldMode) {
+        if (null != jsonFieldMode) {
+            this.polarisJsonTransformer = new PolarisJsonTransformer(gson, logger, jsonFieldMode, polarisJsonTransformer.isStreamResponseContent());
+        }
+    }
+
+    /**
+     * When enabled, response bodies are decoded straight from the HTTP content stream rather than first being copied into a String.
+     */
+    public void setStreamResponseContent(final boolean streamResponseContent) {
+        this.polarisJsonTransformer = new PolarisJsonTransformer(gson, logger, polarisJsonTransformer.getJsonFieldMode(), streamResponseContent);
+    }
+
+    /**
+     * Opts the JobService waits that are not given a wait interval into polling on this schedule. By default they keep polling every JobService.DEFAULT_WAIT_INTERVAL seconds, and null restores that. A JobWatcher uses JobPollSchedule.createDefault() unless a schedule is set here.
+     */
+    public void setJobPollSchedule(final JobPollSchedule jobPollSchedule) {
+        this.jobPollSchedule = jobPollSchedule;
+    }
+
+    /**
+     * Runs the async services, and everything else the executor strategy would run, on the given executor by switching to a caller supplied strategy that keeps the current maxConcurrentRequests. Without it the async services run on the task executor of the current strategy.
+     */
+    public synchronized void setAsyncExecutor(final Executor asyncExecutor) {
+        if (null != asyncExecutor) {
+            replaceExecutorStrategy(executorStrategy.withCallerSuppliedExecutor(asyncExecutor));
+        }
+    }
+
+    /**
+     * Failed GET requests are repeated according to this policy. Nothing is retried unless one is set; PolarisRetryPolicy.createDefault() is a reasonable starting point.
+     */
+    public void setRetryPolicy(final PolarisRetryPolicy retryPolicy) {
+        if (null != retryPolicy) {
+            this.retryPolicy = retryPolicy;
+        }
+    }
+
+    public PolarisRetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Reports the timing and outcome of every request made through this factory's client, and span-style events for paged walks and job waits, to the given instrumentation. The client is shared, so this applies to services created before the call as well.
+     */
+    public void setInstrumentation(final PolarisInstrumentation instrumentation) {
+        httpClient.useInstrumentation(instrumentation);
+    }
+
+    /**
+     * Opts in to caching GET responses that carry an ETag or Last-Modified header. The cache is shared by every service created after this call, and a null cache turns caching off again.
+     */
+    public void setResponseCache(final PolarisResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    public Optional<PolarisResponseCache> getResponseCache() {
+        return Optional.ofNullable(responseCache);
+    }
+
+    /**
+     * Opts in to learning a page size for each endpoint family, in place of the default page size, for the paged walks of every service created after this call. A null value goes back to the default page size.
+     */
+    public void setAdaptivePageSize(final PolarisAdaptivePageSize adaptivePageSize) {
+        this.adaptivePageSize = adaptivePageSize;
+    }
+
+    public Optional<PolarisAdaptivePageSize> getAdaptivePageSize() {
+        return Optional.ofNullable(adaptivePageSize);
+    }
+
+    /**
+     * Opts in to remembering which project a name, and which branch a project id and branch name, resolved to. Every project and branch service created after this call shares the same two caches.
+     */
+    public void useResolutionCaches(final int maxEntries, final long timeToLiveMillis) {
+        this.projectsByName = new PolarisResolutionCache<>(maxEntries, timeToLiveMillis);
+        this.branchesByProjectAndName = new PolarisResolutionCache<>(maxEntries, timeToLiveMillis);
+    }
+
+    public Optional<PolarisResolutionCache<String, Optional<ProjectV0Resource>>> getProjectsByNameCache() {
+        return Optional.ofNullable(projectsByName);
+    }
+
+    public Optional<PolarisResolutionCache<List<String>, Optional<BranchV0Resource>>> getBranchesByProjectAndNameCache() {
+        return Optional.ofNullable(branchesByProjectAndName);
+    }
+
+    public synchronized int getMaxConcurrentRequests() {
+        return executorStrategy.getMaxConcurrentRequests();
+    }
+
+    public synchronized PolarisExecutorStrategy getExecutorStrategy() {
+        return executorStrategy;
+    }
+
+    /**
+     * Shuts down the current executor strategy and every strategy it replaced, so the services and watchers created by this factory can no longer run concurrent work. A caller supplied executor is left running.
+     */
+    @Override
+    public synchronized void close() {
+        for (final PolarisExecutorStrategy replacedExecutorStrategy : replacedExecutorStrategies) {
+            replacedExecutorStrategy.shutdown();
+        }
+        replacedExecutorStrategies.clear();
+        executorStrategy.shutdown();
+    }
+
+    private synchronized PolarisAsyncExecutor createPolarisAsyncExecutor() {
+        return new PolarisAsyncExecutor(executorStrategy.getTaskExecutor());
+    }
+
+    private void replaceExecutorStrategy(final PolarisExecutorStrategy executorStrategy) {
+        if (this.executorStrategy != executorStrategy) {
+            replacedExecutorStrategies.add(this.executorStrategy);
+            this.executorStrategy = executorStrategy;
+        }
+    }
+
 }
@@ -7,13 +7,17 @@
  */
 package com.synopsys.integration.polaris.common.service;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.google.gson.reflect.TypeToken;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resource;
 import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resources;
+import com.synopsys.integration.polaris.common.request.PolarisPagedRequestCreator;
 import com.synopsys.integration.polaris.common.request.PolarisPagedRequestWrapper;
 import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
 import com.synopsys.integration.polaris.common.request.param.FilterConstants;
@@ -22,6 +26,8 @@ import com.synopsys.integration.rest.HttpUrl;
 import com.synopsys.integration.rest.request.Request;
 
 public class ProjectService {
+    public static final String PROJECT_TYPE = "project";
+
     private static final TypeToken PROJECT_RESOURCES = new TypeToken<ProjectV0Resources>() {};
 
     private final AccessTokenPolarisHttpClient polarisHttpClient;
@@ -33,13 +39,20 @@ public class ProjectService {
     }
 
     public Optional<ProjectV0Resource> getProjectByName(final String projectName) throws IntegrationException {
+        return getProjectByName(projectName, Collections.emptyList());
+    }
+
+    /**
+     * @param projectFields the attributes and relationships the project should come back with, or none for the whole project
+     */
+    public Optional<ProjectV0Resource> getProjectByName(final String projectName, final Collection<String> projectFields) throws IntegrationException {
         final HttpUrl url = polarisHttpClient.appendToPolarisUrl(PolarisService.PROJECT_API_SPEC);
-        final Request request =
+        final Request.Builder requestBuilder =
             PolarisRequestFactory.createDefaultRequestBuilder()
                 .addQueryParameter(FilterConstants.FILTER_PROJECT_NAME_CONTAINS, projectName)
-                .url(url)
-                .build();
-        return polarisService.getFirstResponse(request, PROJECT_RESOURCES.getType());
+                .url(url);
+        PolarisRequestFactory.populateFieldsRequestBuilder(requestBuilder, PROJECT_TYPE, projectFields);
+        return polarisService.getFirstResponse(requestBuilder.build(), PROJECT_RESOURCES.getType());
     }
 
     public List<ProjectV0Resource> getAllProjects() throws IntegrationException {
@@ -47,10 +60,29 @@ public class ProjectService {
         return polarisService.getAllResponses(pagedRequestWrapper);
     }
 
+    /**
+     * Walks every project, asking for only the given attributes and relationships of each - for example just "name" when resolving project ids.
+     */
+    public List<ProjectV0Resource> getAllProjects(final Collection<String> projectFields) throws IntegrationException {
+        final PolarisPagedRequestCreator createPagedRequest = (limit, offset) -> createProjectGetRequest(limit, offset, projectFields);
+        final PolarisPagedRequestWrapper pagedRequestWrapper = new PolarisPagedRequestWrapper(createPagedRequest, PROJECT_RESOURCES.getType());
+        return polarisService.getAllResponses(pagedRequestWrapper);
+    }
+
+    public Stream<ProjectV0Resource> streamAllProjects() {
+        final PolarisPagedRequestWrapper pagedRequestWrapper = new PolarisPagedRequestWrapper(this::createProjectGetRequest, PROJECT_RESOURCES.getType());
+        return polarisService.streamAllResponses(pagedRequestWrapper);
+    }
+
     public Request createProjectGetRequest(final int limit, final int offset) {
+        return createProjectGetRequest(limit, offset, Collections.emptyList());
+    }
+
+    public Request createProjectGetRequest(final int limit, final int offset, final Collection<String> projectFields) {
         final HttpUrl url = polarisHttpClient.appendToPolarisUrl(PolarisService.PROJECT_API_SPEC);
-        return PolarisRequestFactory.createDefaultPagedRequestBuilder(limit, offset)
-                   .url(url)
+        final Request.Builder requestBuilder = PolarisRequestFactory.createDefaultPagedRequestBuilder(limit, offset)
+                                                   .url(url);
+        return PolarisRequestFactory.populateFieldsRequestBuilder(requestBuilder, PROJECT_TYPE, projectFields)
                    .build();
     }
 
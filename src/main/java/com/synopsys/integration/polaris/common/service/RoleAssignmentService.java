@@ -65,15 +65,27 @@ public class RoleAssignmentService {
     }
 
     public Optional<GroupResource> getGroupFromPopulatedRoleAssignments(final RoleAssignmentResources populatedResources, final RoleAssignmentResource referencedResource) {
-        return getResourceFromPopulatedRoleAssignments(populatedResources, referencedResource, RoleAssignmentRelationships::getGroup, GroupResource.class);
+        return getGroupFromPopulatedRoleAssignments(polarisService.getIncludedResourceIndex(populatedResources), referencedResource);
+    }
+
+    public Optional<GroupResource> getGroupFromPopulatedRoleAssignments(final PolarisIncludedResourceIndex includedResourceIndex, final RoleAssignmentResource referencedResource) {
+        return getResourceFromPopulatedRoleAssignments(includedResourceIndex, referencedResource, RoleAssignmentRelationships::getGroup, GroupResource.class);
     }
 
     public Optional<UserResource> getUserFromPopulatedRoleAssignments(final RoleAssignmentResources populatedResources, final RoleAssignmentResource referencedResource) {
-        return getResourceFromPopulatedRoleAssignments(populatedResources, referencedResource, RoleAssignmentRelationships::getUser, UserResource.class);
+        return getUserFromPopulatedRoleAssignments(polarisService.getIncludedResourceIndex(populatedResources), referencedResource);
+    }
+
+    public Optional<UserResource> getUserFromPopulatedRoleAssignments(final PolarisIncludedResourceIndex includedResourceIndex, final RoleAssignmentResource referencedResource) {
+        return getResourceFromPopulatedRoleAssignments(includedResourceIndex, referencedResource, RoleAssignmentRelationships::getUser, UserResource.class);
     }
 
     public Optional<RoleResource> getRoleFromPopulatedRoleAssignments(final RoleAssignmentResources populatedResources, final RoleAssignmentResource referencedResource) {
-        return getResourceFromPopulatedRoleAssignments(populatedResources, referencedResource, RoleAssignmentRelationships::getRole, RoleResource.class);
+        return getRoleFromPopulatedRoleAssignments(polarisService.getIncludedResourceIndex(populatedResources), referencedResource);
+    }
+
+    public Optional<RoleResource> getRoleFromPopulatedRoleAssignments(final PolarisIncludedResourceIndex includedResourceIndex, final RoleAssignmentResource referencedResource) {
+        return getResourceFromPopulatedRoleAssignments(includedResourceIndex, referencedResource, RoleAssignmentRelationships::getRole, RoleResource.class);
     }
 
     public PolarisParamBuilder createProjectFilter(final String projectId) {
@@ -86,11 +98,11 @@ public class RoleAssignmentService {
                    .setCaseSensitive(false);
     }
 
-    private <R extends PolarisResource> Optional<R> getResourceFromPopulatedRoleAssignments(final RoleAssignmentResources populatedResources, final RoleAssignmentResource resourceReferenced,
+    private <R extends PolarisResource> Optional<R> getResourceFromPopulatedRoleAssignments(final PolarisIncludedResourceIndex includedResourceIndex, final RoleAssignmentResource resourceReferenced,
         final Function<RoleAssignmentRelationships, PolarisRelationshipSingle> relationshipRetriever, final Class<R> resourceClass) {
         final Optional<PolarisResourceSparse> optionalResourceData = relationshipRetriever.apply(resourceReferenced.getRelationships()).getData();
         if (optionalResourceData.isPresent()) {
-            return polarisService.getResourceFromPopulated(populatedResources, optionalResourceData.get(), resourceClass);
+            return polarisService.getResourceFromPopulated(includedResourceIndex, optionalResourceData.get(), resourceClass);
         }
         return Optional.empty();
     }
@@ -0,0 +1,138 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.synopsys.integration.polaris.common.api.PolarisRelationshipMultiple;
+import com.synopsys.integration.polaris.common.api.PolarisResourceSparse;
+import com.synopsys.integration.polaris.common.api.auth.model.user.UserResource;
+
+/**
+ * Maps each group id to the ids of its users, so that the members of a group are found without scanning every user. The index is built from a single walk of the users and can be brought up to date with a later complete walk, which re-indexes only the memberships that changed.
+ */
+public class UserGroupMembershipIndex {
+    private final Map<String, UserResource> usersById = new HashMap<>();
+    private final Map<String, Set<String>> groupIdsByUserId = new HashMap<>();
+    private final Map<String, Set<String>> userIdsByGroupId = new HashMap<>();
+
+    public static UserGroupMembershipIndex fromUsers(final Collection<UserResource> users) {
+        final UserGroupMembershipIndex membershipIndex = new UserGroupMembershipIndex();
+        membershipIndex.update(users);
+        return membershipIndex;
+    }
+
+    /**
+     * Adds or replaces the given users without touching any other user in the index.
+     */
+    public synchronized void update(final Collection<UserResource> users) {
+        for (final UserResource user : users) {
+            if (null == user || null == user.getId()) {
+                continue;
+            }
+            usersById.put(user.getId(), user);
+
+            final Set<String> currentGroupIds = getGroupIds(user);
+            final Set<String> previousGroupIds = groupIdsByUserId.getOrDefault(user.getId(), Collections.emptySet());
+            if (currentGroupIds.equals(previousGroupIds)) {
+                continue;
+            }
+            for (final String removedGroupId : previousGroupIds) {
+                if (!currentGroupIds.contains(removedGroupId)) {
+                    removeMembership(removedGroupId, user.getId());
+                }
+            }
+            for (final String addedGroupId : currentGroupIds) {
+                userIdsByGroupId.computeIfAbsent(addedGroupId, ignored -> new HashSet<>()).add(user.getId());
+            }
+            groupIdsByUserId.put(user.getId(), currentGroupIds);
+        }
+    }
+
+    /**
+     * Brings the index in line with a complete walk of the users: users that are no longer present are dropped and only the memberships that changed are re-indexed.
+     */
+    public synchronized void refresh(final Collection<UserResource> allUsers) {
+        final Set<String> currentUserIds = allUsers.stream()
+                                               .filter(user -> null != user && null != user.getId())
+                                               .map(UserResource::getId)
+                                               .collect(Collectors.toSet());
+        final Set<String> removedUserIds = new HashSet<>(usersById.keySet());
+        removedUserIds.removeAll(currentUserIds);
+        removedUserIds.forEach(this::removeUser);
+        update(allUsers);
+    }
+
+    public synchronized void removeUser(final String userId) {
+        usersById.remove(userId);
+        final Set<String> groupIds = groupIdsByUserId.remove(userId);
+        if (null != groupIds) {
+            groupIds.forEach(groupId -> removeMembership(groupId, userId));
+        }
+    }
+
+    public synchronized Set<UserResource> getUsersForGroup(final String groupId) {
+        return getUsersForGroups(Collections.singleton(groupId));
+    }
+
+    public synchronized Set<UserResource> getUsersForGroups(final Collection<String> groupIds) {
+        final Set<UserResource> usersForGroups = new HashSet<>();
+        for (final String groupId : groupIds) {
+            final Set<String> userIds = userIdsByGroupId.getOrDefault(groupId, Collections.emptySet());
+            for (final String userId : userIds) {
+                usersForGroups.add(usersById.get(userId));
+            }
+        }
+        return usersForGroups;
+    }
+
+    public synchronized Optional<UserResource> getUser(final String userId) {
+        return Optional.ofNullable(usersById.get(userId));
+    }
+
+    public synchronized int getUserCount() {
+        return usersById.size();
+    }
+
+    public synchronized int getGroupCount() {
+        return userIdsByGroupId.size();
+    }
+
+    private void removeMembership(final String groupId, final String userId) {
+        final Set<String> userIds = userIdsByGroupId.get(groupId);
+        if (null != userIds) {
+            userIds.remove(userId);
+            if (userIds.isEmpty()) {
+                userIdsByGroupId.remove(groupId);
+            }
+        }
+    }
+
+    private Set<String> getGroupIds(final UserResource user) {
+        if (null == user.getRelationships()) {
+            return Collections.emptySet();
+        }
+        final PolarisRelationshipMultiple groups = user.getRelationships().getGroups();
+        if (null == groups || null == groups.getData()) {
+            return Collections.emptySet();
+        }
+        return groups.getData()
+                   .stream()
+                   .filter(sparseGroup -> null != sparseGroup && null != sparseGroup.getId())
+                   .map(PolarisResourceSparse::getId)
+                   .collect(Collectors.toSet());
+    }
+
+}
@@ -8,10 +8,14 @@
 package com.synopsys.integration.polaris.common.service;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -21,6 +25,7 @@ import com.synopsys.integration.polaris.common.api.PolarisRelationship;
 import com.synopsys.integration.polaris.common.api.PolarisRelationshipMultiple;
 import com.synopsys.integration.polaris.common.api.PolarisResource;
 import com.synopsys.integration.polaris.common.api.PolarisResourceSparse;
+import com.synopsys.integration.polaris.common.api.auth.PolarisRelationshipLinks;
 import com.synopsys.integration.polaris.common.api.auth.model.group.GroupResource;
 import com.synopsys.integration.polaris.common.api.auth.model.user.EmailDetailsResource;
 import com.synopsys.integration.polaris.common.api.auth.model.user.EmailDetailsResources;
@@ -29,6 +34,8 @@ import com.synopsys.integration.polaris.common.api.auth.model.user.UserResources
 
 public class UserService {
     private final AuthService authService;
+    private final Map<String, String> emailsByUserId = new ConcurrentHashMap<>();
+    private UserGroupMembershipIndex membershipIndex;
 
     public UserService(final AuthService authService) {
         this.authService = authService;
@@ -47,6 +54,37 @@ public class UserService {
         return getUsersForGroups(users, groups);
     }
 
+    /**
+     * Answered from the membership index, which is built from a single walk of the users the first time it is needed and is not refreshed on its own. Call refreshMembershipIndex to pick up membership changes made since then, or getUsersForGroups to walk the users on every call.
+     */
+    public Set<UserResource> getIndexedUsersForGroups(final List<GroupResource> groups) throws IntegrationException {
+        final Set<String> groupIds = groups
+                                         .stream()
+                                         .map(PolarisResource::getId)
+                                         .collect(Collectors.toSet());
+        return getMembershipIndex().getUsersForGroups(groupIds);
+    }
+
+    public synchronized UserGroupMembershipIndex getMembershipIndex() throws IntegrationException {
+        if (null == membershipIndex) {
+            membershipIndex = UserGroupMembershipIndex.fromUsers(getAllUsers());
+        }
+        return membershipIndex;
+    }
+
+    /**
+     * Walks every user again, drops the users that are gone and re-indexes the memberships that changed.
+     */
+    public synchronized UserGroupMembershipIndex refreshMembershipIndex() throws IntegrationException {
+        final List<UserResource> users = getAllUsers();
+        if (null == membershipIndex) {
+            membershipIndex = UserGroupMembershipIndex.fromUsers(users);
+        } else {
+            membershipIndex.refresh(users);
+        }
+        return membershipIndex;
+    }
+
     public Set<UserResource> getUsersForGroup(final List<UserResource> users, final GroupResource group) {
         return getUsersForGroups(users, Arrays.asList(group));
     }
@@ -73,10 +111,60 @@ public class UserService {
         final String email = user.getAttributes().getEmail();
         if (StringUtils.isNotBlank(email)) {
             return Optional.of(email);
-        } else {
-            final PolarisRelationship emailDetails = user.getRelationships().getEmailDetails();
-            return authService.getAttributeFromRelationship(emailDetails.getLinks(), (EmailDetailsResource resource) -> resource.getAttributes().getEmail(), EmailDetailsResources.class);
         }
+        final String cachedEmail = getCachedEmail(user);
+        if (null != cachedEmail) {
+            return Optional.of(cachedEmail);
+        }
+
+        final PolarisRelationship emailDetails = user.getRelationships().getEmailDetails();
+        final Optional<String> detailsEmail = authService.getAttributeFromRelationship(emailDetails.getLinks(), (EmailDetailsResource resource) -> resource.getAttributes().getEmail(), EmailDetailsResources.class);
+        if (null != user.getId()) {
+            detailsEmail.ifPresent(foundEmail -> emailsByUserId.put(user.getId(), foundEmail));
+        }
+        return detailsEmail;
+    }
+
+    /**
+     * Resolves the emails of many users, keyed by user id in the order of the given users. Users without an email attribute have their email details requested all at once - concurrently when the services were created with more than one concurrent request - and the emails found that way are remembered for the life of this service. Users without an id cannot be told apart in the result, so they are left out; getEmailForUser resolves them one at a time.
+     */
+    public Map<String, Optional<String>> getEmailsForUsers(final Collection<UserResource> users) throws IntegrationException {
+        final Map<String, Optional<String>> emailsForUsers = new LinkedHashMap<>();
+        final Map<String, PolarisRelationshipLinks> emailDetailsToFetch = new LinkedHashMap<>();
+        for (final UserResource user : users) {
+            if (null == user.getId()) {
+                continue;
+            }
+            final String email = user.getAttributes().getEmail();
+            final String cachedEmail = getCachedEmail(user);
+            if (StringUtils.isNotBlank(email)) {
+                emailsForUsers.put(user.getId(), Optional.of(email));
+            } else if (null != cachedEmail) {
+                emailsForUsers.put(user.getId(), Optional.of(cachedEmail));
+            } else {
+                // reserve the user's position in the result until the details have been fetched
+                emailsForUsers.put(user.getId(), Optional.empty());
+                emailDetailsToFetch.put(user.getId(), user.getRelationships().getEmailDetails().getLinks());
+            }
+        }
+
+        if (emailDetailsToFetch.isEmpty()) {
+            return emailsForUsers;
+        }
+        final Map<String, Optional<String>> fetchedEmails = authService.getAttributesFromRelationships(emailDetailsToFetch, (EmailDetailsResource resource) -> resource.getAttributes().getEmail(), EmailDetailsResources.class);
+        for (final Map.Entry<String, Optional<String>> fetchedEmail : fetchedEmails.entrySet()) {
+            emailsForUsers.put(fetchedEmail.getKey(), fetchedEmail.getValue());
+            fetchedEmail.getValue().ifPresent(email -> emailsByUserId.put(fetchedEmail.getKey(), email));
+        }
+        return emailsForUsers;
+    }
+
+    public void clearCachedEmails() {
+        emailsByUserId.clear();
+    }
+
+    private String getCachedEmail(final UserResource user) {
+        return null == user.getId() ? null : emailsByUserId.get(user.getId());
     }
 
 }
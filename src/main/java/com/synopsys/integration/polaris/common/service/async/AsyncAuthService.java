@@ -0,0 +1,53 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service.async;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import com.synopsys.integration.polaris.common.api.PolarisResource;
+import com.synopsys.integration.polaris.common.api.PolarisResources;
+import com.synopsys.integration.polaris.common.api.PolarisResourcesSingle;
+import com.synopsys.integration.polaris.common.api.auth.PolarisRelationshipLinks;
+import com.synopsys.integration.polaris.common.request.PolarisRequestSpec;
+import com.synopsys.integration.polaris.common.request.param.PolarisParamBuilder;
+import com.synopsys.integration.polaris.common.service.AuthService;
+
+public class AsyncAuthService {
+    private final AuthService authService;
+    private final PolarisAsyncExecutor asyncExecutor;
+
+    public AsyncAuthService(AuthService authService, PolarisAsyncExecutor asyncExecutor) {
+        this.authService = authService;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public <R extends PolarisResource, S extends PolarisResources<R>> CompletableFuture<List<R>> getAll(PolarisRequestSpec polarisRequestSpec, Class<S> resourcesType) {
+        return asyncExecutor.supplyAsync(() -> authService.getAll(polarisRequestSpec, resourcesType));
+    }
+
+    public <R extends PolarisResource, S extends PolarisResources<R>> CompletableFuture<List<R>> getFiltered(PolarisRequestSpec polarisRequestSpec, PolarisParamBuilder paramBuilder, Class<S> resourcesType) {
+        return asyncExecutor.supplyAsync(() -> authService.getFiltered(polarisRequestSpec, paramBuilder, resourcesType));
+    }
+
+    public <R extends PolarisResource, S extends PolarisResources<R>> CompletableFuture<List<R>> getFiltered(PolarisRequestSpec polarisRequestSpec, Collection<PolarisParamBuilder> paramBuilders, Class<S> resourcesType) {
+        return asyncExecutor.supplyAsync(() -> authService.getFiltered(polarisRequestSpec, paramBuilders, resourcesType));
+    }
+
+    public <R extends PolarisResource, S extends PolarisResourcesSingle<R>, T> CompletableFuture<Optional<T>> getAttributeFromRelationship(PolarisRelationshipLinks relationshipLinks, Function<R, T> extractAttribute, Class<S> resourcesType) {
+        return asyncExecutor.supplyAsync(() -> authService.getAttributeFromRelationship(relationshipLinks, extractAttribute, resourcesType));
+    }
+
+    public AuthService getAuthService() {
+        return authService;
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service.async;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.synopsys.integration.polaris.common.api.common.model.branch.BranchV0Resource;
+import com.synopsys.integration.polaris.common.service.BranchService;
+
+public class AsyncBranchService {
+    private final BranchService branchService;
+    private final PolarisAsyncExecutor asyncExecutor;
+
+    public AsyncBranchService(BranchService branchService, PolarisAsyncExecutor asyncExecutor) {
+        this.branchService = branchService;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public CompletableFuture<List<BranchV0Resource>> getBranchesForProject(String projectId) {
+        return asyncExecutor.supplyAsync(() -> branchService.getBranchesForProject(projectId));
+    }
+
+    public CompletableFuture<Optional<BranchV0Resource>> getBranchForProjectByName(String projectId, String branchName) {
+        return asyncExecutor.supplyAsync(() -> branchService.getBranchForProjectByName(projectId, branchName));
+    }
+
+    public BranchService getBranchService() {
+        return branchService;
+    }
+
+}
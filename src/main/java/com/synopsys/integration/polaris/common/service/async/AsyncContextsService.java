@@ -0,0 +1,38 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service.async;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.synopsys.integration.polaris.common.api.auth.model.Context;
+import com.synopsys.integration.polaris.common.service.ContextsService;
+
+public class AsyncContextsService {
+    private final ContextsService contextsService;
+    private final PolarisAsyncExecutor asyncExecutor;
+
+    public AsyncContextsService(ContextsService contextsService, PolarisAsyncExecutor asyncExecutor) {
+        this.contextsService = contextsService;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public CompletableFuture<List<Context>> getAllContexts() {
+        return asyncExecutor.supplyAsync(contextsService::getAllContexts);
+    }
+
+    public CompletableFuture<Optional<Context>> getCurrentContext() {
+        return asyncExecutor.supplyAsync(contextsService::getCurrentContext);
+    }
+
+    public ContextsService getContextsService() {
+        return contextsService;
+    }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service.async;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.synopsys.integration.polaris.common.api.query.model.CountV0Resources;
+import com.synopsys.integration.polaris.common.service.CountService;
+
+public class AsyncCountService {
+    private final CountService countService;
+    private final PolarisAsyncExecutor asyncExecutor;
+
+    public AsyncCountService(CountService countService, PolarisAsyncExecutor asyncExecutor) {
+        this.countService = countService;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public CompletableFuture<CountV0Resources> getCountV0ResourcesFromIssueApiUrl(String issueApiUrl) {
+        return asyncExecutor.supplyAsync(() -> countService.getCountV0ResourcesFromIssueApiUrl(issueApiUrl));
+    }
+
+    public CompletableFuture<Integer> getTotalIssueCountFromIssueApiUrl(String issueApiUrl) {
+        return asyncExecutor.supplyAsync(() -> countService.getTotalIssueCountFromIssueApiUrl(issueApiUrl));
+    }
+
+    public CountService getCountService() {
+        return countService;
+    }
+
+}
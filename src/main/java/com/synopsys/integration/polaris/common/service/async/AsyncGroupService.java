@@ -0,0 +1,38 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service.async;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.synopsys.integration.polaris.common.api.auth.model.group.GroupResource;
+import com.synopsys.integration.polaris.common.service.GroupService;
+
+public class AsyncGroupService {
+    private final GroupService groupService;
+    private final PolarisAsyncExecutor asyncExecutor;
+
+    public AsyncGroupService(GroupService groupService, PolarisAsyncExecutor asyncExecutor) {
+        this.groupService = groupService;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public CompletableFuture<List<GroupResource>> getAllGroups() {
+        return asyncExecutor.supplyAsync(groupService::getAllGroups);
+    }
+
+    public CompletableFuture<Optional<GroupResource>> getGroupByName(String groupName) {
+        return asyncExecutor.supplyAsync(() -> groupService.getGroupByName(groupName));
+    }
+
+    public GroupService getGroupService() {
+        return groupService;
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service.async;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.synopsys.integration.polaris.common.api.query.model.issue.IssueV0Resource;
+import com.synopsys.integration.polaris.common.model.IssueResourcesSingle;
+import com.synopsys.integration.polaris.common.service.IssueService;
+
+public class AsyncIssueService {
+    private final IssueService issueService;
+    private final PolarisAsyncExecutor asyncExecutor;
+
+    public AsyncIssueService(IssueService issueService, PolarisAsyncExecutor asyncExecutor) {
+        this.issueService = issueService;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public CompletableFuture<List<IssueV0Resource>> getIssuesForProjectAndBranch(String projectId, String branchId) {
+        return asyncExecutor.supplyAsync(() -> issueService.getIssuesForProjectAndBranch(projectId, branchId));
+    }
+
+    public CompletableFuture<IssueResourcesSingle> getIssueForProjectBranchAndIssueKeyWithDefaultIncluded(String projectId, String branchId, String issueKey) {
+        return asyncExecutor.supplyAsync(() -> issueService.getIssueForProjectBranchAndIssueKeyWithDefaultIncluded(projectId, branchId, issueKey));
+    }
+
+    public CompletableFuture<Map<String, IssueResourcesSingle>> getIssuesForProjectBranchAndIssueKeysWithDefaultIncluded(String projectId, String branchId, Collection<String> issueKeys) {
+        return asyncExecutor.supplyAsync(() -> issueService.getIssuesForProjectBranchAndIssueKeysWithDefaultIncluded(projectId, branchId, issueKeys));
+    }
+
+    public IssueService getIssueService() {
+        return issueService;
+    }
+
+}
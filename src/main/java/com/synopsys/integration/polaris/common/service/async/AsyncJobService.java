@@ -0,0 +1,57 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service.async;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.synopsys.integration.polaris.common.api.job.model.JobResource;
+import com.synopsys.integration.polaris.common.service.JobPollSchedule;
+import com.synopsys.integration.polaris.common.service.JobService;
+import com.synopsys.integration.polaris.common.service.JobWaitResult;
+import com.synopsys.integration.rest.HttpUrl;
+
+public class AsyncJobService {
+    private final JobService jobService;
+    private final PolarisAsyncExecutor asyncExecutor;
+
+    public AsyncJobService(JobService jobService, PolarisAsyncExecutor asyncExecutor) {
+        this.jobService = jobService;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public CompletableFuture<JobResource> getJobById(String jobId) {
+        return asyncExecutor.supplyAsync(() -> jobService.getJobById(jobId));
+    }
+
+    public CompletableFuture<JobResource> getJobByUrl(HttpUrl jobApiUrl) {
+        return asyncExecutor.supplyAsync(() -> jobService.getJobByUrl(jobApiUrl));
+    }
+
+    public CompletableFuture<Void> waitForJobStateIsCompletedOrDieById(String jobId) {
+        return asyncExecutor.supplyAsync(() -> {
+            jobService.waitForJobStateIsCompletedOrDieById(jobId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> waitForJobStateIsCompletedOrDieByUrl(HttpUrl jobApiUrl) {
+        return asyncExecutor.supplyAsync(() -> {
+            jobService.waitForJobStateIsCompletedOrDieByUrl(jobApiUrl);
+            return null;
+        });
+    }
+
+    public CompletableFuture<JobWaitResult> waitForJobStateIsCompletedOrDieByUrl(HttpUrl jobApiUrl, long timeoutInSeconds, JobPollSchedule pollSchedule) {
+        return asyncExecutor.supplyAsync(() -> jobService.waitForJobStateIsCompletedOrDieByUrl(jobApiUrl, timeoutInSeconds, pollSchedule));
+    }
+
+    public JobService getJobService() {
+        return jobService;
+    }
+
+}
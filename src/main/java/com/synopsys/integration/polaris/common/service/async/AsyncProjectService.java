@@ -0,0 +1,38 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service.async;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resource;
+import com.synopsys.integration.polaris.common.service.ProjectService;
+
+public class AsyncProjectService {
+    private final ProjectService projectService;
+    private final PolarisAsyncExecutor asyncExecutor;
+
+    public AsyncProjectService(ProjectService projectService, PolarisAsyncExecutor asyncExecutor) {
+        this.projectService = projectService;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public CompletableFuture<Optional<ProjectV0Resource>> getProjectByName(String projectName) {
+        return asyncExecutor.supplyAsync(() -> projectService.getProjectByName(projectName));
+    }
+
+    public CompletableFuture<List<ProjectV0Resource>> getAllProjects() {
+        return asyncExecutor.supplyAsync(projectService::getAllProjects);
+    }
+
+    public ProjectService getProjectService() {
+        return projectService;
+    }
+
+}
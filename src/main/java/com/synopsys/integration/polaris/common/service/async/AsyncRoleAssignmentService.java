@@ -0,0 +1,48 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service.async;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.synopsys.integration.polaris.common.api.auth.model.role.assignments.RoleAssignmentResource;
+import com.synopsys.integration.polaris.common.api.auth.model.role.assignments.RoleAssignmentResources;
+import com.synopsys.integration.polaris.common.request.param.PolarisParamBuilder;
+import com.synopsys.integration.polaris.common.service.RoleAssignmentService;
+
+public class AsyncRoleAssignmentService {
+    private final RoleAssignmentService roleAssignmentService;
+    private final PolarisAsyncExecutor asyncExecutor;
+
+    public AsyncRoleAssignmentService(RoleAssignmentService roleAssignmentService, PolarisAsyncExecutor asyncExecutor) {
+        this.roleAssignmentService = roleAssignmentService;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public CompletableFuture<List<RoleAssignmentResource>> getAll() {
+        return asyncExecutor.supplyAsync(roleAssignmentService::getAll);
+    }
+
+    public CompletableFuture<List<RoleAssignmentResource>> getFiltered(PolarisParamBuilder polarisParamBuilder) {
+        return asyncExecutor.supplyAsync(() -> roleAssignmentService.getFiltered(polarisParamBuilder));
+    }
+
+    public CompletableFuture<List<RoleAssignmentResource>> getFiltered(Collection<PolarisParamBuilder> polarisParamBuilders) {
+        return asyncExecutor.supplyAsync(() -> roleAssignmentService.getFiltered(polarisParamBuilders));
+    }
+
+    public CompletableFuture<RoleAssignmentResources> getRoleAssignmentsForProjectWithIncluded(String projectId, String... included) {
+        return asyncExecutor.supplyAsync(() -> roleAssignmentService.getRoleAssignmentsForProjectWithIncluded(projectId, included));
+    }
+
+    public RoleAssignmentService getRoleAssignmentService() {
+        return roleAssignmentService;
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service.async;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import com.synopsys.integration.polaris.common.api.auth.model.group.GroupResource;
+import com.synopsys.integration.polaris.common.api.auth.model.user.UserResource;
+import com.synopsys.integration.polaris.common.service.UserService;
+
+public class AsyncUserService {
+    private final UserService userService;
+    private final PolarisAsyncExecutor asyncExecutor;
+
+    public AsyncUserService(UserService userService, PolarisAsyncExecutor asyncExecutor) {
+        this.userService = userService;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public CompletableFuture<List<UserResource>> getAllUsers() {
+        return asyncExecutor.supplyAsync(userService::getAllUsers);
+    }
+
+    public CompletableFuture<Set<UserResource>> getUsersForGroup(GroupResource group) {
+        return asyncExecutor.supplyAsync(() -> userService.getUsersForGroup(group));
+    }
+
+    public CompletableFuture<Set<UserResource>> getUsersForGroups(List<GroupResource> groups) {
+        return asyncExecutor.supplyAsync(() -> userService.getUsersForGroups(groups));
+    }
+
+    public CompletableFuture<Optional<String>> getEmailForUser(UserResource user) {
+        return asyncExecutor.supplyAsync(() -> userService.getEmailForUser(user));
+    }
+
+    public CompletableFuture<Map<String, Optional<String>>> getEmailsForUsers(Collection<UserResource> users) {
+        return asyncExecutor.supplyAsync(() -> userService.getEmailsForUsers(users));
+    }
+
+    public UserService getUserService() {
+        return userService;
+    }
+
+}
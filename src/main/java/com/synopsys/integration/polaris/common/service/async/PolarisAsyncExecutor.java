@@ -0,0 +1,51 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs blocking Polaris calls on an executor and hands back their results as CompletableFutures. A failed call completes its future exceptionally with the original exception, not a CompletionException wrapper.
+ */
+public class PolarisAsyncExecutor {
+    private final Executor executor;
+
+    public PolarisAsyncExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(PolarisCall<T> polarisCall) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    // cancelled before it started
+                    return;
+                }
+                try {
+                    future.complete(polarisCall.call());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.completeExceptionally(e);
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+}
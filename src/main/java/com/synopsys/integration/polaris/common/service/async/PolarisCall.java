@@ -0,0 +1,16 @@
+/*
+ * polaris-common
+ *
+ * Copyright (c) 2021 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service.async;
+
+import com.synopsys.integration.exception.IntegrationException;
+
+@FunctionalInterface
+public interface PolarisCall<T> {
+    T call() throws IntegrationException, InterruptedException;
+
+}
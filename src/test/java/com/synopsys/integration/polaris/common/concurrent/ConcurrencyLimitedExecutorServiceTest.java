@@ -0,0 +1,48 @@
+package com.synopsys.integration.polaris.common.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrencyLimitedExecutorServiceTest {
+    @Test
+    public void testTaskInterruptedWaitingForPermitIsCancelled() throws InterruptedException {
+        List<Thread> delegateThreads = new CopyOnWriteArrayList<>();
+        Executor threadPerTask = command -> {
+            Thread thread = new Thread(command);
+            thread.setDaemon(true);
+            delegateThreads.add(thread);
+            thread.start();
+        };
+        ConcurrencyLimitedExecutorService executorService = new ConcurrencyLimitedExecutorService(threadPerTask, 1, false);
+        CountDownLatch firstTaskStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstTask = new CountDownLatch(1);
+        AtomicBoolean secondTaskRan = new AtomicBoolean();
+
+        executorService.submit(() -> {
+            firstTaskStarted.countDown();
+            releaseFirstTask.await();
+            return null;
+        });
+        assertTrue(firstTaskStarted.await(5, TimeUnit.SECONDS));
+        Future<?> secondTask = executorService.submit(() -> secondTaskRan.set(true));
+
+        Thread waitingThread = delegateThreads.get(1);
+        waitingThread.interrupt();
+        waitingThread.join(5000);
+        releaseFirstTask.countDown();
+
+        assertTrue(secondTask.isCancelled());
+        assertFalse(secondTaskRan.get());
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.synopsys.integration.polaris.common.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.api.Test;
+
+public class PolarisExecutorStrategyTest {
+    private static final ExecutorService CALLER_EXECUTOR = Executors.newCachedThreadPool();
+
+    private static Stream<PolarisExecutorStrategy> createStrategies() {
+        return Stream.of(
+            PolarisExecutorStrategy.virtualThreadPerTask(3),
+            PolarisExecutorStrategy.boundedPlatformPool(3),
+            PolarisExecutorStrategy.callerSupplied(CALLER_EXECUTOR, 3)
+        );
+    }
+
+    @Test
+    public void testSequentialHasNoExecutor() {
+        assertNull(PolarisExecutorStrategy.sequential().getExecutorService());
+        assertNull(PolarisExecutorStrategy.virtualThreadPerTask(4).withMaxConcurrentRequests(1).getExecutorService());
+    }
+
+    @Test
+    public void testTaskExecutorAndSchedulerComeFromTheStrategy() {
+        assertSame(CALLER_EXECUTOR, PolarisExecutorStrategy.callerSupplied(CALLER_EXECUTOR, 1).getTaskExecutor());
+
+        PolarisExecutorStrategy executorStrategy = PolarisExecutorStrategy.sequential();
+        assertNotNull(executorStrategy.getTaskExecutor());
+        assertSame(executorStrategy.getTaskExecutor(), executorStrategy.getTaskExecutor());
+        ScheduledExecutorService scheduler = executorStrategy.getScheduler();
+        assertSame(scheduler, executorStrategy.getScheduler());
+
+        executorStrategy.shutdown();
+        assertTrue(scheduler.isShutdown());
+    }
+
+    @Test
+    public void testDerivedStrategiesShareTheScheduler() {
+        PolarisExecutorStrategy executorStrategy = PolarisExecutorStrategy.boundedPlatformPool(2);
+        ScheduledExecutorService scheduler = executorStrategy.getScheduler();
+
+        assertSame(scheduler, executorStrategy.withMaxConcurrentRequests(4).getScheduler());
+        PolarisExecutorStrategy callerSuppliedStrategy = executorStrategy.withCallerSuppliedExecutor(CALLER_EXECUTOR);
+        assertSame(scheduler, callerSuppliedStrategy.getScheduler());
+        assertSame(CALLER_EXECUTOR, callerSuppliedStrategy.getTaskExecutor());
+        assertEquals(2, callerSuppliedStrategy.getMaxConcurrentRequests());
+
+        callerSuppliedStrategy.shutdown();
+        assertTrue(scheduler.isShutdown());
+        assertFalse(CALLER_EXECUTOR.isShutdown());
+    }
+
+    @ParameterizedTest
+    @MethodSource("createStrategies")
+    public void testConcurrencyIsBounded(PolarisExecutorStrategy executorStrategy) throws Exception {
+        ExecutorService executorService = executorStrategy.getExecutorService();
+        assertNotNull(executorService);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Callable<Integer> task = () -> {
+            int nowRunning = running.incrementAndGet();
+            maxRunning.accumulateAndGet(nowRunning, Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return nowRunning;
+        };
+
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(executorService.submit(task));
+        }
+        for (Future<Integer> future : futures) {
+            future.get();
+        }
+
+        assertTrue(maxRunning.get() <= 3, "At most 3 tasks should run at once but " + maxRunning.get() + " did");
+        executorStrategy.shutdown();
+        assertEquals(3, executorStrategy.getMaxConcurrentRequests());
+    }
+
+}
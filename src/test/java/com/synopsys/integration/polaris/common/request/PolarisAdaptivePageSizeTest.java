@@ -0,0 +1,61 @@
+package com.synopsys.integration.polaris.common.request;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.SocketTimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.rest.PolarisEndpointFamily;
+
+public class PolarisAdaptivePageSizeTest {
+    @Test
+    public void testFastFullPagesGrowUpToTheMax() {
+        PolarisAdaptivePageSize adaptivePageSize = new PolarisAdaptivePageSize(25, 10, 150, 1000L, 1024L * 1024);
+
+        adaptivePageSize.recordPage(PolarisEndpointFamily.COMMON, 25, 25, 100L, 10000L);
+        assertEquals(50, adaptivePageSize.getPageSize(PolarisEndpointFamily.COMMON));
+        adaptivePageSize.recordPage(PolarisEndpointFamily.COMMON, 50, 50, 100L, -1L);
+        adaptivePageSize.recordPage(PolarisEndpointFamily.COMMON, 100, 100, 100L, -1L);
+        assertEquals(150, adaptivePageSize.getPageSize(PolarisEndpointFamily.COMMON));
+
+        assertEquals(25, adaptivePageSize.getPageSize(PolarisEndpointFamily.QUERY), "Each endpoint family learns on its own");
+    }
+
+    @Test
+    public void testPartialOrBorderlinePagesKeepTheSize() {
+        PolarisAdaptivePageSize adaptivePageSize = new PolarisAdaptivePageSize(25, 10, 500, 1000L, 1024L * 1024);
+
+        adaptivePageSize.recordPage(PolarisEndpointFamily.AUTH, 25, 7, 100L, 1000L);
+        adaptivePageSize.recordPage(PolarisEndpointFamily.AUTH, 25, 25, 800L, 1000L);
+        adaptivePageSize.recordPage(PolarisEndpointFamily.AUTH, 25, 25, 100L, 900L * 1024);
+
+        assertEquals(25, adaptivePageSize.getPageSize(PolarisEndpointFamily.AUTH));
+    }
+
+    @Test
+    public void testSlowLargeOrTimedOutPagesShrinkDownToTheMin() {
+        PolarisAdaptivePageSize adaptivePageSize = new PolarisAdaptivePageSize(100, 10, 500, 1000L, 1024L * 1024);
+
+        adaptivePageSize.recordPage(PolarisEndpointFamily.QUERY, 100, 100, 5000L, -1L);
+        assertEquals(50, adaptivePageSize.getPageSize(PolarisEndpointFamily.QUERY));
+        adaptivePageSize.recordPage(PolarisEndpointFamily.QUERY, 50, 50, 100L, 2L * 1024 * 1024);
+        assertEquals(25, adaptivePageSize.getPageSize(PolarisEndpointFamily.QUERY));
+        assertEquals(12, adaptivePageSize.recordTimeout(PolarisEndpointFamily.QUERY, 25));
+        assertEquals(10, adaptivePageSize.recordTimeout(PolarisEndpointFamily.QUERY, 12));
+        assertEquals(10, adaptivePageSize.recordTimeout(PolarisEndpointFamily.QUERY, 10));
+
+        adaptivePageSize.reset();
+        assertEquals(100, adaptivePageSize.getPageSize(PolarisEndpointFamily.QUERY));
+    }
+
+    @Test
+    public void testTimeoutsAreRecognized() {
+        assertTrue(PolarisAdaptivePageSize.isTimeout(new IntegrationException(new SocketTimeoutException("Read timed out"))));
+        assertFalse(PolarisAdaptivePageSize.isTimeout(new IntegrationException("Unparseable response")));
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.synopsys.integration.polaris.common.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resource;
+import com.synopsys.integration.polaris.common.configuration.PolarisServerConfig;
+import com.synopsys.integration.polaris.common.service.PolarisServicesFactory;
+import com.synopsys.integration.polaris.common.stub.PolarisStubServer;
+
+public class PolarisConnectionPoolTest {
+    @Test
+    public void testClientsShareConnectionsPerTrustSetting() {
+        try (PolarisConnectionPool connectionPool = PolarisConnectionPool.createDefault()) {
+            List<HttpClientConnectionManager> connectionManagers = configureClients(connectionPool, false, false, true, true);
+
+            assertSame(connectionManagers.get(0), connectionManagers.get(1));
+            assertSame(connectionManagers.get(2), connectionManagers.get(3));
+            assertNotSame(connectionManagers.get(0), connectionManagers.get(2));
+        }
+    }
+
+    @Test
+    public void testCloseStopsTheIdleConnectionEvictors() throws InterruptedException {
+        Set<Thread> threadsBefore = new HashSet<>(Thread.getAllStackTraces().keySet());
+        PolarisConnectionPool connectionPool = PolarisConnectionPool.createDefault();
+        configureClients(connectionPool, false, true);
+
+        Set<Thread> evictorThreads = new HashSet<>(Thread.getAllStackTraces().keySet());
+        evictorThreads.removeAll(threadsBefore);
+        assertEquals(2, evictorThreads.size(), "Expected one idle connection evictor for each trust setting");
+
+        connectionPool.close();
+        for (Thread evictorThread : evictorThreads) {
+            evictorThread.join(5000);
+            assertFalse(evictorThread.isAlive(), evictorThread.getName() + " was still running after the pool was closed");
+        }
+    }
+
+    @Test
+    public void testStatsCountRequestsAndReusedConnections() throws Exception {
+        try (PolarisStubServer stubServer = new PolarisStubServer().setProjectCount(260).start();
+             PolarisConnectionPool connectionPool = PolarisConnectionPool.createDefault()) {
+            PolarisServicesFactory polarisServicesFactory = PolarisServerConfig.newBuilder()
+                                                                .setUrl(stubServer.getUrl())
+                                                                .setAccessToken("stub access token")
+                                                                .setConnectionPool(connectionPool)
+                                                                .build()
+                                                                .createPolarisServicesFactory(new PrintStreamIntLogger(System.out, LogLevel.WARN));
+
+            List<ProjectV0Resource> projects = polarisServicesFactory.createProjectService().getAllProjects();
+            PolarisConnectionPoolStats stats = connectionPool.getStats();
+
+            assertEquals(260, projects.size());
+            assertEquals(stubServer.getRequestCount(), stats.getRequestsExecuted());
+            assertTrue(stats.getConnectionsOpened() >= 1);
+            assertTrue(stats.getConnectionsOpened() < stats.getRequestsExecuted(), "Expected the sequential requests to reuse their connection but the pool reported " + stats);
+            assertEquals(0L, stats.getTlsHandshakes());
+            assertEquals(0, stats.getLeasedConnections());
+            assertEquals(0, stats.getPendingRequests());
+            assertEquals(PolarisConnectionPool.DEFAULT_MAX_TOTAL, stats.getMaxTotal());
+        }
+    }
+
+    @Test
+    public void testStatsRates() {
+        PolarisConnectionPoolStats stats = new PolarisConnectionPoolStats(10L, 4L, 4L, 1, 3, 0, 64, 2000L);
+        assertEquals(5.0, stats.getRequestsPerSecond(), 0.0001);
+        assertEquals(2.5, stats.getRequestsPerConnection(), 0.0001);
+
+        PolarisConnectionPoolStats emptyStats = new PolarisConnectionPoolStats(0L, 0L, 0L, 0, 0, 0, 64, 0L);
+        assertEquals(0.0, emptyStats.getRequestsPerSecond(), 0.0001);
+        assertEquals(0.0, emptyStats.getRequestsPerConnection(), 0.0001);
+    }
+
+    private List<HttpClientConnectionManager> configureClients(PolarisConnectionPool connectionPool, boolean... alwaysTrustServerCertificate) {
+        HttpClientBuilder clientBuilder = Mockito.mock(HttpClientBuilder.class);
+        for (boolean trust : alwaysTrustServerCertificate) {
+            connectionPool.configure(clientBuilder, trust);
+        }
+
+        ArgumentCaptor<HttpClientConnectionManager> connectionManagers = ArgumentCaptor.forClass(HttpClientConnectionManager.class);
+        Mockito.verify(clientBuilder, Mockito.times(alwaysTrustServerCertificate.length)).setConnectionManager(connectionManagers.capture());
+        Mockito.verify(clientBuilder, Mockito.times(alwaysTrustServerCertificate.length)).setConnectionManagerShared(true);
+        return connectionManagers.getAllValues();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.synopsys.integration.polaris.common.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.rest.HttpUrl;
+
+public class PolarisJwtFileCacheTest {
+    @Test
+    public void testCachedJwtIsReusedUntilItExpires() throws IOException, IntegrationException {
+        Path cacheDirectory = Files.createTempDirectory("polaris-jwt-cache").resolve("jwts");
+        try {
+            PolarisJwtFileCache jwtCache = new PolarisJwtFileCache(new PrintStreamIntLogger(System.out, LogLevel.INFO), cacheDirectory, new Gson());
+            HttpUrl serverUrl = new HttpUrl("https://polaris.example.com");
+            long expiresAtMillis = System.currentTimeMillis() + 3600000L;
+            PolarisJwt jwt = new PolarisJwt("header.payload.signature", expiresAtMillis);
+
+            jwtCache.write(serverUrl, "access token", jwt);
+
+            Optional<PolarisJwt> cachedJwt = jwtCache.read(serverUrl, "access token", System.currentTimeMillis(), 60000L);
+            assertTrue(cachedJwt.isPresent());
+            assertEquals(jwt.getToken(), cachedJwt.get().getToken());
+            assertFalse(jwtCache.read(serverUrl, "another access token", System.currentTimeMillis(), 60000L).isPresent());
+            assertFalse(jwtCache.read(new HttpUrl("https://other.example.com"), "access token", System.currentTimeMillis(), 60000L).isPresent());
+            assertFalse(jwtCache.read(serverUrl, "access token", expiresAtMillis, 60000L).isPresent());
+
+            try (Stream<Path> cacheFiles = Files.list(cacheDirectory)) {
+                assertEquals(0, cacheFiles.count());
+            }
+        } finally {
+            FileUtils.deleteQuietly(cacheDirectory.getParent().toFile());
+        }
+    }
+
+    @Test
+    public void testCacheFilesAreOwnerOnly() throws IOException, IntegrationException {
+        Path cacheDirectory = Files.createTempDirectory("polaris-jwt-cache").resolve("jwts");
+        try {
+            PolarisJwtFileCache jwtCache = new PolarisJwtFileCache(new PrintStreamIntLogger(System.out, LogLevel.INFO), cacheDirectory, new Gson());
+            jwtCache.write(new HttpUrl("https://polaris.example.com"), "access token", new PolarisJwt("header.payload.signature", System.currentTimeMillis() + 3600000L));
+
+            try (Stream<Path> cacheFiles = Files.list(cacheDirectory)) {
+                Path cacheFile = cacheFiles.findFirst().get();
+                assertFalse(new String(Files.readAllBytes(cacheFile)).contains("access token"));
+                if (cacheDirectory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                    assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(cacheFile)));
+                    assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(cacheDirectory)));
+                }
+            }
+        } finally {
+            FileUtils.deleteQuietly(cacheDirectory.getParent().toFile());
+        }
+    }
+
+    @Test
+    public void testExistingCacheDirectoryIsMadeOwnerOnly() throws IOException, IntegrationException {
+        Path cacheDirectory = Files.createTempDirectory("polaris-jwt-cache").resolve("jwts");
+        assumeTrue(cacheDirectory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        try {
+            Files.createDirectories(cacheDirectory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwxr-xr-x")));
+            PolarisJwtFileCache jwtCache = new PolarisJwtFileCache(new PrintStreamIntLogger(System.out, LogLevel.INFO), cacheDirectory, new Gson());
+            jwtCache.write(new HttpUrl("https://polaris.example.com"), "access token", new PolarisJwt("header.payload.signature", System.currentTimeMillis() + 3600000L));
+
+            assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(cacheDirectory)));
+        } finally {
+            FileUtils.deleteQuietly(cacheDirectory.getParent().toFile());
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.synopsys.integration.polaris.common.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+
+public class PolarisJwtTest {
+    @Test
+    public void testExpiryIsReadFromTheExpClaim() {
+        PolarisJwt jwt = PolarisJwt.fromToken(createToken("{\"sub\":\"user\",\"exp\":1600000000}"), new Gson());
+
+        assertEquals(Optional.of(1600000000000L), jwt.getExpiresAtMillis());
+        assertTrue(jwt.isUsable(1600000000000L - 120000L, 60000L));
+        assertFalse(jwt.isUsable(1600000000000L - 30000L, 60000L));
+        assertTrue(jwt.isBearerOf("Bearer " + jwt.getToken()));
+    }
+
+    @Test
+    public void testOpaqueTokenIsAlwaysUsable() {
+        PolarisJwt jwt = PolarisJwt.fromToken("not-a-jwt", new Gson());
+
+        assertFalse(jwt.getExpiresAtMillis().isPresent());
+        assertTrue(jwt.isUsable(Long.MAX_VALUE - 1L, 0L));
+    }
+
+    private String createToken(String claims) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".signature";
+    }
+
+}
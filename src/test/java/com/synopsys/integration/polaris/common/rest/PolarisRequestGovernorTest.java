@@ -0,0 +1,103 @@
+package com.synopsys.integration.polaris.common.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.HttpUrl;
+
+public class PolarisRequestGovernorTest {
+    @Test
+    public void testEndpointFamilies() {
+        assertEquals(PolarisEndpointFamily.COMMON, PolarisEndpointFamily.fromUrl("https://polaris.example.com/api/common/v0/projects?page[limit]=25"));
+        assertEquals(PolarisEndpointFamily.QUERY, PolarisEndpointFamily.fromUrl("https://polaris.example.com/api/query/v0/issues"));
+        assertEquals(PolarisEndpointFamily.AUTH, PolarisEndpointFamily.fromUrl("https://polaris.example.com/api/auth/v1/users"));
+        assertEquals(PolarisEndpointFamily.JOBS, PolarisEndpointFamily.fromUrl("https://polaris.example.com/api/jobs/jobs/abc"));
+        assertEquals(PolarisEndpointFamily.OTHER, PolarisEndpointFamily.fromUrl("https://polaris.example.com/api/specification"));
+    }
+
+    @Test
+    public void testRetryAfter() {
+        assertEquals(5000L, PolarisRequestGovernor.parseRetryAfterMillis("5", 0L));
+        assertEquals(0L, PolarisRequestGovernor.parseRetryAfterMillis("soon", 0L));
+        assertEquals(0L, PolarisRequestGovernor.parseRetryAfterMillis(null, 0L));
+        assertEquals(PolarisRequestGovernor.MAX_RETRY_AFTER_MILLIS, PolarisRequestGovernor.parseRetryAfterMillis("86400", 0L));
+        assertEquals(2000L, PolarisRequestGovernor.parseRetryAfterMillis("Wed, 21 Oct 2015 07:28:02 GMT", 1445412480000L));
+    }
+
+    @Test
+    public void testRateLimitQueuesRequests() throws IntegrationException, InterruptedException {
+        FakeClock fakeClock = new FakeClock();
+        PolarisRequestGovernor requestGovernor = fakeClock.createGovernor()
+                                                     .setLimit(PolarisEndpointFamily.QUERY, new PolarisRateLimit(20.0, 1, 0));
+        HttpUrl issuesUrl = new HttpUrl("https://polaris.example.com/api/query/v0/issues");
+        HttpUrl projectsUrl = new HttpUrl("https://polaris.example.com/api/common/v0/projects");
+
+        for (int i = 0; i < 5; i++) {
+            requestGovernor.acquire(issuesUrl).close();
+            requestGovernor.acquire(projectsUrl).close();
+        }
+
+        // the first query request uses the burst token, the other four wait 50ms each
+        assertEquals(4, fakeClock.sleeps.size());
+        for (long sleepNanos : fakeClock.sleeps) {
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(50), sleepNanos, 1000.0);
+        }
+        List<PolarisRequestGovernorStats> stats = requestGovernor.getStats();
+        assertEquals(2, stats.size());
+        for (PolarisRequestGovernorStats endpointStats : stats) {
+            assertEquals(5L, endpointStats.getRequests());
+            assertEquals(0, endpointStats.getInFlight());
+            long expectedQueueMillis = PolarisEndpointFamily.QUERY == endpointStats.getEndpointFamily() ? 200L : 0L;
+            assertEquals(expectedQueueMillis, endpointStats.getTotalQueueMillis(), 1.0);
+        }
+    }
+
+    @Test
+    public void testRetryAfterHoldsBackTheEndpointFamily() throws IntegrationException, InterruptedException {
+        FakeClock fakeClock = new FakeClock();
+        PolarisRequestGovernor requestGovernor = fakeClock.createGovernor();
+        HttpUrl jobUrl = new HttpUrl("https://polaris.example.com/api/jobs/jobs/abc");
+        HttpUrl projectsUrl = new HttpUrl("https://polaris.example.com/api/common/v0/projects");
+
+        try (PolarisRequestGovernor.Permit permit = requestGovernor.acquire(jobUrl)) {
+            permit.recordResponse(429, "1");
+        }
+        requestGovernor.acquire(projectsUrl).close();
+        assertTrue(fakeClock.sleeps.isEmpty(), "Only the throttled endpoint family should be held back");
+
+        requestGovernor.acquire(jobUrl).close();
+        assertEquals(Collections.singletonList(TimeUnit.SECONDS.toNanos(1)), fakeClock.sleeps);
+        PolarisRequestGovernorStats jobStats = requestGovernor.getStats()
+                                                   .stream()
+                                                   .filter(stats -> PolarisEndpointFamily.JOBS == stats.getEndpointFamily())
+                                                   .findFirst()
+                                                   .orElseThrow(AssertionError::new);
+        assertEquals(1L, jobStats.getThrottledResponses());
+        assertEquals(1000L, jobStats.getMaxQueueMillis());
+    }
+
+    /**
+     * Sleeping only moves the clock forward, so the tests see exactly how long the governor wanted to wait.
+     */
+    private static class FakeClock {
+        private final List<Long> sleeps = new ArrayList<>();
+        private long nowNanos = 0L;
+
+        private PolarisRequestGovernor createGovernor() {
+            return new PolarisRequestGovernor(PolarisRateLimit.UNLIMITED, () -> nowNanos, sleepNanos -> {
+                sleeps.add(sleepNanos);
+                nowNanos += sleepNanos;
+            });
+        }
+
+    }
+
+}
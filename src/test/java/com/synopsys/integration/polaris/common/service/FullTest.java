@@ -1,6 +1,7 @@
 package com.synopsys.integration.polaris.common.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -45,8 +46,8 @@ public class FullTest {
         queryIssues.stream().forEach(System.out::println);
         final List<String> issueKeys = queryIssues.stream().map(queryIssue -> queryIssue.getAttributes().getIssueKey()).collect(Collectors.toList());
 
-        for (final String issueKey : issueKeys) {
-            final IssueResourcesSingle issueResourcesSingle = issueService.getIssueForProjectBranchAndIssueKeyWithDefaultIncluded(project.get().getId(), branch.get().getId(), issueKey);
+        final Map<String, IssueResourcesSingle> issuesByKey = issueService.getIssuesForProjectBranchAndIssueKeysWithDefaultIncluded(project.get().getId(), branch.get().getId(), issueKeys);
+        for (final IssueResourcesSingle issueResourcesSingle : issuesByKey.values()) {
             final Optional<IssueTypeV0Resource> optionalIssueType = issueService.getIssueTypeFromPopulatedIssueResources(issueResourcesSingle);
             final String fullName = optionalIssueType.map(IssueTypeV0Resource::getAttributes).map(IssueTypeV0Attributes::getName).orElse("Unknown name");
             final String subTool = issueResourcesSingle.getData().map(IssueV0Resource::getAttributes).map(IssueV0Attributes::getSubTool).orElse("Unknown sub-tool");
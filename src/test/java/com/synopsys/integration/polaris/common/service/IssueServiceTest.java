@@ -0,0 +1,61 @@
+package com.synopsys.integration.polaris.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.polaris.common.api.query.model.issue.type.IssueTypeV0Attributes;
+import com.synopsys.integration.polaris.common.api.query.model.issue.type.IssueTypeV0Resource;
+import com.synopsys.integration.polaris.common.model.IssueResourcesSingle;
+import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
+import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.response.Response;
+
+public class IssueServiceTest {
+    private static final String FIRST_ISSUE_KEY = "a1b2c3d4e5f60718293a4b5c6d7e8f90";
+    private static final String SECOND_ISSUE_KEY = "0918273645a1b2c3d4e5f6a7b8c9d0e1";
+
+    @Test
+    public void testGetIssuesForIssueKeysWithDefaultIncluded() throws IntegrationException, IOException {
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Mockito.when(polarisHttpClient.appendToPolarisUrl(Mockito.anyString())).thenReturn(new HttpUrl("https://polaris.synopsys.example.com/api/query/v0/issues"));
+
+        Response response = Mockito.mock(Response.class);
+        Mockito.when(response.getContentString()).thenReturn(getPreparedContentStringFrom("issues_with_included.json"));
+        Mockito.when(polarisHttpClient.execute(Mockito.any(Request.class))).thenReturn(response);
+
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        PolarisService polarisService = new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT);
+        IssueService issueService = new IssueService(polarisHttpClient, polarisService);
+
+        Map<String, IssueResourcesSingle> issuesByKey = issueService.getIssuesForProjectBranchAndIssueKeysWithDefaultIncluded("project", "branch", Arrays.asList(FIRST_ISSUE_KEY, SECOND_ISSUE_KEY));
+
+        assertEquals(2, issuesByKey.size());
+        assertEquals("src/main/Widget.java", issuesByKey.get(FIRST_ISSUE_KEY).getSourcePath());
+        assertEquals("src/main/Gadget.java", issuesByKey.get(SECOND_ISSUE_KEY).getSourcePath());
+
+        String issueTypeName = issueService.getIssueTypeFromPopulatedIssueResources(issuesByKey.get(SECOND_ISSUE_KEY))
+                                   .map(IssueTypeV0Resource::getAttributes)
+                                   .map(IssueTypeV0Attributes::getName)
+                                   .orElse(null);
+        assertEquals("Dereference null return value", issueTypeName);
+        Mockito.verify(polarisHttpClient, Mockito.times(1)).execute(Mockito.any(Request.class));
+    }
+
+    private String getPreparedContentStringFrom(String resourceName) throws IOException {
+        return IOUtils.toString(getClass().getResourceAsStream("/IssueService/" + resourceName), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.synopsys.integration.polaris.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.polaris.common.api.job.model.JobStatus;
+
+public class JobPollScheduleTest {
+    private final JobPollSchedule jobPollSchedule = new JobPollSchedule(1000L, 500L, 8000L, 10000L, 2.0, 0.0);
+
+    @Test
+    public void testQueuedJobBacksOff() {
+        JobStatus queued = createJobStatus(JobStatus.StateEnum.QUEUED, 0);
+
+        long delayMillis = jobPollSchedule.getNextDelayMillis(queued, 0L);
+        assertEquals(1000L, delayMillis);
+        delayMillis = jobPollSchedule.getNextDelayMillis(queued, delayMillis);
+        assertEquals(2000L, delayMillis);
+        delayMillis = jobPollSchedule.getNextDelayMillis(queued, delayMillis);
+        assertEquals(4000L, delayMillis);
+        delayMillis = jobPollSchedule.getNextDelayMillis(queued, delayMillis);
+        assertEquals(8000L, delayMillis);
+        delayMillis = jobPollSchedule.getNextDelayMillis(queued, delayMillis);
+        assertEquals(8000L, delayMillis);
+    }
+
+    @Test
+    public void testRunningJobTightensWithProgress() {
+        assertEquals(10000L, jobPollSchedule.getNextDelayMillis(createJobStatus(JobStatus.StateEnum.RUNNING, 0), 8000L));
+        assertEquals(5000L, jobPollSchedule.getNextDelayMillis(createJobStatus(JobStatus.StateEnum.RUNNING, 50), 8000L));
+        assertEquals(1000L, jobPollSchedule.getNextDelayMillis(createJobStatus(JobStatus.StateEnum.RUNNING, 90), 8000L));
+        assertEquals(500L, jobPollSchedule.getNextDelayMillis(createJobStatus(JobStatus.StateEnum.RUNNING, 99), 8000L));
+    }
+
+    @Test
+    public void testJitterStaysWithinBounds() {
+        JobPollSchedule jitteredSchedule = new JobPollSchedule(1000L, 500L, 8000L, 10000L, 2.0, 0.2);
+        for (int i = 0; i < 100; i++) {
+            long delayMillis = jitteredSchedule.getNextDelayMillis(createJobStatus(JobStatus.StateEnum.QUEUED, 0), 4000L);
+            assertTrue(delayMillis >= 6400L && delayMillis <= 9600L, "Unexpected delay " + delayMillis);
+        }
+    }
+
+    private JobStatus createJobStatus(JobStatus.StateEnum state, int progress) {
+        JobStatus jobStatus = new JobStatus();
+        jobStatus.setState(state);
+        jobStatus.setProgress(progress);
+        return jobStatus;
+    }
+
+}
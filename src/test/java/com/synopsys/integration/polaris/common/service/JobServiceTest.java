@@ -44,6 +44,24 @@ public class JobServiceTest {
         assertEquals(JobStatus.StateEnum.COMPLETED, jobStatus.getState());
     }
 
+    @Test
+    public void testWaitForCompletedJobWithPollSchedule() throws IntegrationException, InterruptedException {
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Mockito.when(polarisHttpClient.getLogger()).thenReturn(new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        HttpUrl jobsApi = new HttpUrl("https://polaris.synopsys.example.com/api/jobs/jobs/p10t3j6grt67pabjgp89djvln4");
+        mockClientBehavior(polarisHttpClient, jobsApi, "jobservice_status.json");
+
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        PolarisService polarisService = new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT);
+
+        JobService jobService = new JobService(polarisHttpClient, polarisService);
+        JobWaitResult jobWaitResult = jobService.waitForJobStateIsCompletedOrDieByUrl(jobsApi, 60, JobPollSchedule.createDefault());
+
+        assertEquals(1, jobWaitResult.getPollCount());
+        assertEquals(0L, jobWaitResult.getTotalWaitMillis());
+        assertEquals(JobStatus.StateEnum.COMPLETED, jobWaitResult.getJobResource().getData().getAttributes().getStatus().getState());
+    }
+
     private void mockClientBehavior(AccessTokenPolarisHttpClient polarisHttpClient, HttpUrl uri, String results) {
         try {
             Response response = Mockito.mock(Response.class);
@@ -0,0 +1,117 @@
+package com.synopsys.integration.polaris.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.polaris.common.api.job.model.Job;
+import com.synopsys.integration.polaris.common.api.job.model.JobStatus;
+import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
+import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.response.Response;
+
+public class JobWatcherTest {
+    private static final String POLARIS_URL = "https://polaris.synopsys.example.com";
+
+    @Test
+    public void testSingleJobIsReadFromItsUrl() throws IntegrationException, InterruptedException, ExecutionException, TimeoutException {
+        AccessTokenPolarisHttpClient polarisHttpClient = createPolarisHttpClient();
+        HttpUrl jobApiUrl = new HttpUrl(POLARIS_URL + "/api/jobs/jobs/p10t3j6grt67pabjgp89djvln4");
+        mockClientBehavior(polarisHttpClient, jobApiUrl, "jobservice_status.json");
+
+        try (JobWatcher jobWatcher = createJobWatcher(polarisHttpClient)) {
+            Job job = jobWatcher.register(jobApiUrl, 60).get(10, TimeUnit.SECONDS);
+
+            assertEquals(JobStatus.StateEnum.COMPLETED, job.getAttributes().getStatus().getState());
+        }
+    }
+
+    @Test
+    public void testDueJobsAreReadInOneRequest() throws IntegrationException, InterruptedException, ExecutionException, TimeoutException {
+        AccessTokenPolarisHttpClient polarisHttpClient = createPolarisHttpClient();
+        HttpUrl jobsApiUrl = new HttpUrl(POLARIS_URL + "/api/jobs/jobs");
+        mockClientBehavior(polarisHttpClient, jobsApiUrl, "jobs_one_of.json");
+
+        try (JobWatcher jobWatcher = createJobWatcher(polarisHttpClient)) {
+            List<CompletableFuture<Job>> jobFutures = jobWatcher.registerAll(Arrays.asList(
+                new HttpUrl(POLARIS_URL + "/api/jobs/jobs/p10t3j6grt67pabjgp89djvln4"),
+                new HttpUrl(POLARIS_URL + "/api/jobs/jobs/p10t3j6grt67pabjgp89djvln5")
+            ), 60);
+            CompletableFuture<Job> firstJob = jobFutures.get(0);
+            CompletableFuture<Job> secondJob = jobFutures.get(1);
+
+            CompletableFuture.allOf(firstJob, secondJob).get(10, TimeUnit.SECONDS);
+            assertEquals("p10t3j6grt67pabjgp89djvln4", firstJob.get().getId());
+            assertEquals("p10t3j6grt67pabjgp89djvln5", secondJob.get().getId());
+            assertTrue(jobWatcher.isBatchReadsSupported());
+        }
+    }
+
+    @Test
+    public void testRegisteringAfterCloseFails() throws IntegrationException {
+        AccessTokenPolarisHttpClient polarisHttpClient = createPolarisHttpClient();
+        HttpUrl jobApiUrl = new HttpUrl(POLARIS_URL + "/api/jobs/jobs/p10t3j6grt67pabjgp89djvln4");
+
+        JobWatcher jobWatcher = createJobWatcher(polarisHttpClient);
+        jobWatcher.close();
+        CompletableFuture<Job> jobFuture = jobWatcher.register(jobApiUrl, 60);
+        List<CompletableFuture<Job>> jobFutures = jobWatcher.registerAll(Arrays.asList(jobApiUrl), 60);
+
+        assertTrue(jobFuture.isCompletedExceptionally());
+        assertTrue(jobFutures.get(0).isCompletedExceptionally());
+        assertEquals(0, jobWatcher.getWatchedJobCount());
+    }
+
+    private JobWatcher createJobWatcher(AccessTokenPolarisHttpClient polarisHttpClient) {
+        PolarisService polarisService = createPolarisService(polarisHttpClient);
+        return new JobWatcher(polarisHttpClient, polarisService, new JobService(polarisHttpClient, polarisService), JobPollSchedule.createDefault());
+    }
+
+    private PolarisService createPolarisService(AccessTokenPolarisHttpClient polarisHttpClient) {
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        return new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT);
+    }
+
+    private AccessTokenPolarisHttpClient createPolarisHttpClient() {
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Mockito.when(polarisHttpClient.getLogger()).thenReturn(new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        Mockito.when(polarisHttpClient.appendToPolarisUrl(Mockito.anyString())).thenAnswer(invocation -> new HttpUrl(POLARIS_URL + invocation.getArgument(0)));
+        return polarisHttpClient;
+    }
+
+    private void mockClientBehavior(AccessTokenPolarisHttpClient polarisHttpClient, HttpUrl uri, String results) {
+        try {
+            Response response = Mockito.mock(Response.class);
+            Mockito.when(response.getContentString()).thenReturn(getPreparedContentStringFrom(results));
+
+            ArgumentMatcher<Request> isMockedRequest = request -> null != request && request.getUrl().equals(uri);
+            Mockito.when(polarisHttpClient.execute(Mockito.argThat(isMockedRequest))).thenReturn(response);
+        } catch (IOException | IntegrationException e) {
+            fail("Unexpected " + e.getClass() + " was thrown while mocking client behavior. Please check the test for errors.", e);
+        }
+    }
+
+    private String getPreparedContentStringFrom(String resourceName) throws IOException {
+        return IOUtils.toString(getClass().getResourceAsStream("/JobService/" + resourceName), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.synopsys.integration.polaris.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resource;
+import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resources;
+import com.synopsys.integration.polaris.common.request.PolarisPagedRequestCreator;
+import com.synopsys.integration.polaris.common.request.PolarisPagedRequestWrapper;
+import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
+import com.synopsys.integration.polaris.common.request.param.FilterConstants;
+import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.polaris.common.rest.PolarisEndpointFamily;
+import com.synopsys.integration.polaris.common.rest.PolarisInstrumentation;
+import com.synopsys.integration.rest.HttpMethod;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.response.Response;
+
+public class PolarisCheckpointedPagedReaderTest {
+    private static final int PAGE_SIZE = 25;
+
+    @Test
+    public void testResumesAfterFailedPage() throws IntegrationException, IOException {
+        HttpUrl requestUri = new HttpUrl("https://google.com" + PolarisService.PROJECT_API_SPEC);
+        Path spillDirectory = Files.createTempDirectory("polaris-export").resolve("projects");
+        PolarisPagedRequestWrapper pagedRequestWrapper = createProjectsPagedRequestWrapper(requestUri);
+
+        AccessTokenPolarisHttpClient failingClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        mockPage(failingClient, "0", "projects_page_1_of_3.json");
+        Mockito.when(failingClient.execute(Mockito.argThat(isOffset("25")))).thenThrow(new IntegrationException("Simulated crash"));
+
+        PolarisCheckpointedPagedReader failingReader = new PolarisCheckpointedPagedReader(createLogger(), createPolarisService(failingClient), PolarisServicesFactory.createDefaultGson(), spillDirectory);
+        assertThrows(IntegrationException.class, () -> failingReader.exportAllPages(pagedRequestWrapper, PAGE_SIZE));
+        assertFalse(failingReader.isComplete());
+        assertEquals(25, failingReader.<ProjectV0Resource>streamSpilledResponses(ProjectV0Resources.class).count());
+
+        AccessTokenPolarisHttpClient resumedClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        mockPage(resumedClient, "25", "projects_page_2_of_3.json");
+        mockPage(resumedClient, "50", "projects_page_3_of_3.json");
+
+        PolarisCheckpointedPagedReader resumedReader = new PolarisCheckpointedPagedReader(createLogger(), createPolarisService(resumedClient), PolarisServicesFactory.createDefaultGson(), spillDirectory);
+        List<ProjectV0Resource> allProjects = resumedReader.<ProjectV0Resource>streamAllResponses(pagedRequestWrapper, PAGE_SIZE).collect(Collectors.toList());
+
+        assertEquals(66, allProjects.size());
+        assertTrue(resumedReader.isComplete());
+        Mockito.verify(resumedClient, Mockito.never()).execute(Mockito.argThat(isOffset("0")));
+
+        resumedReader.delete();
+        assertFalse(resumedReader.isComplete());
+        assertEquals(0, resumedReader.<ProjectV0Resource>streamSpilledResponses(ProjectV0Resources.class).count());
+    }
+
+    @Test
+    public void testRefusesToResumeADifferentRequest() throws IntegrationException, IOException {
+        HttpUrl requestUri = new HttpUrl("https://google.com" + PolarisService.PROJECT_API_SPEC);
+        Path spillDirectory = Files.createTempDirectory("polaris-export").resolve("projects");
+
+        AccessTokenPolarisHttpClient failingClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        mockPage(failingClient, "0", "projects_page_1_of_3.json");
+        Mockito.when(failingClient.execute(Mockito.argThat(isOffset("25")))).thenThrow(new IntegrationException("Simulated crash"));
+
+        PolarisCheckpointedPagedReader failingReader = new PolarisCheckpointedPagedReader(createLogger(), createPolarisService(failingClient), PolarisServicesFactory.createDefaultGson(), spillDirectory);
+        assertThrows(IntegrationException.class, () -> failingReader.exportAllPages(createProjectsPagedRequestWrapper(requestUri), PAGE_SIZE));
+
+        AccessTokenPolarisHttpClient resumedClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        PolarisCheckpointedPagedReader resumedReader = new PolarisCheckpointedPagedReader(createLogger(), createPolarisService(resumedClient), PolarisServicesFactory.createDefaultGson(), spillDirectory);
+        PolarisPagedRequestCreator filteredRequestCreator = (limit, offset) -> {
+            Request.Builder requestBuilder = PolarisRequestFactory.createDefaultPagedRequestBuilder(limit, offset).url(requestUri);
+            requestBuilder.addQueryParameter(FilterConstants.FILTER_PROJECT_NAME_CONTAINS, "other");
+            return requestBuilder.build();
+        };
+        PolarisPagedRequestWrapper filteredRequestWrapper = new PolarisPagedRequestWrapper(filteredRequestCreator, ProjectV0Resources.class);
+        PolarisPagedRequestWrapper otherUrlRequestWrapper = createProjectsPagedRequestWrapper(new HttpUrl("https://google.com" + PolarisService.BRANCHES_API_SPEC));
+
+        assertThrows(IntegrationException.class, () -> resumedReader.exportAllPages(filteredRequestWrapper, PAGE_SIZE));
+        assertThrows(IntegrationException.class, () -> resumedReader.exportAllPages(otherUrlRequestWrapper, PAGE_SIZE));
+        Mockito.verify(resumedClient, Mockito.never()).execute(Mockito.any(Request.class));
+        assertEquals(25, resumedReader.<ProjectV0Resource>streamSpilledResponses(ProjectV0Resources.class).count());
+    }
+
+    @Test
+    public void testExportedPagesAreReportedToTheInstrumentation() throws IntegrationException, IOException {
+        HttpUrl requestUri = new HttpUrl("https://google.com" + PolarisService.PROJECT_API_SPEC);
+        Path spillDirectory = Files.createTempDirectory("polaris-export").resolve("projects");
+
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        mockPage(polarisHttpClient, "0", "projects_page_1_of_3.json");
+        mockPage(polarisHttpClient, "25", "projects_page_2_of_3.json");
+        mockPage(polarisHttpClient, "50", "projects_page_3_of_3.json");
+
+        List<HttpUrl> completedUrls = new ArrayList<>();
+        Mockito.when(polarisHttpClient.getInstrumentation()).thenReturn(new PolarisInstrumentation() {
+            @Override
+            public void requestCompleted(PolarisEndpointFamily endpointFamily, HttpMethod method, HttpUrl url, int attempts, long durationNanos, long parseNanos, boolean succeeded) {
+                assertTrue(succeeded);
+                assertEquals(1, attempts);
+                assertEquals(PolarisEndpointFamily.COMMON, endpointFamily);
+                assertTrue(parseNanos <= durationNanos);
+                completedUrls.add(url);
+            }
+        });
+
+        PolarisCheckpointedPagedReader reader = new PolarisCheckpointedPagedReader(createLogger(), createPolarisService(polarisHttpClient), PolarisServicesFactory.createDefaultGson(), spillDirectory);
+        reader.exportAllPages(createProjectsPagedRequestWrapper(requestUri), PAGE_SIZE);
+
+        assertTrue(reader.isComplete());
+        assertEquals(3, completedUrls.size());
+        reader.delete();
+    }
+
+    private void mockPage(AccessTokenPolarisHttpClient polarisHttpClient, String offset, String resourceName) throws IntegrationException, IOException {
+        byte[] content = IOUtils.toByteArray(getClass().getResourceAsStream("/PolarisService/" + resourceName));
+        Response response = Mockito.mock(Response.class);
+        Mockito.when(response.getContent()).thenAnswer(invocation -> new ByteArrayInputStream(content));
+        Mockito.when(response.getContentString()).thenReturn(new String(content, StandardCharsets.UTF_8));
+        Mockito.when(polarisHttpClient.execute(Mockito.argThat(isOffset(offset)))).thenReturn(response);
+    }
+
+    private ArgumentMatcher<Request> isOffset(String offset) {
+        return request -> null != request && request.getQueryParameters()
+                                                 .get(PolarisRequestFactory.OFFSET_PARAMETER)
+                                                 .contains(offset);
+    }
+
+    private PolarisService createPolarisService(AccessTokenPolarisHttpClient polarisHttpClient) {
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), createLogger());
+        return new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT);
+    }
+
+    private PolarisPagedRequestWrapper createProjectsPagedRequestWrapper(HttpUrl requestUri) {
+        PolarisPagedRequestCreator requestCreator = (limit, offset) -> PolarisRequestFactory.createDefaultPagedRequestBuilder(limit, offset)
+                                                                           .url(requestUri)
+                                                                           .build();
+        return new PolarisPagedRequestWrapper(requestCreator, ProjectV0Resources.class);
+    }
+
+    private PrintStreamIntLogger createLogger() {
+        return new PrintStreamIntLogger(System.out, LogLevel.INFO);
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.synopsys.integration.polaris.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resources;
+import com.synopsys.integration.rest.response.Response;
+
+public class PolarisJsonTransformerTest {
+    @Test
+    public void testResourcesOnlyMatchesEveryComponentForResources() throws IntegrationException, IOException {
+        String json = IOUtils.toString(getClass().getResourceAsStream("/PolarisService/projects_page_1_of_3.json"), StandardCharsets.UTF_8);
+
+        PolarisJsonTransformer everyComponentTransformer = createTransformer(PolarisJsonFieldMode.EVERY_COMPONENT);
+        PolarisJsonTransformer resourcesOnlyTransformer = createTransformer(PolarisJsonFieldMode.RESOURCES_ONLY);
+
+        ProjectV0Resources everyComponentProjects = everyComponentTransformer.getResponseAs(json, ProjectV0Resources.class);
+        ProjectV0Resources resourcesOnlyProjects = resourcesOnlyTransformer.getResponseAs(json, ProjectV0Resources.class);
+
+        assertNotNull(resourcesOnlyProjects.getJson());
+        assertEquals(everyComponentProjects.getJson(), resourcesOnlyProjects.getJson());
+        assertEquals(everyComponentProjects.getData().size(), resourcesOnlyProjects.getData().size());
+        for (int i = 0; i < everyComponentProjects.getData().size(); i++) {
+            assertNotNull(resourcesOnlyProjects.getData().get(i).getJson());
+            assertEquals(everyComponentProjects.getData().get(i).getJson(), resourcesOnlyProjects.getData().get(i).getJson());
+            assertEquals(everyComponentProjects.getData().get(i).getId(), resourcesOnlyProjects.getData().get(i).getId());
+        }
+    }
+
+    @Test
+    public void testStreamedResponseMatchesStringResponse() throws IntegrationException, IOException {
+        String json = IOUtils.toString(getClass().getResourceAsStream("/PolarisService/projects_page_2_of_3.json"), StandardCharsets.UTF_8);
+
+        Response response = Mockito.mock(Response.class);
+        Mockito.when(response.getContent()).thenReturn(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        PolarisJsonTransformer streamingTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO), PolarisJsonFieldMode.RESOURCES_ONLY, true);
+        ProjectV0Resources streamedProjects = streamingTransformer.getResponse(response, ProjectV0Resources.class);
+        ProjectV0Resources stringProjects = createTransformer(PolarisJsonFieldMode.RESOURCES_ONLY).getResponseAs(json, ProjectV0Resources.class);
+
+        assertEquals(stringProjects.getJson(), streamedProjects.getJson());
+        assertEquals(stringProjects.getData().size(), streamedProjects.getData().size());
+        Mockito.verify(response, Mockito.never()).getContentString();
+    }
+
+    private PolarisJsonTransformer createTransformer(PolarisJsonFieldMode jsonFieldMode) {
+        return new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO), jsonFieldMode);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.synopsys.integration.polaris.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+
+public class PolarisResolutionCacheTest {
+    @Test
+    public void testConcurrentLookupsShareOneLoad() throws Exception {
+        PolarisResolutionCache<String, String> cache = new PolarisResolutionCache<>(10, 60000L);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executorService.submit(() -> cache.get("project", () -> {
+                loads.incrementAndGet();
+                loadStarted.countDown();
+                awaitQuietly(releaseLoad);
+                return "project-id";
+            }));
+            assertEquals(true, loadStarted.await(5, TimeUnit.SECONDS));
+            Future<String> second = executorService.submit(() -> cache.get("project", () -> {
+                loads.incrementAndGet();
+                return "other-id";
+            }));
+
+            // give the second lookup time to find the load in progress
+            Thread.sleep(100);
+            releaseLoad.countDown();
+
+            assertEquals("project-id", first.get(5, TimeUnit.SECONDS));
+            assertEquals("project-id", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+            assertEquals(1, cache.getMissCount());
+            assertEquals(1, cache.getHitCount());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testExpiredAndFailedEntriesAreLoadedAgain() throws IntegrationException {
+        AtomicLong now = new AtomicLong(0L);
+        PolarisResolutionCache<String, String> cache = new PolarisResolutionCache<>(10, 1000L, now::get);
+
+        assertEquals("v1", cache.get("key", () -> "v1"));
+        now.set(1000L);
+        assertEquals("v1", cache.get("key", () -> "v2"));
+        now.set(1001L);
+        assertEquals("v2", cache.get("key", () -> "v2"));
+
+        assertThrows(IntegrationException.class, () -> cache.get("failing", () -> {
+            throw new IntegrationException("Not reachable");
+        }));
+        assertEquals("recovered", cache.get("failing", () -> "recovered"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() throws IntegrationException {
+        PolarisResolutionCache<String, String> cache = new PolarisResolutionCache<>(2, 60000L);
+        cache.get("a", () -> "a");
+        cache.get("b", () -> "b");
+        cache.get("a", () -> "unused");
+        cache.get("c", () -> "c");
+
+        assertEquals("a", cache.get("a", () -> "reloaded"));
+        assertEquals("reloaded", cache.get("b", () -> "reloaded"));
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.synopsys.integration.polaris.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.google.gson.JsonObject;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resource;
+import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resources;
+import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
+import com.synopsys.integration.polaris.common.request.PolarisRetryPolicy;
+import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.response.Response;
+
+public class PolarisResponseCacheTest {
+    private static final String ETAG = "\"projects-v1\"";
+
+    @Test
+    public void testNotModifiedIsBoundWithoutParsingAgain() throws IntegrationException, IOException {
+        String json = IOUtils.toString(getClass().getResourceAsStream("/PolarisService/projects_all_on_one_page.json"), StandardCharsets.UTF_8);
+        Response okResponse = Mockito.mock(Response.class);
+        Mockito.when(okResponse.getStatusCode()).thenReturn(200);
+        Mockito.when(okResponse.getContentString()).thenReturn(json);
+        Mockito.when(okResponse.getHeaderValue(PolarisResponseCache.ETAG_HEADER)).thenReturn(ETAG);
+
+        Response notModifiedResponse = Mockito.mock(Response.class);
+        Mockito.when(notModifiedResponse.getStatusCode()).thenReturn(PolarisResponseCache.NOT_MODIFIED);
+
+        List<Request> executedRequests = new ArrayList<>();
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Mockito.when(polarisHttpClient.execute(Mockito.any(Request.class))).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            executedRequests.add(request);
+            return request.getHeaders().containsKey(PolarisResponseCache.IF_NONE_MATCH_HEADER) ? notModifiedResponse : okResponse;
+        });
+
+        PolarisResponseCache responseCache = PolarisResponseCache.createDefault();
+        PolarisJsonTransformer polarisJsonTransformer = Mockito.spy(new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO)));
+        PolarisService polarisService = new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT, null, PolarisRetryPolicy.noRetries(), responseCache);
+        Request request = PolarisRequestFactory.createDefaultBuilder().url(new HttpUrl("https://google.com" + PolarisService.PROJECT_API_SPEC)).build();
+
+        Optional<ProjectV0Resource> firstLookup = polarisService.getFirstResponse(request, ProjectV0Resources.class);
+        Optional<ProjectV0Resource> secondLookup = polarisService.getFirstResponse(request, ProjectV0Resources.class);
+
+        assertTrue(firstLookup.isPresent());
+        assertNotSame(firstLookup.get(), secondLookup.get());
+        assertEquals(firstLookup.get().getId(), secondLookup.get().getId());
+        assertEquals(ETAG, executedRequests.get(1).getHeaders().get(PolarisResponseCache.IF_NONE_MATCH_HEADER));
+        assertFalse(executedRequests.get(0).getHeaders().containsKey(PolarisResponseCache.IF_NONE_MATCH_HEADER));
+        assertEquals(1, responseCache.getHitCount());
+        assertEquals(1, responseCache.getMissCount());
+        Mockito.verify(notModifiedResponse, Mockito.never()).getContentString();
+        Mockito.verify(polarisJsonTransformer, Mockito.times(1)).getJsonObject(Mockito.anyString());
+        Mockito.verify(polarisJsonTransformer, Mockito.times(1)).addJsonFields(Mockito.any(JsonObject.class));
+        Mockito.verify(polarisJsonTransformer, Mockito.times(2)).bindResponse(Mockito.any(JsonObject.class), Mockito.any());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        PolarisResponseCache responseCache = new PolarisResponseCache(2, Long.MAX_VALUE, 60000L);
+        Response response = Mockito.mock(Response.class);
+        Mockito.when(response.getHeaderValue(PolarisResponseCache.ETAG_HEADER)).thenReturn(ETAG);
+
+        responseCache.put("first", response, new JsonObject(), "{}", 0L);
+        responseCache.put("second", response, new JsonObject(), "{}", 0L);
+        assertTrue(responseCache.get("first", 1L).isPresent());
+        responseCache.put("third", response, new JsonObject(), "{}", 0L);
+
+        assertTrue(responseCache.get("first", 1L).isPresent());
+        assertFalse(responseCache.get("second", 1L).isPresent());
+        assertTrue(responseCache.get("third", 1L).isPresent());
+        assertFalse(responseCache.get("third", 60001L).isPresent());
+        assertEquals(1, responseCache.size());
+    }
+
+    @Test
+    public void testModifyingAHitLeavesTheCacheUntouched() throws IntegrationException, IOException {
+        String json = IOUtils.toString(getClass().getResourceAsStream("/PolarisService/projects_all_on_one_page.json"), StandardCharsets.UTF_8);
+        Response okResponse = Mockito.mock(Response.class);
+        Mockito.when(okResponse.getStatusCode()).thenReturn(200);
+        Mockito.when(okResponse.getContentString()).thenReturn(json);
+        Mockito.when(okResponse.getHeaderValue(PolarisResponseCache.ETAG_HEADER)).thenReturn(ETAG);
+
+        Response notModifiedResponse = Mockito.mock(Response.class);
+        Mockito.when(notModifiedResponse.getStatusCode()).thenReturn(PolarisResponseCache.NOT_MODIFIED);
+
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Mockito.when(polarisHttpClient.execute(Mockito.any(Request.class))).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            return request.getHeaders().containsKey(PolarisResponseCache.IF_NONE_MATCH_HEADER) ? notModifiedResponse : okResponse;
+        });
+
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        PolarisService polarisService = new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT, null, PolarisRetryPolicy.noRetries(), PolarisResponseCache.createDefault());
+        Request request = PolarisRequestFactory.createDefaultBuilder().url(new HttpUrl("https://google.com" + PolarisService.PROJECT_API_SPEC)).build();
+
+        ProjectV0Resources firstResponse = polarisService.get(ProjectV0Resources.class, request);
+        int expectedSize = firstResponse.getData().size();
+        firstResponse.setData(new ArrayList<>());
+
+        ProjectV0Resources secondResponse = polarisService.get(ProjectV0Resources.class, request);
+        secondResponse.getData().clear();
+
+        ProjectV0Resources thirdResponse = polarisService.get(ProjectV0Resources.class, request);
+        assertEquals(expectedSize, thirdResponse.getData().size());
+        assertTrue(expectedSize > 0);
+    }
+
+}
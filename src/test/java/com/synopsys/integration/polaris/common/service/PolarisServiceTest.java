@@ -1,17 +1,31 @@
 package com.synopsys.integration.polaris.common.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.io.IOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
+import com.synopsys.integration.rest.HttpMethod;
 import com.synopsys.integration.rest.HttpUrl;
 import com.synopsys.integration.rest.support.UrlSupport;
 import org.apache.commons.io.IOUtils;
@@ -31,6 +45,10 @@ import com.synopsys.integration.log.LogLevel;
 import com.synopsys.integration.log.PrintStreamIntLogger;
 import com.synopsys.integration.polaris.common.api.PolarisResources;
 import com.synopsys.integration.polaris.common.api.PolarisResourcesPagination;
+import com.synopsys.integration.polaris.common.api.auth.model.role.RoleResource;
+import com.synopsys.integration.polaris.common.api.auth.model.role.assignments.RoleAssignmentResource;
+import com.synopsys.integration.polaris.common.api.auth.model.role.assignments.RoleAssignmentResources;
+import com.synopsys.integration.polaris.common.api.auth.model.user.UserResource;
 import com.synopsys.integration.polaris.common.api.common.model.branch.BranchV0Resource;
 import com.synopsys.integration.polaris.common.api.common.model.branch.BranchV0Resources;
 import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resource;
@@ -38,8 +56,11 @@ import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV
 import com.synopsys.integration.polaris.common.request.PolarisPagedRequestCreator;
 import com.synopsys.integration.polaris.common.request.PolarisPagedRequestWrapper;
 import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
+import com.synopsys.integration.polaris.common.request.PolarisRetryPolicy;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClientTestIT;
+import com.synopsys.integration.polaris.common.rest.PolarisEndpointFamily;
+import com.synopsys.integration.polaris.common.rest.PolarisInstrumentation;
 import com.synopsys.integration.rest.proxy.ProxyInfo;
 import com.synopsys.integration.rest.request.Request;
 import com.synopsys.integration.rest.response.Response;
@@ -111,6 +132,262 @@ public class PolarisServiceTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("createGetAllMockData")
+    public void testGetAllConcurrently(Map<String, String> offsetsToResults, int expectedTotal) throws IntegrationException {
+        final HttpUrl requestUri = urlSupport.appendRelativeUrl(BASE_URL, PolarisService.PROJECT_API_SPEC);
+
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        mockClientBehavior(polarisHttpClient, requestUri, offsetsToResults, "projects_no_more_results.json");
+
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+
+        PolarisPagedRequestCreator requestCreator = (limit, offset) -> PolarisRequestFactory.createDefaultPagedRequestBuilder(limit, offset)
+                                                                           .url(requestUri)
+                                                                           .build();
+
+        PolarisPagedRequestWrapper pagedRequestWrapper = new PolarisPagedRequestWrapper(requestCreator, ProjectV0Resources.class);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            PolarisService polarisService = new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT, executorService);
+            List<ProjectV0Resource> allPagesResponse = polarisService.getAllResponses(pagedRequestWrapper);
+            assertEquals(expectedTotal, allPagesResponse.size());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testGetAllConcurrentlyWithoutTotalReusesFirstPage() throws IntegrationException, IOException {
+        final HttpUrl requestUri = urlSupport.appendRelativeUrl(BASE_URL, PolarisService.PROJECT_API_SPEC);
+
+        Map<String, String> remainingPagesMap = new HashMap<>();
+        remainingPagesMap.put(PAGE_TWO_OFFSET, "projects_page_2_of_3.json");
+        remainingPagesMap.put(PAGE_THREE_OFFSET, "projects_page_3_of_3.json");
+
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Map<String, String> allPagesMap = new HashMap<>(remainingPagesMap);
+        allPagesMap.put(PAGE_ONE_OFFSET, "projects_page_1_of_3.json");
+        mockClientBehavior(polarisHttpClient, requestUri, allPagesMap, "projects_no_more_results.json");
+
+        Response pageOneWithoutTotal = Mockito.mock(Response.class);
+        Mockito.when(pageOneWithoutTotal.getContentString()).thenReturn(getPreparedContentStringFrom("projects_page_1_of_3.json").replace("\"total\": 66", "\"total\": null"));
+        ArgumentMatcher<Request> isPageOne = request -> requestMatches(request, requestUri, PAGE_ONE_OFFSET);
+        Mockito.when(polarisHttpClient.execute(Mockito.argThat(isPageOne))).thenReturn(pageOneWithoutTotal);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+            PolarisService polarisService = new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT, executorService);
+            List<ProjectV0Resource> allProjects = polarisService.getAllResponses(createProjectsPagedRequestWrapper(requestUri));
+
+            assertEquals(66, allProjects.size());
+            Mockito.verify(polarisHttpClient, Mockito.times(1)).execute(Mockito.argThat(isPageOne));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("createGetAllMockData")
+    public void testStreamAll(Map<String, String> offsetsToResults, int expectedTotal) throws IntegrationException {
+        final HttpUrl requestUri = urlSupport.appendRelativeUrl(BASE_URL, PolarisService.PROJECT_API_SPEC);
+
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        mockClientBehavior(polarisHttpClient, requestUri, offsetsToResults, "projects_no_more_results.json");
+
+        PolarisService polarisService = createProjectsPolarisService(polarisHttpClient);
+        Stream<ProjectV0Resource> allPagesStream = polarisService.streamAllResponses(createProjectsPagedRequestWrapper(requestUri));
+        assertEquals(expectedTotal, allPagesStream.count());
+    }
+
+    @Test
+    public void testStreamFindFirstOnlyRequestsFirstPage() throws IntegrationException, IOException {
+        final HttpUrl requestUri = urlSupport.appendRelativeUrl(BASE_URL, PolarisService.PROJECT_API_SPEC);
+
+        Map<String, String> getAllMultiPageMap = new HashMap<>();
+        getAllMultiPageMap.put(PAGE_ONE_OFFSET, "projects_page_1_of_3.json");
+        getAllMultiPageMap.put(PAGE_TWO_OFFSET, "projects_page_2_of_3.json");
+        getAllMultiPageMap.put(PAGE_THREE_OFFSET, "projects_page_3_of_3.json");
+
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        mockClientBehavior(polarisHttpClient, requestUri, getAllMultiPageMap, "projects_no_more_results.json");
+
+        PolarisService polarisService = createProjectsPolarisService(polarisHttpClient);
+        Optional<ProjectV0Resource> firstProject = polarisService.<ProjectV0Resource>streamAllResponses(createProjectsPagedRequestWrapper(requestUri)).findFirst();
+
+        assertTrue(firstProject.isPresent());
+        Mockito.verify(polarisHttpClient, Mockito.times(1)).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    public void testGetResourceFromPopulatedIsMemoized() throws IntegrationException, IOException {
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        PolarisService polarisService = new PolarisService(Mockito.mock(AccessTokenPolarisHttpClient.class), polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT);
+        RoleAssignmentService roleAssignmentService = new RoleAssignmentService(null, polarisService, null);
+
+        RoleAssignmentResources roleAssignments = polarisJsonTransformer.getResponseAs(getPreparedContentStringFrom("role_assignments_with_included.json"), RoleAssignmentResources.class);
+        RoleAssignmentResource firstAssignment = roleAssignments.getData().get(0);
+        RoleAssignmentResource secondAssignment = roleAssignments.getData().get(1);
+
+        PolarisIncludedResourceIndex includedResourceIndex = polarisService.getIncludedResourceIndex(roleAssignments);
+        Optional<RoleResource> firstRole = roleAssignmentService.getRoleFromPopulatedRoleAssignments(includedResourceIndex, firstAssignment);
+        Optional<RoleResource> secondRole = roleAssignmentService.getRoleFromPopulatedRoleAssignments(includedResourceIndex, secondAssignment);
+        Optional<UserResource> secondUser = roleAssignmentService.getUserFromPopulatedRoleAssignments(includedResourceIndex, secondAssignment);
+
+        assertTrue(firstRole.isPresent());
+        assertEquals("c4a1d6b0-2e55-4c7c-a63c-9b0c5d6e7f01", firstRole.get().getId());
+        assertSame(firstRole.get(), secondRole.get(), "Expected the included role to be converted only once");
+        assertEquals("b61c2d42-90a4-4c0b-8a5e-5b6f3d1ad002", secondUser.map(UserResource::getId).orElse(null));
+        assertEquals(3, includedResourceIndex.size());
+        assertEquals(firstRole.get().getId(), roleAssignmentService.getRoleFromPopulatedRoleAssignments(roleAssignments, firstAssignment).map(RoleResource::getId).orElse(null));
+    }
+
+    @Test
+    public void testIncludedResourceIndexIsBuiltOncePerResponse() throws IntegrationException, IOException {
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        PolarisService polarisService = new PolarisService(Mockito.mock(AccessTokenPolarisHttpClient.class), polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT);
+        RoleAssignmentService roleAssignmentService = new RoleAssignmentService(null, polarisService, null);
+
+        RoleAssignmentResources roleAssignments = polarisJsonTransformer.getResponseAs(getPreparedContentStringFrom("role_assignments_with_included.json"), RoleAssignmentResources.class);
+        RoleAssignmentResources sameRoleAssignments = polarisJsonTransformer.getResponseAs(getPreparedContentStringFrom("role_assignments_with_included.json"), RoleAssignmentResources.class);
+        PolarisIncludedResourceIndex includedResourceIndex = polarisService.getIncludedResourceIndex(roleAssignments);
+
+        Optional<RoleResource> firstRole = roleAssignmentService.getRoleFromPopulatedRoleAssignments(roleAssignments, roleAssignments.getData().get(0));
+        Optional<RoleResource> secondRole = roleAssignmentService.getRoleFromPopulatedRoleAssignments(roleAssignments, roleAssignments.getData().get(1));
+
+        assertSame(includedResourceIndex, polarisService.getIncludedResourceIndex(roleAssignments));
+        assertSame(firstRole.get(), secondRole.get(), "Expected the overloads that take the response to share its index");
+        assertNotSame(includedResourceIndex, polarisService.getIncludedResourceIndex(sameRoleAssignments), "Expected responses to be told apart by identity");
+
+        roleAssignments.setIncluded(new ArrayList<>());
+        PolarisIncludedResourceIndex rebuiltIndex = polarisService.getIncludedResourceIndex(roleAssignments);
+        assertNotSame(includedResourceIndex, rebuiltIndex);
+        assertEquals(0, rebuiltIndex.size());
+    }
+
+    @Test
+    public void testPagedWalkRetriesFailedPageWithoutStartingOver() throws IntegrationException, IOException {
+        final HttpUrl requestUri = urlSupport.appendRelativeUrl(BASE_URL, PolarisService.PROJECT_API_SPEC);
+
+        Map<String, String> getAllMultiPageMap = new HashMap<>();
+        getAllMultiPageMap.put(PAGE_ONE_OFFSET, "projects_page_1_of_3.json");
+        getAllMultiPageMap.put(PAGE_THREE_OFFSET, "projects_page_3_of_3.json");
+
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Mockito.when(polarisHttpClient.getLogger()).thenReturn(new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        mockClientBehavior(polarisHttpClient, requestUri, getAllMultiPageMap, "projects_no_more_results.json");
+
+        Response pageTwo = Mockito.mock(Response.class);
+        Mockito.when(pageTwo.getContentString()).thenReturn(getPreparedContentStringFrom("projects_page_2_of_3.json"));
+        ArgumentMatcher<Request> isPageTwo = request -> requestMatches(request, requestUri, PAGE_TWO_OFFSET);
+        Mockito.when(polarisHttpClient.execute(Mockito.argThat(isPageTwo)))
+            .thenThrow(new IntegrationException(new IOException("Connection reset")))
+            .thenReturn(pageTwo);
+
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        PolarisRetryPolicy retryPolicy = new PolarisRetryPolicy(3, 0L, 0L, PolarisRetryPolicy.DEFAULT_RETRYABLE_STATUS_CODES);
+        PolarisService polarisService = new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT, null, retryPolicy);
+
+        List<ProjectV0Resource> allProjects = polarisService.getAllResponses(createProjectsPagedRequestWrapper(requestUri));
+
+        assertEquals(66, allProjects.size());
+        Mockito.verify(polarisHttpClient, Mockito.times(1)).execute(Mockito.argThat(request -> requestMatches(request, requestUri, PAGE_ONE_OFFSET)));
+        Mockito.verify(polarisHttpClient, Mockito.times(2)).execute(Mockito.argThat(isPageTwo));
+    }
+
+    @Test
+    public void testRetryPolicyOnlyRetriesGets() {
+        PolarisRetryPolicy retryPolicy = PolarisRetryPolicy.createDefault();
+        IntegrationException connectionReset = new IntegrationException(new IOException("Connection reset"));
+        Request get = PolarisRequestFactory.createDefaultBuilder().url(BASE_URL).build();
+        Request post = PolarisRequestFactory.createDefaultBuilder().url(BASE_URL).method(HttpMethod.POST).build();
+
+        assertTrue(retryPolicy.shouldRetry(get, connectionReset, 1));
+        assertTrue(retryPolicy.shouldRetry(get, new IntegrationException(new SocketException("Connection reset")), 1));
+        assertTrue(retryPolicy.shouldRetry(get, new IntegrationException(new SocketTimeoutException("Read timed out")), 1));
+        assertFalse(retryPolicy.shouldRetry(get, connectionReset, retryPolicy.getMaxAttempts()));
+        assertFalse(retryPolicy.shouldRetry(get, new IntegrationException("Unparseable response"), 1));
+        assertFalse(retryPolicy.shouldRetry(post, connectionReset, 1));
+        assertTrue(retryPolicy.getBackoffMillis(10) <= retryPolicy.getMaxBackoffMillis());
+    }
+
+    @Test
+    public void testInstrumentationReportsAttemptsAndSpans() throws IntegrationException, IOException {
+        final HttpUrl requestUri = urlSupport.appendRelativeUrl(BASE_URL, PolarisService.PROJECT_API_SPEC);
+
+        Map<String, String> getAllMultiPageMap = new HashMap<>();
+        getAllMultiPageMap.put(PAGE_ONE_OFFSET, "projects_page_1_of_3.json");
+        getAllMultiPageMap.put(PAGE_THREE_OFFSET, "projects_page_3_of_3.json");
+
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Mockito.when(polarisHttpClient.getLogger()).thenReturn(new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        mockClientBehavior(polarisHttpClient, requestUri, getAllMultiPageMap, "projects_no_more_results.json");
+
+        Response pageTwo = Mockito.mock(Response.class);
+        Mockito.when(pageTwo.getContentString()).thenReturn(getPreparedContentStringFrom("projects_page_2_of_3.json"));
+        Mockito.when(polarisHttpClient.execute(Mockito.argThat(request -> requestMatches(request, requestUri, PAGE_TWO_OFFSET))))
+            .thenThrow(new IntegrationException(new IOException("Connection reset")))
+            .thenReturn(pageTwo);
+
+        List<Integer> attempts = new ArrayList<>();
+        List<PolarisEndpointFamily> endpointFamilies = new ArrayList<>();
+        Map<String, Long> spanAttributes = new HashMap<>();
+        List<String> endedSpans = new ArrayList<>();
+        PolarisInstrumentation instrumentation = new PolarisInstrumentation() {
+            @Override
+            public void requestCompleted(PolarisEndpointFamily endpointFamily, HttpMethod method, HttpUrl url, int requestAttempts, long durationNanos, long parseNanos, boolean succeeded) {
+                assertTrue(succeeded);
+                assertTrue(parseNanos <= durationNanos);
+                attempts.add(requestAttempts);
+                endpointFamilies.add(endpointFamily);
+            }
+
+            @Override
+            public Span startSpan(String operation, HttpUrl url) {
+                return new Span() {
+                    @Override
+                    public void setAttribute(String key, long value) {
+                        spanAttributes.put(key, value);
+                    }
+
+                    @Override
+                    public void end(Throwable failure) {
+                        assertNull(failure);
+                        endedSpans.add(operation);
+                    }
+                };
+            }
+        };
+        Mockito.when(polarisHttpClient.getInstrumentation()).thenReturn(instrumentation);
+
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        PolarisRetryPolicy retryPolicy = new PolarisRetryPolicy(3, 0L, 0L, PolarisRetryPolicy.DEFAULT_RETRYABLE_STATUS_CODES);
+        PolarisService polarisService = new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT, null, retryPolicy);
+
+        List<ProjectV0Resource> allProjects = polarisService.getAllResponses(createProjectsPagedRequestWrapper(requestUri));
+
+        assertEquals(66, allProjects.size());
+        assertEquals(Arrays.asList(1, 2, 1), attempts);
+        assertTrue(endpointFamilies.stream().allMatch(PolarisEndpointFamily.COMMON::equals));
+        assertEquals(Collections.singletonList(PolarisInstrumentation.GET_ALL_RESPONSES_SPAN), endedSpans);
+        assertEquals(Long.valueOf(66), spanAttributes.get(PolarisInstrumentation.RESOURCE_COUNT_ATTRIBUTE));
+        assertEquals(Long.valueOf(PolarisRequestFactory.DEFAULT_LIMIT), spanAttributes.get(PolarisInstrumentation.PAGE_SIZE_ATTRIBUTE));
+    }
+
+    private PolarisService createProjectsPolarisService(AccessTokenPolarisHttpClient polarisHttpClient) {
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(PolarisServicesFactory.createDefaultGson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        return new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT);
+    }
+
+    private PolarisPagedRequestWrapper createProjectsPagedRequestWrapper(HttpUrl requestUri) {
+        PolarisPagedRequestCreator requestCreator = (limit, offset) -> PolarisRequestFactory.createDefaultPagedRequestBuilder(limit, offset)
+                                                                           .url(requestUri)
+                                                                           .build();
+        return new PolarisPagedRequestWrapper(requestCreator, ProjectV0Resources.class);
+    }
+
     private static Stream<Arguments> createGetAllMockData() {
         Map<String, String> getAllOnOnePageMap = new HashMap<>();
         getAllOnOnePageMap.put(PAGE_ONE_OFFSET, "projects_all_on_one_page.json");
@@ -0,0 +1,38 @@
+package com.synopsys.integration.polaris.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.polaris.common.concurrent.PolarisExecutorStrategy;
+import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+
+public class PolarisServicesFactoryTest {
+    @Test
+    public void testCloseShutsDownReplacedExecutorStrategies() {
+        PolarisServicesFactory polarisServicesFactory = new PolarisServicesFactory(new PrintStreamIntLogger(System.out, LogLevel.INFO), Mockito.mock(AccessTokenPolarisHttpClient.class), PolarisServicesFactory.createDefaultGson());
+        polarisServicesFactory.setMaxConcurrentRequests(2);
+        ExecutorService replacedExecutorService = polarisServicesFactory.getExecutorStrategy().getExecutorService();
+        ScheduledExecutorService scheduler = polarisServicesFactory.getExecutorStrategy().getScheduler();
+
+        polarisServicesFactory.setMaxConcurrentRequests(4);
+        assertSame(scheduler, polarisServicesFactory.getExecutorStrategy().getScheduler());
+
+        PolarisExecutorStrategy executorStrategy = PolarisExecutorStrategy.boundedPlatformPool(3);
+        polarisServicesFactory.setExecutorStrategy(executorStrategy);
+        ScheduledExecutorService currentScheduler = executorStrategy.getScheduler();
+
+        polarisServicesFactory.close();
+        assertTrue(replacedExecutorService.isShutdown());
+        assertTrue(scheduler.isShutdown());
+        assertTrue(currentScheduler.isShutdown());
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.synopsys.integration.polaris.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.request.param.PolarisParamBuilder;
+import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.request.Request;
+
+public class ProjectServiceTest {
+    @Test
+    public void testFieldsParamIsSparseFieldset() {
+        Map.Entry<String, String> fieldsParam = PolarisParamBuilder.createFieldsParam(IssueService.ISSUE_TYPE, "issue-key", "finding-key").build();
+
+        assertEquals("fields[issue]", fieldsParam.getKey());
+        assertEquals("issue-key,finding-key", fieldsParam.getValue());
+    }
+
+    @Test
+    public void testProjectRequestOnlyAsksForGivenFields() throws IntegrationException {
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Mockito.when(polarisHttpClient.appendToPolarisUrl(PolarisService.PROJECT_API_SPEC)).thenReturn(new HttpUrl("https://polaris.example.com" + PolarisService.PROJECT_API_SPEC));
+        ProjectService projectService = new ProjectService(polarisHttpClient, Mockito.mock(PolarisService.class));
+
+        Request sparseRequest = projectService.createProjectGetRequest(100, 200, Arrays.asList("name", "branches"));
+        Request wholeRequest = projectService.createProjectGetRequest(100, 200);
+
+        assertEquals(Collections.singleton("name,branches"), sparseRequest.getQueryParameters().get("fields[project]"));
+        assertEquals(Collections.singleton("100"), sparseRequest.getQueryParameters().get("page[limit]"));
+        assertFalse(wholeRequest.getQueryParameters().containsKey("fields[project]"));
+    }
+
+}
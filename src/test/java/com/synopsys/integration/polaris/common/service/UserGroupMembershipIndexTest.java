@@ -0,0 +1,80 @@
+package com.synopsys.integration.polaris.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.synopsys.integration.polaris.common.api.auth.model.user.UserResource;
+
+public class UserGroupMembershipIndexTest {
+    private final Gson gson = PolarisServicesFactory.createDefaultGson();
+
+    @Test
+    public void testUsersAreFoundThroughTheirGroups() {
+        UserGroupMembershipIndex membershipIndex = UserGroupMembershipIndex.fromUsers(Arrays.asList(
+            createUser("alice", "developers", "admins"),
+            createUser("bob", "developers"),
+            createUser("carol")
+        ));
+
+        assertEquals(Arrays.asList("alice", "bob"), getSortedIds(membershipIndex.getUsersForGroup("developers")));
+        assertEquals(Collections.singletonList("alice"), getSortedIds(membershipIndex.getUsersForGroups(Arrays.asList("admins", "unknown"))));
+        assertEquals(3, membershipIndex.getUserCount());
+        assertEquals(2, membershipIndex.getGroupCount());
+    }
+
+    @Test
+    public void testRefreshAppliesMembershipChanges() {
+        UserGroupMembershipIndex membershipIndex = UserGroupMembershipIndex.fromUsers(Arrays.asList(
+            createUser("alice", "developers", "admins"),
+            createUser("bob", "developers")
+        ));
+
+        membershipIndex.refresh(Arrays.asList(
+            createUser("alice", "developers"),
+            createUser("carol", "admins")
+        ));
+
+        assertEquals(Collections.singletonList("alice"), getSortedIds(membershipIndex.getUsersForGroup("developers")));
+        assertEquals(Collections.singletonList("carol"), getSortedIds(membershipIndex.getUsersForGroup("admins")));
+        assertTrue(!membershipIndex.getUser("bob").isPresent());
+    }
+
+    private UserResource createUser(String userId, String... groupIds) {
+        JsonArray groupData = new JsonArray();
+        for (String groupId : groupIds) {
+            JsonObject sparseGroup = new JsonObject();
+            sparseGroup.addProperty("type", "groups");
+            sparseGroup.addProperty("id", groupId);
+            groupData.add(sparseGroup);
+        }
+        JsonObject groups = new JsonObject();
+        groups.add("data", groupData);
+        JsonObject relationships = new JsonObject();
+        relationships.add("groups", groups);
+
+        JsonObject user = new JsonObject();
+        user.addProperty("type", "users");
+        user.addProperty("id", userId);
+        user.add("relationships", relationships);
+        return gson.fromJson(user, UserResource.class);
+    }
+
+    private List<String> getSortedIds(Set<UserResource> users) {
+        return users.stream()
+                   .map(UserResource::getId)
+                   .sorted()
+                   .collect(Collectors.toList());
+    }
+
+}
@@ -1,13 +1,20 @@
 package com.synopsys.integration.polaris.common.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.platform.commons.util.StringUtils;
+import org.mockito.Mockito;
 
 import com.google.gson.Gson;
 import com.synopsys.integration.exception.IntegrationException;
@@ -83,4 +90,49 @@ public class UserServiceTest {
         userService.getUsersForGroup(groupResource);
     }
 
+    @Test
+    public void getEmailsForUsersFetchesMissingEmailsOnceTest() throws IntegrationException {
+        UserResource userWithEmail = Mockito.mock(UserResource.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(userWithEmail.getId()).thenReturn("u1");
+        Mockito.when(userWithEmail.getAttributes().getEmail()).thenReturn("one@example.com");
+        UserResource userWithoutEmail = Mockito.mock(UserResource.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(userWithoutEmail.getId()).thenReturn("u2");
+        Mockito.when(userWithoutEmail.getAttributes().getEmail()).thenReturn(null);
+
+        AuthService authService = Mockito.mock(AuthService.class);
+        Map<String, Optional<String>> fetchedEmails = new HashMap<>();
+        fetchedEmails.put("u2", Optional.of("two@example.com"));
+        Mockito.when(authService.getAttributesFromRelationships(Mockito.anyMap(), Mockito.any(), Mockito.any())).thenReturn(fetchedEmails);
+
+        UserService userService = new UserService(authService);
+        Map<String, Optional<String>> firstEmails = userService.getEmailsForUsers(Arrays.asList(userWithEmail, userWithoutEmail));
+        Map<String, Optional<String>> secondEmails = userService.getEmailsForUsers(Arrays.asList(userWithEmail, userWithoutEmail));
+
+        assertEquals(Arrays.asList("u1", "u2"), new ArrayList<>(firstEmails.keySet()));
+        assertEquals(Optional.of("one@example.com"), firstEmails.get("u1"));
+        assertEquals(Optional.of("two@example.com"), firstEmails.get("u2"));
+        assertEquals(firstEmails, secondEmails);
+        Mockito.verify(authService, Mockito.times(1)).getAttributesFromRelationships(Mockito.argThat(links -> links.containsKey("u2") && !links.containsKey("u1")), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void getEmailsForUsersLeavesOutUsersWithoutIdTest() throws IntegrationException {
+        UserResource userWithoutId = Mockito.mock(UserResource.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(userWithoutId.getId()).thenReturn(null);
+        Mockito.when(userWithoutId.getAttributes().getEmail()).thenReturn("nobody@example.com");
+        UserResource otherUserWithoutId = Mockito.mock(UserResource.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(otherUserWithoutId.getId()).thenReturn(null);
+        Mockito.when(otherUserWithoutId.getAttributes().getEmail()).thenReturn(null);
+        UserResource user = Mockito.mock(UserResource.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(user.getId()).thenReturn("u1");
+        Mockito.when(user.getAttributes().getEmail()).thenReturn("one@example.com");
+
+        AuthService authService = Mockito.mock(AuthService.class);
+        UserService userService = new UserService(authService);
+        Map<String, Optional<String>> emails = userService.getEmailsForUsers(Arrays.asList(userWithoutId, otherUserWithoutId, user));
+
+        assertEquals(Collections.singletonMap("u1", Optional.of("one@example.com")), emails);
+        Mockito.verifyZeroInteractions(authService);
+    }
+
 }
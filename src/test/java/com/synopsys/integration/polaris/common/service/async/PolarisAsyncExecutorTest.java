@@ -0,0 +1,48 @@
+package com.synopsys.integration.polaris.common.service.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.concurrent.PolarisExecutorStrategy;
+
+public class PolarisAsyncExecutorTest {
+    @Test
+    public void testCallsCompleteTheirFutures() throws InterruptedException, ExecutionException, TimeoutException {
+        PolarisExecutorStrategy executorStrategy = PolarisExecutorStrategy.sequential();
+        try {
+            PolarisAsyncExecutor asyncExecutor = new PolarisAsyncExecutor(executorStrategy.getTaskExecutor());
+            CompletableFuture<Integer> sum = asyncExecutor.supplyAsync(() -> 20)
+                                                 .thenCombine(asyncExecutor.supplyAsync(() -> 22), Integer::sum);
+
+            assertEquals(Integer.valueOf(42), sum.get(10, TimeUnit.SECONDS));
+        } finally {
+            executorStrategy.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailuresKeepTheOriginalException() throws InterruptedException {
+        PolarisExecutorStrategy executorStrategy = PolarisExecutorStrategy.sequential();
+        try {
+            IntegrationException integrationException = new IntegrationException("expected");
+            CompletableFuture<Object> failed = new PolarisAsyncExecutor(executorStrategy.getTaskExecutor()).supplyAsync(() -> {
+                throw integrationException;
+            });
+
+            ExecutionException executionException = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+            assertSame(integrationException, executionException.getCause());
+        } finally {
+            executorStrategy.shutdown();
+        }
+    }
+
+}
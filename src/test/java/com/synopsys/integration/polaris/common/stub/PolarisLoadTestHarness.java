@@ -0,0 +1,103 @@
+package com.synopsys.integration.polaris.common.stub;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.polaris.common.configuration.PolarisServerConfig;
+import com.synopsys.integration.polaris.common.request.PolarisRetryPolicy;
+import com.synopsys.integration.polaris.common.service.PolarisServicesFactory;
+import com.synopsys.integration.polaris.common.service.ProjectService;
+
+/**
+ * Drives a PolarisStubServer with a number of callers that each walk every page of projects, and reports the request throughput along with the p50, p95 and p99 time of a full walk. Run it from the IDE or with a java command on the test classpath; the arguments are [callers] [walks per caller] [project count] [latency in ms] [max concurrent requests] [max requests per second, 0 for no throttling] [error rate].
+ */
+public class PolarisLoadTestHarness {
+    public static void main(String[] args) throws Exception {
+        int callers = argument(args, 0, 8);
+        int walksPerCaller = argument(args, 1, 10);
+        int projectCount = argument(args, 2, 1000);
+        int latencyMillis = argument(args, 3, 20);
+        int maxConcurrentRequests = argument(args, 4, 4);
+        int maxRequestsPerSecond = argument(args, 5, 0);
+        double errorRate = args.length > 6 ? NumberUtils.toDouble(args[6], 0.0) : 0.0;
+
+        try (PolarisStubServer stubServer = new PolarisStubServer()
+                                                .setProjectCount(projectCount)
+                                                .setLatencyMillis(latencyMillis)
+                                                .setMaxRequestsPerSecond(maxRequestsPerSecond)
+                                                .setErrorRate(errorRate)
+                                                .setThreads(Math.max(32, callers * maxConcurrentRequests))
+                                                .start()) {
+            PolarisServicesFactory polarisServicesFactory = PolarisServerConfig.newBuilder()
+                                                                .setUrl(stubServer.getUrl())
+                                                                .setAccessToken("load test access token")
+                                                                .build()
+                                                                .createPolarisServicesFactory(new PrintStreamIntLogger(System.out, LogLevel.WARN));
+            polarisServicesFactory.setMaxConcurrentRequests(maxConcurrentRequests);
+            polarisServicesFactory.setRetryPolicy(PolarisRetryPolicy.createDefault());
+            ProjectService projectService = polarisServicesFactory.createProjectService();
+
+            // warm up the connection and the JWT
+            projectService.getAllProjects();
+            long warmUpRequests = stubServer.getRequestCount();
+
+            ExecutorService callerExecutor = Executors.newFixedThreadPool(callers);
+            List<Future<List<Long>>> callerWalkTimes = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < callers; i++) {
+                callerWalkTimes.add(callerExecutor.submit(() -> {
+                    List<Long> walkTimes = new ArrayList<>();
+                    for (int walk = 0; walk < walksPerCaller; walk++) {
+                        long walkStart = System.nanoTime();
+                        projectService.getAllProjects();
+                        walkTimes.add(System.nanoTime() - walkStart);
+                    }
+                    return walkTimes;
+                }));
+            }
+
+            List<Long> walkTimes = new ArrayList<>();
+            int failedCallers = 0;
+            for (Future<List<Long>> walkTimesOfCaller : callerWalkTimes) {
+                try {
+                    walkTimes.addAll(walkTimesOfCaller.get());
+                } catch (Exception e) {
+                    failedCallers++;
+                    System.out.println("A caller failed: " + e.getMessage());
+                }
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            callerExecutor.shutdownNow();
+            polarisServicesFactory.getExecutorStrategy().shutdown();
+
+            long requests = stubServer.getRequestCount() - warmUpRequests;
+            Collections.sort(walkTimes);
+            System.out.println(String.format("%d callers x %d walks of %d projects, %d ms latency, %d concurrent requests per walk", callers, walksPerCaller, projectCount, latencyMillis, maxConcurrentRequests));
+            System.out.println(String.format("%d requests in %.3f s: %.1f requests/s, %d throttled, %d failed, %d failed callers", requests, elapsedSeconds, requests / elapsedSeconds, stubServer.getThrottledRequestCount(),
+                stubServer.getFailedRequestCount(), failedCallers));
+            System.out.println(String.format("walk time p50 %d ms, p95 %d ms, p99 %d ms", percentileMillis(walkTimes, 50), percentileMillis(walkTimes, 95), percentileMillis(walkTimes, 99)));
+        }
+    }
+
+    private static int argument(String[] args, int index, int defaultValue) {
+        return args.length > index ? NumberUtils.toInt(args[index], defaultValue) : defaultValue;
+    }
+
+    private static long percentileMillis(List<Long> sortedNanos, int percentile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos.get(Math.max(0, index)));
+    }
+
+}
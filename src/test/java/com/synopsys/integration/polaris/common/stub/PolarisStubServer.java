@@ -0,0 +1,418 @@
+package com.synopsys.integration.polaris.common.stub;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
+import com.synopsys.integration.polaris.common.request.param.FilterConstants;
+
+/**
+ * An in-process stand-in for the Polaris endpoints this library uses, so that paging, concurrency, retries and throttling can be exercised without a live server or an access token. Every resource is generated from the configured tenant size, and the server can add latency, fail requests and answer with 429 once a request rate is exceeded.
+ * Configure it before calling start; the counters can be read at any time.
+ */
+public class PolarisStubServer implements AutoCloseable {
+    public static final String JOBS_PATH = "/api/jobs/jobs";
+
+    private static final String JOBS_ONE_OF_FILTER = "filter[jobs][id][$one-of]";
+    private static final String ISSUE_KEY_ONE_OF_FILTER = "filter[issue][issue-key][$one-of]";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private int latencyMillis = 0;
+    private int projectCount = 100;
+    private int branchesPerProject = 3;
+    private int issueCount = 100;
+    private int userCount = 50;
+    private int groupCount = 5;
+    private int jobPollsUntilCompleted = 1;
+    private double errorRate = 0.0;
+    private int maxRequestsPerSecond = 0;
+    private int threads = 32;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttledRequests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final Map<String, AtomicLong> requestsByPath = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> pollsByJobId = new ConcurrentHashMap<>();
+    private final AtomicInteger forcedFailures = new AtomicInteger();
+    private volatile int forcedFailureStatus = 503;
+
+    private final Object throttleLock = new Object();
+    private long throttleWindowStartMillis = 0;
+    private int throttleWindowRequests = 0;
+
+    private HttpServer httpServer;
+    private ExecutorService httpExecutor;
+
+    public PolarisStubServer start() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.createContext("/", this::handle);
+        httpExecutor = Executors.newFixedThreadPool(threads);
+        httpServer.setExecutor(httpExecutor);
+        httpServer.start();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (null != httpServer) {
+            httpServer.stop(0);
+            httpExecutor.shutdownNow();
+        }
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + httpServer.getAddress().getPort();
+    }
+
+    public PolarisStubServer setLatencyMillis(int latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        return this;
+    }
+
+    public PolarisStubServer setProjectCount(int projectCount) {
+        this.projectCount = projectCount;
+        return this;
+    }
+
+    public PolarisStubServer setBranchesPerProject(int branchesPerProject) {
+        this.branchesPerProject = branchesPerProject;
+        return this;
+    }
+
+    public PolarisStubServer setIssueCount(int issueCount) {
+        this.issueCount = issueCount;
+        return this;
+    }
+
+    public PolarisStubServer setUserCount(int userCount) {
+        this.userCount = userCount;
+        return this;
+    }
+
+    public PolarisStubServer setGroupCount(int groupCount) {
+        this.groupCount = groupCount;
+        return this;
+    }
+
+    /**
+     * A job reports RUNNING until it has been read this many times, and COMPLETED after that.
+     */
+    public PolarisStubServer setJobPollsUntilCompleted(int jobPollsUntilCompleted) {
+        this.jobPollsUntilCompleted = jobPollsUntilCompleted;
+        return this;
+    }
+
+    /**
+     * The share of requests, between 0 and 1, that fail with a 500.
+     */
+    public PolarisStubServer setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * Requests beyond this many in the same second are answered with a 429 and a Retry-After header. 0 turns throttling off.
+     */
+    public PolarisStubServer setMaxRequestsPerSecond(int maxRequestsPerSecond) {
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+        return this;
+    }
+
+    public PolarisStubServer setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Fails the next requests with the given status, whatever their path.
+     */
+    public void failNextRequests(int count, int status) {
+        forcedFailureStatus = status;
+        forcedFailures.set(count);
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getRequestCount(String path) {
+        return requestsByPath.getOrDefault(path, new AtomicLong()).get();
+    }
+
+    public long getThrottledRequestCount() {
+        return throttledRequests.get();
+    }
+
+    public long getFailedRequestCount() {
+        return failedRequests.get();
+    }
+
+    public int getProjectCount() {
+        return projectCount;
+    }
+
+    public int getBranchesPerProject() {
+        return branchesPerProject;
+    }
+
+    public int getIssueCount() {
+        return issueCount;
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            requests.incrementAndGet();
+            requestsByPath.computeIfAbsent(getCountedPath(path), ignored -> new AtomicLong()).incrementAndGet();
+            sleep(latencyMillis);
+
+            if (isThrottled()) {
+                throttledRequests.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", RETRY_AFTER_SECONDS);
+                respond(exchange, 429, "{\"errors\":[{\"status\":\"429\",\"title\":\"Too many requests\"}]}");
+                return;
+            }
+            if (forcedFailures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                failedRequests.incrementAndGet();
+                respond(exchange, forcedFailureStatus, "{\"errors\":[{\"status\":\"" + forcedFailureStatus + "\",\"title\":\"Injected failure\"}]}");
+                return;
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                failedRequests.incrementAndGet();
+                respond(exchange, 500, "{\"errors\":[{\"status\":\"500\",\"title\":\"Injected error\"}]}");
+                return;
+            }
+
+            route(exchange, path, parseQuery(exchange.getRequestURI().getRawQuery()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, String path, Map<String, String> query) throws IOException {
+        if ("/api/auth/authenticate".equals(path)) {
+            respond(exchange, 200, "{\"jwt\":\"" + createJwt() + "\"}");
+        } else if ("/api/common/v0/projects".equals(path)) {
+            respondWithPage(exchange, query, FilterConstants.FILTER_PROJECT_NAME_CONTAINS, projectCount, this::createProject, project -> "project " + project);
+        } else if ("/api/common/v0/branches".equals(path)) {
+            int project = parseIdNumber(query.get(FilterConstants.FILTER_BRANCH_PROJECT_ID_EQUALS));
+            int branchTotal = project >= 0 && project < projectCount ? branchesPerProject : 0;
+            respondWithPage(exchange, query, FilterConstants.FILTER_BRANCH_NAME_CONTAINS, branchTotal, branch -> createBranch(project, branch), branch -> "branch " + branch);
+        } else if ("/api/query/v0/issues".equals(path)) {
+            respondWithIssues(exchange, query);
+        } else if ("/api/auth/users".equals(path)) {
+            respondWithPage(exchange, query, null, userCount, this::createUser, null);
+        } else if ("/api/auth/groups".equals(path)) {
+            respondWithPage(exchange, query, "filter[groups][groupname][$eq]", groupCount, this::createGroup, group -> "group " + group);
+        } else if ("/api/auth/contexts".equals(path)) {
+            respond(exchange, 200, "{\"data\":[{\"type\":\"contexts\",\"id\":\"context-0\",\"attributes\":{\"organizationname\":\"stub\",\"current\":true}}],\"meta\":{\"offset\":0,\"limit\":25,\"total\":1}}");
+        } else if ("/api/auth/role-assignments".equals(path)) {
+            respondWithPage(exchange, query, null, 0, ignored -> "", null);
+        } else if (path.matches("/api/auth/users/[^/]+/email-details")) {
+            String userId = StringUtils.substringBetween(path, "/api/auth/users/", "/email-details");
+            respond(exchange, 200, String.format("{\"data\":{\"type\":\"email-details\",\"id\":\"%s-email\",\"attributes\":{\"email\":\"%s@example.com\"}}}", userId, userId));
+        } else if (JOBS_PATH.equals(path)) {
+            respondWithJobs(exchange, query);
+        } else if (path.startsWith(JOBS_PATH + "/")) {
+            respond(exchange, 200, "{\"data\":" + createJob(StringUtils.substringAfterLast(path, "/")) + "}");
+        } else if (path.startsWith("/api/tools/") && path.endsWith(".zip")) {
+            exchange.getResponseHeaders().add("Last-Modified", "Wed, 01 Apr 2020 00:00:00 GMT");
+            respond(exchange, 200, createCliArchive(), "application/zip");
+        } else {
+            respond(exchange, 404, "{\"errors\":[{\"status\":\"404\",\"title\":\"Not found\"}]}");
+        }
+    }
+
+    private void respondWithPage(HttpExchange exchange, Map<String, String> query, String nameFilter, int total, IntFunction<String> createResource, IntFunction<String> nameOf) throws IOException {
+        String name = null == nameFilter ? null : query.get(nameFilter);
+        IntPredicate hasName = null == name ? null : i -> null != nameOf && name.equals(nameOf.apply(i));
+        respondWithPage(exchange, query, hasName, total, createResource);
+    }
+
+    private void respondWithPage(HttpExchange exchange, Map<String, String> query, IntPredicate filter, int total, IntFunction<String> createResource) throws IOException {
+        int offset = NumberUtils.toInt(query.get(PolarisRequestFactory.OFFSET_PARAMETER), 0);
+        int limit = NumberUtils.toInt(query.get(PolarisRequestFactory.LIMIT_PARAMETER), PolarisRequestFactory.DEFAULT_LIMIT);
+
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            if (null == filter || filter.test(i)) {
+                matches.add(i);
+            }
+            if (null == filter && matches.size() >= offset + limit) {
+                break;
+            }
+        }
+        int matchingTotal = null == filter ? total : matches.size();
+        String data = matches.stream()
+                          .skip(offset)
+                          .limit(limit)
+                          .map(createResource::apply)
+                          .collect(Collectors.joining(","));
+        respond(exchange, 200, String.format("{\"data\":[%s],\"included\":[],\"meta\":{\"offset\":%d,\"limit\":%d,\"total\":%d}}", data, offset, limit, matchingTotal));
+    }
+
+    private void respondWithIssues(HttpExchange exchange, Map<String, String> query) throws IOException {
+        String issueKeys = query.get(ISSUE_KEY_ONE_OF_FILTER);
+        Set<String> requestedIssueKeys = null == issueKeys ? null : new HashSet<>(Arrays.asList(StringUtils.split(issueKeys, ',')));
+        IntPredicate hasRequestedIssueKey = null == requestedIssueKeys ? null : issue -> requestedIssueKeys.contains(createIssueKey(issue));
+        respondWithPage(exchange, query, hasRequestedIssueKey, issueCount, this::createIssue);
+    }
+
+    private void respondWithJobs(HttpExchange exchange, Map<String, String> query) throws IOException {
+        List<String> jobIds = Arrays.asList(StringUtils.split(StringUtils.defaultString(query.get(JOBS_ONE_OF_FILTER)), ','));
+        String data = jobIds.stream()
+                          .map(this::createJob)
+                          .collect(Collectors.joining(","));
+        respond(exchange, 200, String.format("{\"data\":[%s],\"meta\":{\"offset\":0,\"limit\":%d,\"total\":%d}}", data, jobIds.size(), jobIds.size()));
+    }
+
+    private String createProject(int project) {
+        return String.format("{\"type\":\"project\",\"id\":\"project-%d\",\"attributes\":{\"name\":\"project %d\"},\"relationships\":{\"branches\":{\"links\":{\"related\":\"/api/common/v0/branches?filter[branch][project][id][$eq]=project-%d\"}}}}", project, project, project);
+    }
+
+    private String createBranch(int project, int branch) {
+        return String.format("{\"type\":\"branch\",\"id\":\"branch-%d-%d\",\"attributes\":{\"name\":\"branch %d\",\"main-for-project\":%s},\"relationships\":{\"project\":{\"data\":{\"type\":\"project\",\"id\":\"project-%d\"}}}}", project, branch, branch, 0 == branch,
+            project);
+    }
+
+    private String createIssue(int issue) {
+        return String.format("{\"type\":\"issue\",\"id\":\"issue-%d\",\"attributes\":{\"issue-key\":\"%s\",\"finding-key\":\"finding-%d\",\"sub-tool\":\"stub\"}}", issue, createIssueKey(issue), issue);
+    }
+
+    private String createIssueKey(int issue) {
+        return "key-" + issue;
+    }
+
+    private String createUser(int user) {
+        // every other user leaves the email attribute blank, so its email has to come from the email-details relationship
+        String email = 0 == user % 2 ? String.format("user-%d@example.com", user) : "";
+        String groupId = "group-" + (user % Math.max(1, groupCount));
+        return String.format("{\"type\":\"users\",\"id\":\"user-%d\",\"attributes\":{\"username\":\"user%d\",\"email\":\"%s\"},\"relationships\":{\"groups\":{\"data\":[{\"type\":\"groups\",\"id\":\"%s\"}]},"
+                                 + "\"email-details\":{\"links\":{\"related\":\"%s/api/auth/users/user-%d/email-details\"}}}}", user, user, email, groupId, getUrl(), user);
+    }
+
+    private String createGroup(int group) {
+        return String.format("{\"type\":\"groups\",\"id\":\"group-%d\",\"attributes\":{\"groupname\":\"group %d\"}}", group, group);
+    }
+
+    private String createJob(String jobId) {
+        int polls = pollsByJobId.computeIfAbsent(jobId, ignored -> new AtomicInteger()).incrementAndGet();
+        boolean completed = polls >= jobPollsUntilCompleted;
+        int progress = completed ? 100 : (100 * polls) / Math.max(1, jobPollsUntilCompleted);
+        return String.format("{\"type\":\"jobs\",\"id\":\"%s\",\"attributes\":{\"status\":{\"state\":\"%s\",\"progress\":%d}}}", jobId, completed ? "COMPLETED" : "RUNNING", progress);
+    }
+
+    private String createJwt() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        long expiresAtSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + TimeUnit.HOURS.toSeconds(1);
+        String payload = encoder.encodeToString(String.format("{\"sub\":\"stub\",\"exp\":%d}", expiresAtSeconds).getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".stub";
+    }
+
+    private byte[] createCliArchive() throws IOException {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(archive)) {
+            zipOutputStream.putNextEntry(new ZipEntry("polaris_cli-stub/bin/polaris"));
+            zipOutputStream.write("#!/bin/sh\n".getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+        }
+        return archive.toByteArray();
+    }
+
+    private boolean isThrottled() {
+        if (maxRequestsPerSecond <= 0) {
+            return false;
+        }
+        synchronized (throttleLock) {
+            long now = System.currentTimeMillis();
+            if (now - throttleWindowStartMillis >= 1000L) {
+                throttleWindowStartMillis = now;
+                throttleWindowRequests = 0;
+            }
+            throttleWindowRequests++;
+            return throttleWindowRequests > maxRequestsPerSecond;
+        }
+    }
+
+    private int parseIdNumber(String id) {
+        return NumberUtils.toInt(StringUtils.substringAfterLast(StringUtils.defaultString(id), "-"), -1);
+    }
+
+    private String getCountedPath(String path) {
+        return path.startsWith(JOBS_PATH + "/") ? JOBS_PATH + "/{id}" : path;
+    }
+
+    private Map<String, String> parseQuery(String rawQuery) throws UnsupportedEncodingException {
+        if (StringUtils.isBlank(rawQuery)) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> query = new HashMap<>();
+        for (String parameter : StringUtils.split(rawQuery, '&')) {
+            String[] pieces = StringUtils.split(parameter, "=", 2);
+            if (pieces.length == 2) {
+                query.put(URLDecoder.decode(pieces[0], "UTF-8"), URLDecoder.decode(pieces[1], "UTF-8"));
+            }
+        }
+        return query;
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        respond(exchange, status, body.getBytes(StandardCharsets.UTF_8), "application/vnd.api+json");
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body, String contentType) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    private void sleep(int millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
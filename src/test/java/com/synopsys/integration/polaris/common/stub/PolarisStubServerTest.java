@@ -0,0 +1,194 @@
+package com.synopsys.integration.polaris.common.stub;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.polaris.common.api.common.model.branch.BranchV0Resource;
+import com.synopsys.integration.polaris.common.api.common.model.project.ProjectV0Resource;
+import com.synopsys.integration.polaris.common.api.query.model.issue.IssueV0Resource;
+import com.synopsys.integration.polaris.common.configuration.PolarisServerConfig;
+import com.synopsys.integration.polaris.common.model.IssueResourcesSingle;
+import com.synopsys.integration.polaris.common.request.PolarisAdaptivePageSize;
+import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
+import com.synopsys.integration.polaris.common.request.PolarisRetryPolicy;
+import com.synopsys.integration.polaris.common.rest.PolarisEndpointFamily;
+import com.synopsys.integration.polaris.common.rest.PolarisRequestGovernor;
+import com.synopsys.integration.polaris.common.rest.PolarisRequestGovernorStats;
+import com.synopsys.integration.polaris.common.service.IssueService;
+import com.synopsys.integration.polaris.common.service.JobPollSchedule;
+import com.synopsys.integration.polaris.common.service.JobWaitResult;
+import com.synopsys.integration.polaris.common.service.PolarisServicesFactory;
+import com.synopsys.integration.polaris.common.service.ProjectService;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.response.Response;
+
+public class PolarisStubServerTest {
+    private PolarisStubServer stubServer;
+
+    @BeforeEach
+    public void startStubServer() throws Exception {
+        stubServer = new PolarisStubServer()
+                         .setProjectCount(260)
+                         .setBranchesPerProject(4)
+                         .start();
+    }
+
+    @AfterEach
+    public void stopStubServer() {
+        stubServer.close();
+    }
+
+    @Test
+    public void testConcurrentPagedWalkReadsEveryProject() throws Exception {
+        PolarisServicesFactory polarisServicesFactory = createPolarisServicesFactory();
+        polarisServicesFactory.setMaxConcurrentRequests(8);
+
+        List<ProjectV0Resource> projects = polarisServicesFactory.createProjectService().getAllProjects();
+
+        assertEquals(260, projects.size());
+        assertEquals(260, projects.stream().map(ProjectV0Resource::getId).distinct().count());
+        assertEquals(11, stubServer.getRequestCount("/api/common/v0/projects"));
+    }
+
+    @Test
+    public void testFiltersResolveOneProjectAndBranch() throws Exception {
+        PolarisServicesFactory polarisServicesFactory = createPolarisServicesFactory();
+
+        Optional<ProjectV0Resource> project = polarisServicesFactory.createProjectService().getProjectByName("project 42");
+        assertTrue(project.isPresent());
+        assertEquals("project-42", project.get().getId());
+
+        Optional<BranchV0Resource> branch = polarisServicesFactory.createBranchService().getBranchForProjectByName("project-42", "branch 3");
+        assertTrue(branch.isPresent());
+        assertEquals("branch-42-3", branch.get().getId());
+    }
+
+    @Test
+    public void testRetryPolicyRecoversFromInjectedFailures() throws Exception {
+        PolarisServicesFactory polarisServicesFactory = createPolarisServicesFactory();
+        polarisServicesFactory.setRetryPolicy(new PolarisRetryPolicy(3, 10L, 50L, Collections.singleton(503)));
+        // authenticate before the failures are injected, since the authentication POST is never retried
+        polarisServicesFactory.createProjectService().getProjectByName("project 0");
+
+        stubServer.failNextRequests(2, 503);
+        List<ProjectV0Resource> projects = polarisServicesFactory.createProjectService().getAllProjects();
+
+        assertEquals(260, projects.size());
+        assertEquals(2, stubServer.getFailedRequestCount());
+    }
+
+    @Test
+    public void testJobWaitPollsUntilCompleted() throws Exception {
+        stubServer.setJobPollsUntilCompleted(3);
+        PolarisServicesFactory polarisServicesFactory = createPolarisServicesFactory();
+
+        HttpUrl jobApiUrl = new HttpUrl(stubServer.getUrl() + PolarisStubServer.JOBS_PATH + "/job-1");
+        JobWaitResult jobWaitResult = polarisServicesFactory.createJobService().waitForJobStateIsCompletedOrDieByUrl(jobApiUrl, 10, JobPollSchedule.createFixed(10L));
+
+        assertEquals(3, jobWaitResult.getPollCount());
+    }
+
+    @Test
+    public void testAdaptiveWalkGrowsAndShrinksThePageSize() throws Exception {
+        PolarisServicesFactory polarisServicesFactory = createPolarisServicesFactory();
+        PolarisAdaptivePageSize adaptivePageSize = new PolarisAdaptivePageSize(25, 10, 100, 10000L, PolarisAdaptivePageSize.DEFAULT_TARGET_RESPONSE_BYTES);
+        polarisServicesFactory.setAdaptivePageSize(adaptivePageSize);
+        ProjectService projectService = polarisServicesFactory.createProjectService();
+
+        assertEquals(260, projectService.getAllProjects().size());
+        assertEquals(100, adaptivePageSize.getPageSize(PolarisEndpointFamily.COMMON));
+        // 25 + 50 + 100 + 100 covers all 260 projects
+        assertEquals(4, stubServer.getRequestCount("/api/common/v0/projects"));
+
+        // a gateway timeout on the first page is answered by asking for a smaller page
+        stubServer.failNextRequests(1, 504);
+        assertEquals(260, projectService.getAllProjects().size());
+        assertEquals(1, stubServer.getFailedRequestCount());
+    }
+
+    @Test
+    public void testGovernedRequestStaysInFlightUntilItsResponseIsClosed() throws Exception {
+        PolarisServicesFactory polarisServicesFactory = createPolarisServicesFactory();
+        PolarisRequestGovernor requestGovernor = PolarisRequestGovernor.createDefault();
+        polarisServicesFactory.getHttpClient().useRequestGovernor(requestGovernor);
+        Request request = PolarisRequestFactory.createDefaultBuilder().url(new HttpUrl(stubServer.getUrl() + "/api/common/v0/projects")).build();
+
+        try (Response response = polarisServicesFactory.getHttpClient().execute(request)) {
+            assertEquals(Integer.valueOf(200), response.getStatusCode());
+            assertEquals(1, getInFlight(requestGovernor, PolarisEndpointFamily.COMMON));
+            assertTrue(response.getContentString().contains("project-0"));
+        }
+        assertEquals(0, getInFlight(requestGovernor, PolarisEndpointFamily.COMMON));
+    }
+
+    @Test
+    public void testAuthenticationIsGovernedAsTheAuthFamily() throws Exception {
+        PolarisServicesFactory polarisServicesFactory = createPolarisServicesFactory();
+        PolarisRequestGovernor requestGovernor = PolarisRequestGovernor.createDefault();
+        polarisServicesFactory.getHttpClient().useRequestGovernor(requestGovernor);
+
+        polarisServicesFactory.createProjectService().getAllProjects();
+
+        PolarisRequestGovernorStats authStats = requestGovernor.getStats()
+                                                    .stream()
+                                                    .filter(stats -> PolarisEndpointFamily.AUTH == stats.getEndpointFamily())
+                                                    .findFirst()
+                                                    .orElseThrow(() -> new AssertionError("The authenticate request was not governed"));
+        assertEquals(stubServer.getRequestCount("/api/auth/authenticate"), authStats.getRequests());
+        assertEquals(0, authStats.getInFlight());
+    }
+
+    @Test
+    public void testIssuesAreFilteredByIssueKey() throws Exception {
+        stubServer.setIssueCount(500);
+        IssueService issueService = createPolarisServicesFactory().createIssueService();
+
+        Map<String, IssueResourcesSingle> issuesByKey = issueService.getIssuesForProjectBranchAndIssueKeysWithDefaultIncluded("project-0", "branch-0-0", Arrays.asList("key-3", "key-250", "key-9999"));
+
+        assertEquals(new HashSet<>(Arrays.asList("key-3", "key-250")), issuesByKey.keySet());
+        assertEquals("issue-250", issuesByKey.get("key-250").getData().map(IssueV0Resource::getId).orElse(null));
+    }
+
+    @Test
+    public void testFailedJwtRefreshIsReportedWithoutAuthenticatingAgain() {
+        ProjectService projectService = createPolarisServicesFactory().createProjectService();
+        stubServer.failNextRequests(1, 500);
+
+        assertThrows(IntegrationException.class, projectService::getAllProjects);
+        assertEquals(1, stubServer.getRequestCount("/api/auth/authenticate"));
+        assertEquals(0, stubServer.getRequestCount("/api/common/v0/projects"));
+    }
+
+    private int getInFlight(PolarisRequestGovernor requestGovernor, PolarisEndpointFamily endpointFamily) {
+        return requestGovernor.getStats()
+                   .stream()
+                   .filter(stats -> endpointFamily == stats.getEndpointFamily())
+                   .mapToInt(PolarisRequestGovernorStats::getInFlight)
+                   .sum();
+    }
+
+    private PolarisServicesFactory createPolarisServicesFactory() {
+        return PolarisServerConfig.newBuilder()
+                   .setUrl(stubServer.getUrl())
+                   .setAccessToken("stub access token")
+                   .build()
+                   .createPolarisServicesFactory(new PrintStreamIntLogger(System.out, LogLevel.WARN));
+    }
+
+}